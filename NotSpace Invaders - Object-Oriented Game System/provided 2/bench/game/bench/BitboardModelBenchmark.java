@@ -0,0 +1,74 @@
+package game.bench;
+
+import game.BitboardModel;
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.collision.CollisionRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a whole tick on the standard board, firing every tick, for a GameModel with the
+ * built-in rules against a BitboardModel playing the same game.
+ * <p>
+ * Each model keeps playing across invocations, so the board settles into a steady mix of
+ * falling objects and Bullets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BitboardModelBenchmark {
+    private GameModel model;
+    private BitboardModel bitboard;
+    private int modelTick;
+    private int bitboardTick;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        model = new GameModel(message -> { }, new PlayerStatsTracker(), GameModel.GAME_WIDTH,
+                GameModel.GAME_HEIGHT, new CollisionRules());
+        bitboard = new BitboardModel(message -> { }, new PlayerStatsTracker());
+        model.setRandomSeed(1);
+        bitboard.setRandomSeed(1);
+        modelTick = 0;
+        bitboardTick = 0;
+    }
+
+    /**
+     * Fires, moves, collides, spawns and levels up on the spatial index.
+     */
+    @Benchmark
+    public void gameModelTick() {
+        model.fireBullet();
+        model.updateGame(modelTick++);
+        model.checkCollisions();
+        model.spawnObjects();
+        model.levelUp();
+    }
+
+    /**
+     * Fires, moves, collides, spawns and levels up on the bitboards.
+     */
+    @Benchmark
+    public void bitboardModelTick() {
+        bitboard.fireBullet();
+        bitboard.updateGame(bitboardTick++);
+        bitboard.checkCollisions();
+        bitboard.spawnObjects();
+        bitboard.levelUp();
+    }
+}
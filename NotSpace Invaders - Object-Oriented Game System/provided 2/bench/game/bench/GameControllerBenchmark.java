@@ -0,0 +1,58 @@
+package game.bench;
+
+import game.GameController;
+import game.achievements.AchievementManager;
+import game.achievements.InMemoryAchievementFile;
+import game.ui.headless.HeadlessUI;
+import game.ui.headless.InputScript;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures GameController.renderGame against a headless UI, at increasing entity counts and
+ * board sizes.
+ * <p>
+ * The UI draws nothing, so this isolates the controller's own cost of gathering stats and
+ * objects for the UI.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameControllerBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int entities;
+
+    @Param({"10x20", "1000x1000", "10000x10000"})
+    public String board;
+
+    private GameController controller;
+
+    @Setup
+    public void setUp() {
+        HeadlessUI ui = new HeadlessUI(InputScript.none());
+        controller = new GameController(ui, Populations.populate(entities, board),
+                new AchievementManager(new InMemoryAchievementFile()));
+    }
+
+    /**
+     * Publishes the stats and the objects to render to the UI.
+     */
+    @Benchmark
+    public void renderGame() {
+        controller.renderGame();
+    }
+}
@@ -0,0 +1,120 @@
+package game.bench;
+
+import game.GameModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each GameModel tick phase on its own, at increasing entity counts and board sizes.
+ * <p>
+ * updateGame and checkCollisions remove objects as they run, and spawnObjects adds them until the
+ * top row is full, so their model is rebuilt before every invocation; levelUp reuses one model per
+ * iteration. All placement and spawning is seeded, so runs are repeatable.
+ * <p>
+ * JMH finds benchmarks through META-INF/BenchmarkList, which its annotation processor writes at
+ * compile time; the IntelliJ project enables it in the "JMH" annotation processing profile. From
+ * the command line, with the game compiled to {@code out} and {@code <jmh>} the JMH jars
+ * (jmh-core, jmh-generator-annprocess, jopt-simple and commons-math3):
+ * <pre>
+ * javac -cp out:&lt;jmh&gt; -processorpath &lt;jmh&gt; -d bench-out bench/game/bench/*.java
+ * java -cp bench-out:out:&lt;jmh&gt; org.openjdk.jmh.Main game.bench
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameModelBenchmark {
+
+    /**
+     * A freshly populated model for phases that change the set of objects.
+     */
+    @State(Scope.Thread)
+    public static class FreshModel {
+        @Param({"10", "1000", "100000"})
+        public int entities;
+
+        @Param({"10x20", "1000x1000", "10000x10000"})
+        public String board;
+
+        public GameModel model;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            model = Populations.populate(entities, board);
+        }
+    }
+
+    /**
+     * A populated model shared by every invocation of an iteration, for phases that leave the
+     * set of objects unchanged.
+     */
+    @State(Scope.Thread)
+    public static class SharedModel {
+        @Param({"10", "1000", "100000"})
+        public int entities;
+
+        @Param({"10x20", "1000x1000", "10000x10000"})
+        public String board;
+
+        public GameModel model;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            model = Populations.populate(entities, board);
+        }
+    }
+
+    /**
+     * Ticks every object on a tick where all objects move, removing those that leave the board.
+     *
+     * @param state the model to update
+     */
+    @Benchmark
+    public void updateGame(FreshModel state) {
+        state.model.updateGame(10);
+    }
+
+    /**
+     * Resolves ship and bullet collisions.
+     *
+     * @param state the model to check
+     */
+    @Benchmark
+    public void checkCollisions(FreshModel state) {
+        state.model.checkCollisions();
+    }
+
+    /**
+     * Rolls for new spawns, including the occupancy checks.
+     *
+     * @param state the model to spawn into
+     */
+    @Benchmark
+    public void spawnObjects(FreshModel state) {
+        state.model.spawnObjects();
+    }
+
+    /**
+     * Checks the level-up condition.
+     *
+     * @param state the model to level
+     */
+    @Benchmark
+    public void levelUp(SharedModel state) {
+        state.model.levelUp();
+    }
+}
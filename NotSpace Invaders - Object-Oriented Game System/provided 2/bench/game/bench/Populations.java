@@ -0,0 +1,63 @@
+package game.bench;
+
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.HealthPowerUp;
+import game.core.ShieldPowerUp;
+import game.core.SpaceObject;
+
+import java.util.Random;
+
+/**
+ * Builds reproducible GameModels filled with a mix of space objects for benchmarking.
+ */
+final class Populations {
+    /**
+     * The seed used both for placing objects and for the model's own spawning.
+     */
+    static final int SEED = 42;
+
+    private Populations() {
+    }
+
+    /**
+     * Creates a model holding the given number of objects at seeded random positions.<br>
+     * <p>
+     * The mix is roughly 40% asteroids, 20% enemies, 30% bullets and 10% power-ups, so
+     * every collision rule is exercised. Objects may share cells when the board is crowded.
+     *
+     * @param entities the number of objects to add
+     * @param board the board size, written as "{width}x{height}"
+     * @return a new populated model
+     */
+    static GameModel populate(int entities, String board) {
+        int separator = board.indexOf('x');
+        int width = Integer.parseInt(board.substring(0, separator));
+        int height = Integer.parseInt(board.substring(separator + 1));
+        GameModel model = new GameModel(text -> { }, new PlayerStatsTracker(), width, height);
+        model.setRandomSeed(SEED);
+        Random random = new Random(SEED);
+        for (int i = 0; i < entities; i++) {
+            int x = random.nextInt(width);
+            int y = random.nextInt(height);
+            model.addObject(create(random.nextInt(10), x, y));
+        }
+        return model;
+    }
+
+    private static SpaceObject create(int roll, int x, int y) {
+        if (roll < 4) {
+            return new Asteroid(x, y);
+        } else if (roll < 6) {
+            return new Enemy(x, y);
+        } else if (roll < 9) {
+            return new Bullet(x, y);
+        } else if (roll == 9 && (x + y) % 2 == 0) {
+            return new ShieldPowerUp(x, y);
+        }
+        return new HealthPowerUp(x, y);
+    }
+}
@@ -0,0 +1,460 @@
+package game;
+
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.DescendingEnemy;
+import game.core.Enemy;
+import game.core.HealthPowerUp;
+import game.core.PowerUp;
+import game.core.ShieldPowerUp;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.utility.LogLevel;
+import game.utility.Logger;
+import game.utility.SeededRandom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plays the standard game on a board of at most {@link #MAX_CELLS} cells, such as the default
+ * 10 by 20 board, with each type of object held as bits rather than as objects.
+ * <p>
+ * Each cell of the board is one bit, numbered row by row, so the cells holding each type of object
+ * fit in four longs. Moving every Asteroid, Enemy or PowerUp down a row is then one shift of its
+ * layer by the board width, moving every Bullet up is the reverse shift, and the Bullets that hit
+ * something are an AND of the Bullet layer with the Enemy and Asteroid layers. Objects leaving the
+ * board are shifted out of it. Bullets fired in the same cell in the same tick move together, so
+ * a cell's second Bullet is kept in a second layer, and so on.
+ * <p>
+ * The model spawns, moves and collides objects exactly as a {@link GameModel} with the built-in
+ * {@link game.collision.CollisionRules} does, and makes the same calls to its Random, so both
+ * models given the same seed and the same input play the same game. It relies on every descending
+ * type moving at its default interval, which are all the same: descending objects then move in
+ * step, and as they only spawn into empty cells, no two ever share a cell, so the order in which
+ * GameModel visits the objects in a cell makes no difference.
+ * <p>
+ * SpaceObjects are only created when asked for by {@link #getSpaceObjects()}; a tick allocates
+ * nothing. Objects cannot be added from outside, other collision rules are not supported, and
+ * the game cannot be rewound.
+ */
+public class BitboardModel {
+    /**
+     * The largest number of cells a board may have.
+     */
+    public static final int MAX_CELLS = 256;
+
+    private static final int WORDS = MAX_CELLS / Long.SIZE; // Longs in each layer
+
+    private final SeededRandom random = new SeededRandom(); // ONLY USED IN this.spawnObjects()
+    private final int width; // The number of columns on the board
+    private final int height; // The number of rows on the board
+    private final long[] board = new long[WORDS]; // A bit for every cell on the board
+    private final long[] asteroids = new long[WORDS];
+    private final long[] enemies = new long[WORDS];
+    private final long[] shieldPowerUps = new long[WORDS];
+    private final long[] healthPowerUps = new long[WORDS];
+    // The cells holding at least i + 1 Bullets in bullets[i]; grown when a cell gets another
+    private long[][] bullets = new long[1][WORDS];
+    // Scratch layers for checkCollisions, reused so a tick does not allocate
+    private final long[] bulletsStruck = new long[WORDS];
+    private final long[] enemiesShot = new long[WORDS];
+    // Stand-ins for the objects the Ship collides with, for their effects and log messages
+    private final Asteroid asteroid = new Asteroid(0, 0);
+    private final Enemy enemy = new Enemy(0, 0);
+    private final ShieldPowerUp shieldPowerUp = new ShieldPowerUp(0, 0);
+    private final HealthPowerUp healthPowerUp = new HealthPowerUp(0, 0);
+    private final Ship ship;
+    private int lvl; // The current game level
+    private int spawnRate; // The current game spawn rate
+    private final Logger logger;
+    private final PlayerStatsTracker statsTracker;
+    private boolean verbose = false;
+
+    /**
+     * Models the standard game on the default GAME_WIDTH by GAME_HEIGHT board.
+     *
+     * @param logger a functional interface for passing information between classes.
+     * @param statsTracker the tracker for player statistics.
+     */
+    public BitboardModel(Logger logger, PlayerStatsTracker statsTracker) {
+        this(logger, statsTracker, GameModel.GAME_WIDTH, GameModel.GAME_HEIGHT);
+    }
+
+    /**
+     * Models the standard game on a board of the given size.<br>
+     * <p>
+     * The ship starts at its default position, moved onto the board if the board is too small.<br>
+     *
+     * @param logger a functional interface for passing information between classes.
+     * @param statsTracker the tracker for player statistics.
+     * @param width the number of columns on the board.
+     * @param height the number of rows on the board.
+     * @throws IllegalArgumentException if width or height is less than 1, or the board has more
+     *         than MAX_CELLS cells
+     */
+    public BitboardModel(Logger logger, PlayerStatsTracker statsTracker, int width, int height) {
+        if (width < 1 || height < 1 || (long) width * height > MAX_CELLS) {
+            throw new IllegalArgumentException("Board must have between 1 and " + MAX_CELLS
+                    + " cells, got " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        for (int cell = 0; cell < width * height; cell++) {
+            board[cell >>> 6] |= 1L << cell;
+        }
+        Ship ship = new Ship();
+        if (ship.getX() >= width || ship.getY() >= height) {
+            ship = new Ship(Math.min(ship.getX(), width - 1), Math.min(ship.getY(), height - 1));
+        }
+        this.ship = ship;
+        lvl = GameModel.START_LEVEL;
+        spawnRate = GameModel.START_SPAWN_RATE;
+        this.logger = logger;
+        this.statsTracker = statsTracker;
+    }
+
+    /**
+     * Returns the number of columns on the board.
+     *
+     * @return the board width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of rows on the board.
+     *
+     * @return the board height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the ship instance in the game.
+     *
+     * @return the current ship instance.
+     */
+    public Ship getShip() {
+        return ship;
+    }
+
+    /**
+     * Returns the current level.
+     *
+     * @return the current level.
+     */
+    public int getLevel() {
+        return lvl;
+    }
+
+    /**
+     * Returns the current player stats tracker.
+     *
+     * @return the current player stats tracker
+     */
+    public PlayerStatsTracker getStatsTracker() {
+        return statsTracker;
+    }
+
+    /**
+     * Sets verbose state to the provided input.
+     *
+     * @param verbose whether to set verbose state to true or false
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Sets the seed of the Random instance, as {@link GameModel#setRandomSeed(long)} does.
+     *
+     * @param seed to be set for the Random instance
+     */
+    public void setRandomSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * Returns the number of SpaceObjects in the game, without creating them.
+     *
+     * @return the number of space objects
+     */
+    public int getObjectCount() {
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount(asteroids[i]) + Long.bitCount(enemies[i])
+                    + Long.bitCount(shieldPowerUps[i]) + Long.bitCount(healthPowerUps[i]);
+            for (long[] layer : bullets) {
+                count += Long.bitCount(layer[i]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a SpaceObject for every object in the game, cell by cell, row by row.<br>
+     * <p>
+     * The objects are new on every call, and changing them does not change the game, so this is
+     * for drawing or inspecting the game rather than for every tick.<br>
+     *
+     * @return a new list of the space objects
+     */
+    public List<SpaceObject> getSpaceObjects() {
+        List<SpaceObject> objects = new ArrayList<>(getObjectCount());
+        for (int i = 0; i < WORDS; i++) {
+            for (long cells = asteroids[i] | enemies[i] | shieldPowerUps[i] | healthPowerUps[i]
+                    | bullets[0][i]; cells != 0; cells &= cells - 1) {
+                int cell = i * Long.SIZE + Long.numberOfTrailingZeros(cells);
+                int x = cell % width;
+                int y = cell / width;
+                if (isSet(asteroids, cell)) {
+                    objects.add(new Asteroid(x, y));
+                } else if (isSet(enemies, cell)) {
+                    objects.add(new Enemy(x, y));
+                } else if (isSet(shieldPowerUps, cell)) {
+                    objects.add(new ShieldPowerUp(x, y));
+                } else if (isSet(healthPowerUps, cell)) {
+                    objects.add(new HealthPowerUp(x, y));
+                }
+                for (int layer = 0; layer < bullets.length && isSet(bullets[layer], cell); layer++) {
+                    objects.add(new Bullet(x, y));
+                }
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * Moves every object as {@link GameModel#updateGame(int)} does: Bullets up a row every tick,
+     * and Asteroids, Enemies and PowerUps down a row on ticks that are a multiple of their move
+     * interval. Objects moved off the board are dropped.
+     *
+     * @param tick the game tick
+     */
+    public void updateGame(int tick) {
+        for (long[] layer : bullets) {
+            shiftBack(layer, width);
+        }
+        if (tick % DescendingEnemy.DEFAULT_MOVE_INTERVAL == 0) {
+            shiftForward(asteroids, width);
+            shiftForward(enemies, width);
+        }
+        if (tick % PowerUp.DEFAULT_MOVE_INTERVAL == 0) {
+            shiftForward(shieldPowerUps, width);
+            shiftForward(healthPowerUps, width);
+        }
+    }
+
+    /**
+     * Handles collisions as {@link GameModel#checkCollisions()} does with the built-in rules.<br>
+     * <p>
+     * A Bullet sharing a cell with an Enemy removes both and records a shot hit, and a Bullet
+     * sharing a cell with an Asteroid is removed. These are found for every Bullet at once by
+     * ANDing the layers, before the Ship's collisions remove anything, as GameModel removes
+     * collided objects only once every collision is handled.<br>
+     * The Ship then collides with whatever shares its cell, as GameModel's Ship does.
+     */
+    public void checkCollisions() {
+        int shotsHit = 0;
+        for (int i = 0; i < WORDS; i++) {
+            bulletsStruck[i] = bullets[0][i] & (enemies[i] | asteroids[i]);
+            enemiesShot[i] = bullets[0][i] & enemies[i];
+            for (long[] layer : bullets) {
+                shotsHit += Long.bitCount(layer[i] & enemies[i]);
+            }
+        }
+
+        checkShipCollisions();
+
+        for (int i = 0; i < WORDS; i++) {
+            enemies[i] &= ~enemiesShot[i];
+            for (long[] layer : bullets) {
+                layer[i] &= ~bulletsStruck[i];
+            }
+        }
+        for (int i = 0; i < shotsHit; i++) {
+            statsTracker.recordShotHit();
+        }
+    }
+
+    /**
+     * Applies the collision of the Ship with the object in its cell, if any, and removes it.
+     * Bullets do not collide with the Ship.
+     */
+    private void checkShipCollisions() {
+        int cell = ship.getY() * width + ship.getX();
+        if (clear(asteroids, cell)) {
+            ship.takeDamage(GameModel.ASTEROID_DAMAGE);
+            if (verbose) {
+                logger.log(LogLevel.INFO, () -> "Hit by " + asteroid.render()
+                        + "! Health reduced by " + GameModel.ASTEROID_DAMAGE + ".");
+            }
+        }
+        if (clear(enemies, cell)) {
+            ship.takeDamage(GameModel.ENEMY_DAMAGE);
+            if (verbose) {
+                logger.log(LogLevel.INFO, () -> "Hit by " + enemy.render()
+                        + "! Health reduced by " + GameModel.ENEMY_DAMAGE + ".");
+            }
+        }
+        if (clear(shieldPowerUps, cell)) {
+            shieldPowerUp.applyEffect(ship);
+            if (verbose) {
+                logger.log(LogLevel.INFO, () -> "Power-up collected: " + shieldPowerUp.render());
+            }
+        }
+        if (clear(healthPowerUps, cell)) {
+            healthPowerUp.applyEffect(ship);
+            if (verbose) {
+                logger.log(LogLevel.INFO, () -> "Power-up collected: " + healthPowerUp.render());
+            }
+        }
+    }
+
+    /**
+     * Spawns new objects at the top of the board, making exactly the calls to the Random instance
+     * that {@link GameModel#spawnObjects()} makes, and spawning the same objects.
+     */
+    public void spawnObjects() {
+        // Spawn asteroids with a chance determined by spawnRate
+        if (random.nextInt(100) < spawnRate) {
+            int x = random.nextInt(width); // Random x-coordinate
+            if (!isOccupied(x, 0)) {
+                set(asteroids, x);
+            }
+        }
+
+        // Spawn enemies with half the chance of asteroids
+        if (random.nextInt(100) < spawnRate * GameModel.ENEMY_SPAWN_RATE) {
+            int x = random.nextInt(width);
+            if (!isOccupied(x, 0)) {
+                set(enemies, x);
+            }
+        }
+
+        // Spawn power-ups with a quarter of the chance of asteroids
+        if (random.nextInt(100) < spawnRate * GameModel.POWER_UP_SPAWN_RATE) {
+            int x = random.nextInt(width);
+            boolean shield = random.nextBoolean();
+            if (!isOccupied(x, 0)) {
+                set(shield ? shieldPowerUps : healthPowerUps, x);
+            }
+        }
+    }
+
+    /**
+     * Checks if the given position is occupied by the ship or any space object.
+     *
+     * @param x the x-coordinate to check.
+     * @param y the y-coordinate to check.
+     * @return true if the position is occupied; false otherwise.
+     */
+    private boolean isOccupied(int x, int y) {
+        if (ship.getX() == x && ship.getY() == y) {
+            return true;
+        }
+        int cell = y * width + x;
+        return isSet(asteroids, cell) || isSet(enemies, cell) || isSet(shieldPowerUps, cell)
+                || isSet(healthPowerUps, cell) || isSet(bullets[0], cell);
+    }
+
+    /**
+     * Levels up the game as {@link GameModel#levelUp()} does.
+     */
+    public void levelUp() {
+        if (ship.getScore() < lvl * GameModel.SCORE_THRESHOLD) {
+            return;
+        }
+        lvl++;
+        spawnRate += GameModel.SPAWN_RATE_INCREASE;
+        if (verbose) {
+            logger.log(LogLevel.INFO, () -> "Level Up! Welcome to Level " + lvl
+                    + ". Spawn rate increased to " + spawnRate + "%.");
+        }
+    }
+
+    /**
+     * Fires a bullet from the ship's current position, as {@link GameModel#fireBullet()} does.
+     */
+    public void fireBullet() {
+        int cell = ship.getY() * width + ship.getX();
+        int layer = 0;
+        while (layer < bullets.length && isSet(bullets[layer], cell)) {
+            layer++;
+        }
+        if (layer == bullets.length) {
+            bullets = Arrays.copyOf(bullets, layer + 1);
+            bullets[layer] = new long[WORDS];
+        }
+        set(bullets[layer], cell);
+        if (verbose) {
+            logger.log(LogLevel.DEBUG, () -> "Core.Bullet fired!");
+        }
+    }
+
+    /**
+     * Checks if the game is over, as {@link GameModel#checkGameOver()} does.
+     *
+     * @return true if the Ship's health is <= 0 (game over), false otherwise
+     */
+    public boolean checkGameOver() {
+        return ship.getHealth() <= 0;
+    }
+
+    /**
+     * Moves every bit of the layer the given number of cells forward, dropping those moved off
+     * the end of the board.
+     */
+    private void shiftForward(long[] layer, int cells) {
+        int words = cells >>> 6;
+        int bits = cells & 63;
+        for (int i = WORDS - 1; i >= 0; i--) {
+            int from = i - words;
+            long value = from >= 0 ? layer[from] << bits : 0;
+            if (bits != 0 && from > 0) {
+                value |= layer[from - 1] >>> (Long.SIZE - bits);
+            }
+            layer[i] = value & board[i];
+        }
+    }
+
+    /**
+     * Moves every bit of the layer the given number of cells back, dropping those moved off the
+     * start of the board.
+     */
+    private static void shiftBack(long[] layer, int cells) {
+        int words = cells >>> 6;
+        int bits = cells & 63;
+        for (int i = 0; i < WORDS; i++) {
+            int from = i + words;
+            long value = from < WORDS ? layer[from] >>> bits : 0;
+            if (bits != 0 && from + 1 < WORDS) {
+                value |= layer[from + 1] << (Long.SIZE - bits);
+            }
+            layer[i] = value;
+        }
+    }
+
+    private static boolean isSet(long[] layer, int cell) {
+        return (layer[cell >>> 6] & 1L << cell) != 0;
+    }
+
+    private static void set(long[] layer, int cell) {
+        layer[cell >>> 6] |= 1L << cell;
+    }
+
+    /**
+     * Clears the cell's bit, returning whether it was set.
+     */
+    private static boolean clear(long[] layer, int cell) {
+        long bit = 1L << cell;
+        boolean set = (layer[cell >>> 6] & bit) != 0;
+        layer[cell >>> 6] &= ~bit;
+        return set;
+    }
+}
@@ -5,10 +5,19 @@ import game.achievements.AchievementManager;
 import game.achievements.PlayerStatsTracker;
 import game.core.SpaceObject;
 import game.exceptions.BoundaryExceededException;
+import game.metrics.TickMetrics;
+import game.metrics.TickPhase;
+import game.ui.FrameObserver;
+import game.ui.KeyHandler;
+import game.ui.StatsFrame;
+import game.ui.Tickable;
 import game.ui.UI;
 import game.utility.Direction;
+import game.utility.LogLevel;
+import game.utility.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -34,6 +43,49 @@ public class GameController {
      */
     private boolean isPaused = false;
 
+    /**
+     * The list of objects passed to the UI each frame, reused to avoid copying into a new list.
+     */
+    private final List<SpaceObject> objectsToRender = new ArrayList<>();
+
+    /**
+     * The last values published for each stat, and their cached text, so that unchanged
+     * stats do not build a new String every tick.
+     */
+    private int renderedScore = -1;
+    private String scoreText;
+    private int renderedHealth = -1;
+    private String healthText;
+    private int renderedLevel = -1;
+    private String levelText;
+    private long renderedTimeSurvived = -1;
+    private String timeSurvivedText;
+
+    /**
+     * The stats published to the UI each frame, which tracks which of them changed.
+     */
+    private final StatsFrame statsFrame = new StatsFrame();
+
+    /**
+     * The achievement progress last published to the UI, in achievement order.
+     */
+    private double[] publishedProgress = new double[0];
+
+    /**
+     * Timing, entity and allocation figures for every tick run by onTick.
+     */
+    private final TickMetrics tickMetrics = new TickMetrics();
+
+    /**
+     * Where the controller's own messages are logged; the UI's log by default.
+     */
+    private Logger logger;
+
+    /**
+     * Notified of every frame after it is drawn, or null for none.
+     */
+    private FrameObserver frameObserver = null;
+
 
     /**
      * Initializes the game controller with the given UI, GameModel and AchievementManager.<br>
@@ -53,6 +105,7 @@ public class GameController {
      */
     public GameController(UI ui, GameModel model, AchievementManager achievementManager) {
         this.ui = ui;
+        this.logger = ui::log;
         ui.start();
         this.model = model;
         this.startTime = System.currentTimeMillis(); // Current time
@@ -96,6 +149,27 @@ public class GameController {
         return statsTracker;
     }
 
+    /**
+     * Sets the logger used for the controller's own messages, such as ship moves and pausing.<br>
+     * By default messages are logged straight to the UI.
+     *
+     * @param logger the logger to use
+     * @requires logger is not null
+     */
+    public void setLogger(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Sets the observer shown every frame after it is passed to the UI, such as a feed sending it
+     * to spectators, replacing any observer set before.
+     *
+     * @param observer the observer to notify, or null for none
+     */
+    public void setFrameObserver(FrameObserver observer) {
+        this.frameObserver = observer;
+    }
+
     /**
      * Sets verbose state to the provided input.
      * Also sets the model's verbose state to the provided input.
@@ -119,6 +193,34 @@ public class GameController {
         ui.onKey(this::handlePlayerInput);
     }
 
+    /**
+     * Starts the main game loop as {@link #startGame()} does, also passing every tick and key press
+     * to the given observers straight after the controller has handled it.<br>
+     * <p>
+     * The observers are registered together with the controller, so they see exactly the ticks the
+     * controller runs and the keys it handles, e.g. to record the game. They are told even if
+     * handling the tick or key failed.
+     *
+     * @param tickObserver told about each tick after onTick has run it
+     * @param keyObserver told about each key press after handlePlayerInput has handled it
+     */
+    public void startGame(Tickable tickObserver, KeyHandler keyObserver) {
+        ui.onStep(tick -> {
+            try {
+                onTick(tick);
+            } finally {
+                tickObserver.tick(tick); // even if the tick failed, so a crash can be replayed
+            }
+        });
+        ui.onKey(key -> {
+            try {
+                handlePlayerInput(key);
+            } finally {
+                keyObserver.onPress(key);
+            }
+        });
+    }
+
     /**
      * Uses the provided tick to call and advance the following:<br>
      * - A call to model.updateGame(tick) to advance the game by the given tick.<br>
@@ -127,24 +229,44 @@ public class GameController {
      * - A call to model.levelUp() to check and handle leveling.<br>
      * - A call to refreshAchievements(tick) to handle achievement updating.<br>
      * - A call to renderGame() to draw the current state of the game.<br>
+     * <p>
+     * Each phase is timed and recorded in the controller's TickMetrics.
      * @param tick the provided tick
      * @provided
      */
     public void onTick(int tick) {
+        long phaseStart = tickMetrics.beginTick();
         model.updateGame(tick); // Update GameObjects
+        phaseStart = tickMetrics.endPhase(TickPhase.UPDATE_GAME, phaseStart);
         model.checkCollisions(); // Check for Collisions
+        phaseStart = tickMetrics.endPhase(TickPhase.CHECK_COLLISIONS, phaseStart);
         model.spawnObjects(); // Handles new spawns
+        phaseStart = tickMetrics.endPhase(TickPhase.SPAWN_OBJECTS, phaseStart);
         model.levelUp(); // Level up when score threshold is met
+        phaseStart = tickMetrics.endPhase(TickPhase.LEVEL_UP, phaseStart);
         refreshAchievements(tick); // Handle achievement updating.
+        phaseStart = tickMetrics.endPhase(TickPhase.REFRESH_ACHIEVEMENTS, phaseStart);
         renderGame(); // Update Visual
+        tickMetrics.endPhase(TickPhase.RENDER_GAME, phaseStart);
+        tickMetrics.endTick(tick, model.getSpaceObjects().size());
 
         // Check game over
         if (model.checkGameOver()) {
             pauseGame();
-            showGameOverWindow();
+            ui.showGameOver(buildGameOverSummary());
         }
     }
 
+    /**
+     * Returns the per-phase latency histograms, entity counts and allocation recorded for each
+     * tick run by onTick.
+     *
+     * @return the controller's tick metrics
+     */
+    public TickMetrics getTickMetrics() {
+        return tickMetrics;
+    }
+
     /**
      * Updates the player's progress towards achievements on every game tick, and uses the AchievementManager
      * to track and update the player's achievements.
@@ -162,8 +284,9 @@ public class GameController {
      *         </ul>
      *     </li>
      * </ul>
-     * The AchievementManager updates achievements accordingly. Additionally, every 100 ticks and if verbose
-     * is true, logs the current progress to the UI.
+     * The AchievementManager updates achievements accordingly. Each achievement's progress is passed to the
+     * UI only when it has changed. Additionally, every 100 ticks and if verbose is true, logs the current
+     * progress to the UI.
      *
      * @param tick the current game tick
      */
@@ -190,9 +313,19 @@ public class GameController {
         // Store/log new mastered achievements
         achievementManager.logAchievementMastered();
 
-        // Update UI statistics for each achievement's progress
-        for (Achievement ach : achievementManager.getAchievements()) {
-            ui.setAchievementProgressStat(ach.getName(), ach.getProgress());
+        // Update UI statistics for each achievement's progress that has changed
+        int count = achievementManager.getAchievementCount();
+        if (publishedProgress.length != count) {
+            publishedProgress = new double[count];
+            Arrays.fill(publishedProgress, Double.NaN); // publish every achievement once
+        }
+        for (int index = 0; index < count; index++) {
+            Achievement ach = achievementManager.getAchievement(index);
+            double progress = ach.getProgress();
+            if (progress != publishedProgress[index]) {
+                publishedProgress[index] = progress;
+                ui.setAchievementProgressStat(ach.getName(), progress);
+            }
         }
 
         // Log achievement progress every 100 ticks if verbose
@@ -205,25 +338,58 @@ public class GameController {
     /**
      * Renders the current game state, including score, health, level, and survival time.
      * <p>
-     * - Uses {@code ui.setStat()} to update the "Score", "Health", and "Level" appropriately with information from the model.
-     * - Uses {@code ui.setStat()} to update "Time Survived" with the number of seconds since the game started.
+     * - Updates the "Score", "Health", and "Level" stats appropriately with information from the model.
+     * - Updates the "Time Survived" stat with the number of seconds since the game started.
+     * - Publishes the stats that changed to the UI in one batch using {@code ui.setStats()}.
      * - Renders all {@code SpaceObject}s (including the Ship, which is not part of {@code model.getSpaceObjects()})
      *   by passing a combined list to {@code ui.render()}.
+     * - Shows the same objects and stats to the frame observer, if one is set.
+     * <p>
+     * Stat text is only rebuilt when a value changes, and the combined list is reused between frames,
+     * so rendering an unchanged game does not allocate.
      */
     public void renderGame() {
         // Update UI stats using values from the model.
-        ui.setStat("Score", String.valueOf(model.getShip().getScore()));
-        ui.setStat("Health", String.valueOf(model.getShip().getHealth()));
-        ui.setStat("Level", String.valueOf(model.getLevel()));
+        int score = model.getShip().getScore();
+        if (score != renderedScore) {
+            renderedScore = score;
+            scoreText = String.valueOf(score);
+        }
+        int health = model.getShip().getHealth();
+        if (health != renderedHealth) {
+            renderedHealth = health;
+            healthText = String.valueOf(health);
+        }
+        int level = model.getLevel();
+        if (level != renderedLevel) {
+            renderedLevel = level;
+            levelText = String.valueOf(level);
+        }
+        statsFrame.set("Score", scoreText);
+        statsFrame.set("Health", healthText);
+        statsFrame.set("Level", levelText);
 
         long timeSurvived = (System.currentTimeMillis() - startTime) / 1000;
-        ui.setStat("Time Survived", timeSurvived + " seconds");
+        if (timeSurvived != renderedTimeSurvived) {
+            renderedTimeSurvived = timeSurvived;
+            timeSurvivedText = timeSurvived + " seconds";
+        }
+        statsFrame.set("Time Survived", timeSurvivedText);
+        ui.setStats(statsFrame); // Only the stats that changed are published
+        statsFrame.clearChanges();
 
         // Render all SpaceObjects including the Ship.
         // Since the ship isn't stored in model.getSpaceObjects(), combine them.
-        List<SpaceObject> objectsToRender = new ArrayList<>(model.getSpaceObjects());
+        List<SpaceObject> spaceObjects = model.getSpaceObjects();
+        objectsToRender.clear();
+        for (int i = 0; i < spaceObjects.size(); i++) {
+            objectsToRender.add(spaceObjects.get(i));
+        }
         objectsToRender.add(model.getShip());
         ui.render(objectsToRender);
+        if (frameObserver != null) {
+            frameObserver.onFrame(objectsToRender, statsFrame);
+        }
     }
 
     /**
@@ -253,46 +419,46 @@ public class GameController {
         switch (command) {
             case "W":
                 try {
-                    model.getShip().move(Direction.UP);
+                    model.getShip().move(Direction.UP, model.getWidth(), model.getHeight());
                     if (isVerbose) {
-                        ui.log("Ship moved to (" + model.getShip().getX() + ", "
-                                + model.getShip().getY() + ")");
+                        logger.log(LogLevel.DEBUG, () -> "Ship moved to (" + model.getShip().getX()
+                                + ", " + model.getShip().getY() + ")");
                     }
                 } catch (BoundaryExceededException e) {
-                    ui.log(e.getMessage());
+                    logger.log(LogLevel.WARN, e::getMessage);
                 }
                 break;
             case "A":
                 try {
-                    model.getShip().move(Direction.LEFT);
+                    model.getShip().move(Direction.LEFT, model.getWidth(), model.getHeight());
                     if (isVerbose) {
-                        ui.log("Ship moved to (" + model.getShip().getX() + ", "
-                                + model.getShip().getY() + ")");
+                        logger.log(LogLevel.DEBUG, () -> "Ship moved to (" + model.getShip().getX()
+                                + ", " + model.getShip().getY() + ")");
                     }
                 } catch (BoundaryExceededException e) {
-                    ui.log(e.getMessage());
+                    logger.log(LogLevel.WARN, e::getMessage);
                 }
                 break;
             case "S":
                 try {
-                    model.getShip().move(Direction.DOWN);
+                    model.getShip().move(Direction.DOWN, model.getWidth(), model.getHeight());
                     if (isVerbose) {
-                        ui.log("Ship moved to (" + model.getShip().getX() + ", "
-                                + model.getShip().getY() + ")");
+                        logger.log(LogLevel.DEBUG, () -> "Ship moved to (" + model.getShip().getX()
+                                + ", " + model.getShip().getY() + ")");
                     }
                 } catch (BoundaryExceededException e) {
-                    ui.log(e.getMessage());
+                    logger.log(LogLevel.WARN, e::getMessage);
                 }
                 break;
             case "D":
                 try {
-                    model.getShip().move(Direction.RIGHT);
+                    model.getShip().move(Direction.RIGHT, model.getWidth(), model.getHeight());
                     if (isVerbose) {
-                        ui.log("Ship moved to (" + model.getShip().getX() + ", "
-                                + model.getShip().getY() + ")");
+                        logger.log(LogLevel.DEBUG, () -> "Ship moved to (" + model.getShip().getX()
+                                + ", " + model.getShip().getY() + ")");
                     }
                 } catch (BoundaryExceededException e) {
-                    ui.log(e.getMessage());
+                    logger.log(LogLevel.WARN, e::getMessage);
                 }
                 break;
             case "F":
@@ -303,7 +469,7 @@ public class GameController {
                 pauseGame();
                 break;
             default:
-                ui.log("Invalid input. Use W, A, S, D, F, or P.");
+                logger.log(LogLevel.WARN, () -> "Invalid input. Use W, A, S, D, F, or P.");
                 break;
         }
     }
@@ -323,33 +489,27 @@ public class GameController {
 
         // Log the status
         if (isPaused) {
-            ui.log("Game paused.");
+            logger.log(LogLevel.INFO, () -> "Game paused.");
         } else {
-            ui.log("Game unpaused.");
+            logger.log(LogLevel.INFO, () -> "Game unpaused.");
         }
     }
 
     /**
-     * Displays a Game Over window containing the player's final statistics and achievement
-     * progress.<br>
+     * Builds the Game Over summary containing the player's final statistics and achievement
+     * progress, which the UI displays using {@code ui.showGameOver()}.<br>
      * <p>
-     * This window includes:<br>
+     * The summary includes:<br>
      * - Number of shots fired and shots hit<br>
      * - Number of Enemies destroyed<br>
      * - Survival time in seconds<br>
      * - Progress for each achievement, including name, description, completion percentage
      * and current tier<br>
+     *
+     * @return the Game Over summary text
      * @provided
      */
-    private void showGameOverWindow() {
-
-        // Create a new window to display game over stats.
-        javax.swing.JFrame gameOverFrame = new javax.swing.JFrame("Game Over - Player Stats");
-        gameOverFrame.setSize(400, 300);
-        gameOverFrame.setLocationRelativeTo(null); // center on screen
-        gameOverFrame.setDefaultCloseOperation(javax.swing.JFrame.DISPOSE_ON_CLOSE);
-
-
+    private String buildGameOverSummary() {
         StringBuilder sb = new StringBuilder();
         sb.append("Shots Fired: ").append(getStatsTracker().getShotsFired()).append("\n");
         sb.append("Shots Hit: ").append(getStatsTracker().getShotsHit()).append("\n");
@@ -371,19 +531,7 @@ public class GameController {
                     .append(")\n");
         }
 
-        String statsText = sb.toString();
-
-        // Create a text area to show stats.
-        javax.swing.JTextArea statsArea = new javax.swing.JTextArea(statsText);
-        statsArea.setEditable(false);
-        statsArea.setFont(new java.awt.Font("Monospaced", java.awt.Font.PLAIN, 14));
-
-        // Add the text area to a scroll pane (optional) and add it to the frame.
-        javax.swing.JScrollPane scrollPane = new javax.swing.JScrollPane(statsArea);
-        gameOverFrame.add(scrollPane);
-
-        // Make the window visible.
-        gameOverFrame.setVisible(true);
+        return sb.toString();
     }
 
 }
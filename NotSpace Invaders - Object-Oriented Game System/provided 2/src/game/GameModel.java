@@ -2,20 +2,28 @@ package game;
 
 
 import game.achievements.PlayerStatsTracker;
+import game.collision.CollisionContext;
+import game.collision.CollisionResponse;
+import game.collision.CollisionRules;
 import game.core.*;
+import game.utility.LogLevel;
 import game.utility.Logger;
+import game.utility.SeededRandom;
 import game.core.SpaceObject;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Represents the game information and state. Stores and manipulates the game state.
  */
 public class GameModel {
-    public static final int GAME_HEIGHT = 20;
-    public static final int GAME_WIDTH = 10;
+    public static final int GAME_HEIGHT = 20; // Default board height
+    public static final int GAME_WIDTH = 10; // Default board width
+    public static final int MAX_BOARD_SIZE = 10_000; // Largest supported board width or height
     public static final int START_SPAWN_RATE = 2; // spawn rate (percentage chance per tick)
     public static final int SPAWN_RATE_INCREASE = 5; // Increase spawn rate by 5% per level
     public static final int START_LEVEL = 1; // Starting level value
@@ -25,14 +33,76 @@ public class GameModel {
     public static final double ENEMY_SPAWN_RATE = 0.5; // Percentage of asteroid spawn chance
     public static final double POWER_UP_SPAWN_RATE = 0.25; // Percentage of asteroid spawn chance
 
-    private final Random random = new Random(); // ONLY USED IN this.spawnObjects()
-    private final List<SpaceObject> spaceObjects; // List of all objects
+    private final SeededRandom random = new SeededRandom(); // ONLY USED IN this.spawnObjects()
+    private final int width; // The number of columns on the board
+    private final int height; // The number of rows on the board
+    private final EntityStore spaceObjects; // Store of all objects, in the order they were added
+    private final SpatialIndex spatialIndex = new SpatialIndex(); // Cell lookup for spaceObjects
+    private final EntityStore.Listener indexUpdater = new EntityStore.Listener() {
+        @Override
+        public void moved(SpaceObject object, int oldX, int oldY) {
+            spatialIndex.move(object, oldX, oldY, object.getX(), object.getY());
+        }
+
+        @Override
+        public void removed(SpaceObject object, int oldX, int oldY) {
+            spatialIndex.remove(object, oldX, oldY);
+            if (changeLog == null) {
+                ObjectPool.release(object); // Recycle objects the model created itself
+            }
+        }
+
+        @Override
+        public void added(SpaceObject object) {
+            spatialIndex.add(object);
+        }
+    };
+    // Pools recycling the objects the model creates, so spawning and firing do not allocate
+    private final ObjectPool<Bullet> bullets = new ObjectPool<>(Bullet::new);
+    private final ObjectPool<Asteroid> asteroids = new ObjectPool<>(Asteroid::new);
+    private final ObjectPool<Enemy> enemies = new ObjectPool<>(Enemy::new);
+    private final ObjectPool<ShieldPowerUp> shieldPowerUps = new ObjectPool<>(ShieldPowerUp::new);
+    private final ObjectPool<HealthPowerUp> healthPowerUps = new ObjectPool<>(HealthPowerUp::new);
+    // Scratch set of objects to remove, reused every tick so collision handling does not allocate
+    private final Set<SpaceObject> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final CollisionRules rules; // Type IDs and the response to each pair colliding
+    private final boolean[] bulletTargets; // Whether a Bullet collides with each type ID
+    private final CollisionContext collisionContext = new CollisionContext() {
+        @Override
+        public Ship getShip() {
+            return ship;
+        }
+
+        @Override
+        public PlayerStatsTracker getStatsTracker() {
+            return statsTracker;
+        }
+
+        @Override
+        public void remove(SpaceObject object) {
+            toRemove.add(object); // Removed after all collisions are processed
+        }
+
+        @Override
+        public void log(Supplier<String> message) {
+            if (verbose) {
+                logger.log(LogLevel.INFO, message);
+            }
+        }
+    };
     private final Ship ship; // Core.Ship starts at (5, 10) with 100 health
     private int lvl; // The current game level
     private int spawnRate; // The current game spawn rate
     private final Logger logger; //(change wrter into logger) The Logger reference used for logging.
     private final PlayerStatsTracker statsTracker;
     private boolean verbose = false;
+    private ChangeLog changeLog = null; // Changes over the last few ticks, or null if not rewindable
+    // The rest of the state at the start of each logged tick, indexed by the ChangeLog's frame slot
+    private int[] rewindLevels;
+    private int[] rewindSpawnRates;
+    private long[] rewindRandomStates;
+    private int[] rewindShotsFired;
+    private int[] rewindShotsHit;
 
 
     /**
@@ -41,23 +111,108 @@ public class GameModel {
      * Logger argument should be a method reference to a .log method such as the UI.log method.<br>
      * Example: Model gameModel = new GameModel(ui::log)<br>
      * <p>
-     * - Instantiates an empty list for storing all SpaceObjects (except the ship) that the model needs to track.<br>
+     * - Instantiates an empty store for all SpaceObjects (except the ship) that the model needs to track.<br>
      * - Instantiates the game level with the starting level value.<br>
      * - Instantiates the game spawn rate with the starting spawn rate.<br>
      * - Instantiates a new ship. (The ship should not be stored in the SpaceObjects list)<br>
      * - Stores reference to the given logger.<br>
+     * <p>
+     * The board is GAME_WIDTH by GAME_HEIGHT cells.<br>
      *
      * @param logger a functional interface for passing information between classes.
      */
     public GameModel(Logger logger, PlayerStatsTracker statsTracker) {
-        spaceObjects = new ArrayList<>();
+        this(logger, statsTracker, GAME_WIDTH, GAME_HEIGHT);
+    }
+
+    /**
+     * Models a game on a board of the given size.<br>
+     * <p>
+     * Behaves as {@link #GameModel(Logger, PlayerStatsTracker)}, except that the board is
+     * width by height cells. Only occupied cells are tracked, so memory and tick cost depend
+     * on the number of objects rather than the board size.<br>
+     * The ship starts at its default position, moved onto the board if the board is too small.<br>
+     *
+     * @param logger a functional interface for passing information between classes.
+     * @param statsTracker the tracker for player statistics.
+     * @param width the number of columns on the board.
+     * @param height the number of rows on the board.
+     * @throws IllegalArgumentException if width or height is not between 1 and MAX_BOARD_SIZE
+     */
+    public GameModel(Logger logger, PlayerStatsTracker statsTracker, int width, int height) {
+        this(logger, statsTracker, width, height, CollisionRules.standard());
+    }
+
+    /**
+     * Models a game on a board of the given size, whose objects collide by the given rules.<br>
+     * <p>
+     * Behaves as {@link #GameModel(Logger, PlayerStatsTracker, int, int)}, except that collisions
+     * are resolved by the given rules rather than the standard ones. The rules are frozen, so
+     * they cannot change while the game uses them.<br>
+     *
+     * @param logger a functional interface for passing information between classes.
+     * @param statsTracker the tracker for player statistics.
+     * @param width the number of columns on the board.
+     * @param height the number of rows on the board.
+     * @param rules the type IDs and collision responses to use, which are frozen from now on.
+     * @throws IllegalArgumentException if width or height is not between 1 and MAX_BOARD_SIZE
+     */
+    public GameModel(Logger logger, PlayerStatsTracker statsTracker, int width, int height,
+                     CollisionRules rules) {
+        this(logger, statsTracker, width, height, rules, null);
+    }
+
+    /**
+     * Models a game as {@link #GameModel(Logger, PlayerStatsTracker, int, int, CollisionRules)}
+     * does, with the given ship, or the default ship if it is null.
+     */
+    GameModel(Logger logger, PlayerStatsTracker statsTracker, int width, int height,
+              CollisionRules rules, Ship ship) {
+        if (width < 1 || width > MAX_BOARD_SIZE || height < 1 || height > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board dimensions must be between 1 and "
+                    + MAX_BOARD_SIZE + ", got " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        spaceObjects = new EntityStore();
+        rules.freeze();
+        this.rules = rules;
+        bulletTargets = new boolean[rules.typeCount()];
+        for (int type = 0; type < bulletTargets.length; type++) {
+            bulletTargets[type] = rules.response(CollisionRules.BULLET, type) != null;
+        }
         lvl = START_LEVEL;
         spawnRate = START_SPAWN_RATE;
-        ship = new Ship();
+        if (ship == null) {
+            ship = new Ship();
+            // Checked inline, as isInBounds could be overridden before this model is built
+            if (ship.getX() >= width || ship.getY() >= height) {
+                ship = new Ship(Math.min(ship.getX(), width - 1), Math.min(ship.getY(), height - 1));
+            }
+        }
+        this.ship = ship;
         this.logger = logger;
         this.statsTracker = statsTracker;
     }
 
+    /**
+     * Returns the number of columns on the board.
+     *
+     * @return the board width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of rows on the board.
+     *
+     * @return the board height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
     /**
      * Returns the ship instance in the game.
      *
@@ -68,12 +223,15 @@ public class GameModel {
     }
 
     /**
-     * Returns a list of all SpaceObjects in the game.
+     * Returns a list of all SpaceObjects in the game.<br>
+     * <p>
+     * The list is a read-only view; objects must be added through {@link #addObject(SpaceObject)}
+     * so that the model can keep its spatial index up to date.<br>
      *
-     * @return a list of all spaceObjects.
+     * @return a read-only list of all spaceObjects.
      */
     public List<SpaceObject> getSpaceObjects() {
-        return spaceObjects;
+        return spaceObjects.asList();
     }
 
     /**
@@ -104,25 +262,84 @@ public class GameModel {
      */
     public void addObject(SpaceObject object) {
         this.spaceObjects.add(object);
+        spatialIndex.add(object);
     }
 
     /**
      * Updates the game state by moving all objects and then removing off-screen objects.<br>
      * <p>
-     * Objects should be moved by calling .tick(tick) on each object.<br>
-     * Objects are considered off-screen if they are at y-coordinate &gt; GAME_HEIGHT.<br>
+     * Objects move as if .tick(tick) were called on each object; the built-in types are moved
+     * in bulk by the {@link EntityStore} instead of one virtual call at a time.<br>
+     * Objects are considered off-screen if they are outside the board, as checked by isInBounds(x, y).<br>
+     * <p>
+     * Off-screen objects are dropped by compacting the store in place, so no memory is allocated.<br>
      *
      * @param tick the tick value passed through to the objects tick() method.
      */
     public void updateGame(int tick) {
-        List<SpaceObject> toRemove = new ArrayList<>();
-        for (SpaceObject obj : spaceObjects) {
-            obj.tick(tick); // Move objects downward
-            if (!isInBounds(obj)) { // Remove objects that move off-screen
-                toRemove.add(obj);
-            }
+        if (changeLog != null) {
+            int slot = changeLog.beginFrame(tick, ship);
+            rewindLevels[slot] = lvl;
+            rewindSpawnRates[slot] = spawnRate;
+            rewindRandomStates[slot] = random.getState();
+            rewindShotsFired[slot] = statsTracker.getShotsFired();
+            rewindShotsHit[slot] = statsTracker.getShotsHit();
         }
-        spaceObjects.removeAll(toRemove);
+        spaceObjects.tick(tick, width, height, indexUpdater);
+    }
+
+    /**
+     * Keeps the changes made over the last given number of ticks, so that the game can be rewound
+     * to the start of any of them, or stops keeping them if the number is 0.<br>
+     * <p>
+     * Only what changes in each tick is kept: the objects added, moved and removed, and the Ship,
+     * level, spawn rate, random state and shot counts. Objects removed while changes are kept are
+     * not recycled, since a rewind may put them back.<br>
+     * Any changes kept before are dropped.<br>
+     *
+     * @param ticks the number of ticks to keep
+     * @throws IllegalArgumentException if ticks is negative
+     */
+    public void setRewindTicks(int ticks) {
+        changeLog = spaceObjects.recordChanges(ticks);
+        int slots = changeLog == null ? 0 : changeLog.capacity();
+        rewindLevels = new int[slots];
+        rewindSpawnRates = new int[slots];
+        rewindRandomStates = new long[slots];
+        rewindShotsFired = new int[slots];
+        rewindShotsHit = new int[slots];
+    }
+
+    /**
+     * Returns whether the game can be rewound to the start of the given tick.
+     *
+     * @param tick the tick to rewind to
+     * @return true if the tick is one of the last ticks kept by setRewindTicks
+     */
+    public boolean canRewind(int tick) {
+        return changeLog != null && changeLog.contains(tick);
+    }
+
+    /**
+     * Rewinds the game to how it was just before updateGame(tick) was last called, undoing every
+     * change since.<br>
+     * <p>
+     * Only the changes since then are undone, so rewinding a few ticks is quick however many
+     * objects there are. The tick and every later one can no longer be rewound to, until they are
+     * run again.<br>
+     *
+     * @param tick the tick to rewind to
+     * @throws IllegalArgumentException if canRewind(tick) is false
+     */
+    public void rewind(int tick) {
+        if (changeLog == null) {
+            throw new IllegalArgumentException("Rewinding is not enabled");
+        }
+        int slot = changeLog.rewind(tick, ship, indexUpdater);
+        lvl = rewindLevels[slot];
+        spawnRate = rewindSpawnRates[slot];
+        random.setState(rewindRandomStates[slot]);
+        statsTracker.setShotCounts(rewindShotsFired[slot], rewindShotsHit[slot]);
     }
 
     /**
@@ -140,11 +357,11 @@ public class GameModel {
      * <p>
      * Random calls should be in the following order:<br>
      * 1. Check if an asteroid should spawn (random.nextInt(100) &lt; spawnRate)<br>
-     * 2. If spawning an asteroid, spawn at x-coordinate = random.nextInt(GAME_WIDTH)<br>
+     * 2. If spawning an asteroid, spawn at x-coordinate = random.nextInt(width)<br>
      * 3. Check if an enemy should spawn (random.nextInt(100) &lt; spawnRate * ENEMY_SPAWN_RATE)<br>
-     * 4. If spawning an enemy, spawn at x-coordinate = random.nextInt(GAME_WIDTH)<br>
+     * 4. If spawning an enemy, spawn at x-coordinate = random.nextInt(width)<br>
      * 5. Check if a power-up should spawn (random.nextInt(100) &lt; spawnRate * POWER_UP_SPAWN_RATE)<br>
-     * 6. If spawning a power-up, spawn at x-coordinate = random.nextInt(GAME_WIDTH)<br>
+     * 6. If spawning a power-up, spawn at x-coordinate = random.nextInt(width)<br>
      * 7. If spawning a power-up, spawn a ShieldPowerUp if random.nextBoolean(), else a HealthPowerUp.<br>
      * <p>
      * Failure to match random calls correctly will result in failed tests.<br>
@@ -152,36 +369,37 @@ public class GameModel {
      * Objects spawn at y = 0 (top of the screen).<br>
      * Objects do not spawn if the spawn position is already occupied by the ship or another space object.<br>
      * This should NOT impact calls to random.<br>
+     * <p>
+     * Spawned objects are obtained from the model's pools, reusing objects that have left the game.<br>
      */
     public void spawnObjects() {
         // Spawn asteroids with a chance determined by spawnRate
         if (random.nextInt(100) < spawnRate) {
-            int x = random.nextInt(GAME_WIDTH); // Random x-coordinate
+            int x = random.nextInt(width); // Random x-coordinate
             int y = 0; // Spawn at the top of the screen
             if (!isOccupied(x, y)) {
-                spaceObjects.add(new Asteroid(x, y));
+                addObject(asteroids.obtain(x, y));
             }
         }
 
         // Spawn enemies with a lower chance
         // Half the rate of asteroids
         if (random.nextInt(100) < spawnRate * ENEMY_SPAWN_RATE) {
-            int x = random.nextInt(GAME_WIDTH);
+            int x = random.nextInt(width);
             int y = 0;
             if (!isOccupied(x, y)) {
-                spaceObjects.add(new Enemy(x, y));
+                addObject(enemies.obtain(x, y));
             }
         }
 
         // Spawn power-ups with an even lower chance
         // One-fourth the spawn rate of asteroids
         if (random.nextInt(100) < spawnRate * POWER_UP_SPAWN_RATE) {
-            int x = random.nextInt(GAME_WIDTH);
+            int x = random.nextInt(width);
             int y = 0;
-            PowerUp powerUp = random.nextBoolean() ? new ShieldPowerUp(x, y) :
-                    new HealthPowerUp(x, y);
+            boolean shield = random.nextBoolean();
             if (!isOccupied(x, y)) {
-                spaceObjects.add(powerUp);
+                addObject(shield ? shieldPowerUps.obtain(x, y) : healthPowerUps.obtain(x, y));
             }
         }
     }
@@ -201,6 +419,7 @@ public class GameModel {
      * Checks if the given position is occupied by the ship or any existing space object.<br>
      * <p>
      * This is used to prevent spawning new objects on top of the ship or other objects.<br>
+     * Space objects are looked up through the spatial index, so the check takes constant time.<br>
      *
      * @param x the x-coordinate to check.
      * @param y the y-coordinate to check.
@@ -212,12 +431,7 @@ public class GameModel {
             return true;
         }
         // Check space objects
-        for (SpaceObject obj : spaceObjects) {
-            if (obj.getX() == x && obj.getY() == y) {
-                return true;
-            }
-        }
-        return false;
+        return spatialIndex.isOccupied(x, y);
     }
 
 
@@ -240,23 +454,23 @@ public class GameModel {
         lvl++;
         spawnRate += SPAWN_RATE_INCREASE;
         if (verbose) {
-            logger.log("Level Up! Welcome to Level " + lvl + ". Spawn rate increased to "
-                    + spawnRate + "%.");
+            logger.log(LogLevel.INFO, () -> "Level Up! Welcome to Level " + lvl
+                    + ". Spawn rate increased to " + spawnRate + "%.");
         }
     }
 
     /**
      * Fires a bullet from the ship's current position.<br>
      * <p>
-     * Creates a new bullet at the coordinates the ship occupies.<br>
+     * Creates a new bullet at the coordinates the ship occupies, reusing a pooled bullet if possible.<br>
      * Logs "Core.Bullet fired!"<br>
      */
     public void fireBullet() {
         int bulletX = ship.getX();
         int bulletY = ship.getY(); // Core.Bullet starts just above the ship
-        spaceObjects.add(new Bullet(bulletX, bulletY));
+        addObject(bullets.obtain(bulletX, bulletY));
         if (verbose) {
-            logger.log("Core.Bullet fired!"); //(removed in A2 javadocs)
+            logger.log(LogLevel.DEBUG, () -> "Core.Bullet fired!"); //(removed in A2 javadocs)
         }
     }
 
@@ -273,96 +487,82 @@ public class GameModel {
      * Then checks bullet collision:
      * - If a Bullet collides with an Enemy, remove both Bullet and Enemy, and record the hit.
      * - If a Bullet collides with an Asteroid, remove the Bullet only.
-     *
+     * <p>
+     * The outcome of each pair is looked up in the model's {@link CollisionRules} by the type IDs
+     * of the two objects, so other types registered there collide by their own rules. A Bullet
+     * collides with the first object in its cell that it has a response to.
+     * <p>
+     * Colliding objects are found through the spatial index, so each lookup only visits the objects
+     * sharing a cell rather than every object in the game. Collided objects are then dropped by
+     * compacting the store in place.
      */
     public void checkCollisions() {
-        List<SpaceObject> toRemove = new ArrayList<>();
         // Check collisions with the Ship
-        for (SpaceObject obj : spaceObjects) {
-            // Skip checking Ships (No ships should be in this list)
-            if (obj instanceof Ship) {
-                continue;
-            }
-            // Check Ship collision (except Bullets)
-            if (isCollidingWithShip(obj.getX(), obj.getY()) && !(obj instanceof Bullet)) {
-                shipCollision(obj); // Delegate to helper method
-                toRemove.add(obj); // Remove object after collision
-            }
-        }
+        checkShipCollisions();
         //Check collisions with Bullets
-        for (SpaceObject obj : spaceObjects) {
+        for (int row = 0; row < spaceObjects.size(); row++) {
             // Check only Bullets
-            if (!(obj instanceof Bullet)) {
+            if (spaceObjects.type(row) != EntityStore.TYPE_BULLET) {
                 continue;
             }
-            // Check Bullet collision with Enemy or Asteroid
-            for (SpaceObject other : spaceObjects) {
-                if (!(other instanceof Enemy || other instanceof Asteroid)) {
-                    continue;
-                }
-                if ((obj.getX() == other.getX()) && (obj.getY() == other.getY())) {
-                    bulletCollision(obj, other, toRemove); // Delegate to helper method
-                    break;
-                }
+            SpaceObject obj = spaceObjects.get(row);
+            if (rules.typeOf(obj) != CollisionRules.BULLET) {
+                continue; // a Bullet subclass registered as a type of its own
+            }
+            // Check Bullet collision with the first object it can hit sharing the Bullet's cell
+            int cell = spatialIndex.cell(spaceObjects.x(row), spaceObjects.y(row));
+            SpaceObject target = bulletTarget(cell);
+            if (target != null) {
+                collide(obj, CollisionRules.BULLET, target);
             }
         }
+        removeCollided();
+    }
 
-        spaceObjects.removeAll(toRemove); // Remove all collided objects
+    /**
+     * Applies the collision of the Ship with every object sharing its cell that the Ship has
+     * a response to.
+     */
+    private void checkShipCollisions() {
+        int shipCell = spatialIndex.cell(ship.getX(), ship.getY());
+        for (int i = 0; i < spatialIndex.size(shipCell); i++) {
+            collide(ship, CollisionRules.SHIP, spatialIndex.get(shipCell, i));
+        }
     }
 
     /**
-     * Handles collision between the Ship and a given object.
-     * Applies appropriate effects based on the object type and logs the event.
-     *
-     * @param obj     the object colliding with the Ship (PowerUp, Asteroid, or Enemy)
-     */
-    private void shipCollision(SpaceObject obj) {
-        switch (obj) {
-            case PowerUp powerUp -> {
-                powerUp.applyEffect(ship);
-                if (verbose) {
-                    logger.log("Power-up collected: " + obj.render());
-                }
+     * Returns the first object in the cell that a Bullet has a response to, or null if none.
+     */
+    private SpaceObject bulletTarget(int cell) {
+        for (int i = 0; i < spatialIndex.size(cell); i++) {
+            SpaceObject other = spatialIndex.get(cell, i);
+            if (bulletTargets[rules.typeOf(other)]) {
+                return other;
             }
+        }
+        return null;
+    }
 
-            case Asteroid asteroid -> {
-                ship.takeDamage(ASTEROID_DAMAGE);
-                if (verbose) {
-                    logger.log("Hit by " + obj.render() + "! Health reduced by "
-                            + ASTEROID_DAMAGE + ".");
-                }
-            }
-            case Enemy enemy -> {
-                ship.takeDamage(ENEMY_DAMAGE);
-                if (verbose) {
-                    logger.log("Hit by " + obj.render() + "! Health reduced by "
-                            + ENEMY_DAMAGE + ".");
-                }
-            }
-            default -> {
-            }
+    /**
+     * Applies the response to the first object, of the given type, colliding with the second.
+     * Does nothing if the pair has no response.
+     */
+    private void collide(SpaceObject first, int firstType, SpaceObject second) {
+        CollisionResponse response = rules.response(firstType, rules.typeOf(second));
+        if (response != null) {
+            response.collide(first, second, collisionContext);
         }
     }
 
     /**
-     * Handles collision between a Bullet and its target.
-     * If the target is an Enemy, removes both Bullet and Enemy and records a successful hit.
-     * If the target is an Asteroid, removes only the Bullet.
-     *
-     * @param bullet      the Bullet object
-     * @param target      the object that the Bullet collided with (Enemy or Asteroid)
-     * @param toRemove    the list of objects to remove after processing collisions
-     */
-    private void bulletCollision(SpaceObject bullet, SpaceObject target,
-                                 List<SpaceObject> toRemove) {
-        if (target instanceof Enemy) {
-            toRemove.add(bullet);
-            toRemove.add(target);
-            statsTracker.recordShotHit(); // only for Enemy
-        } else if (target instanceof Asteroid) {
-            toRemove.add(bullet); // only remove bullet
-            // no logging, no statsTracker call
+     * Removes every object marked in {@code toRemove}, compacting the store in place.
+     */
+    private void removeCollided() {
+        if (toRemove.isEmpty()) {
+            return;
         }
+        spaceObjects.removeAll(toRemove, indexUpdater); // Remove all collided objects
+        toRemove.clear();
     }
 
     /**
@@ -377,6 +577,83 @@ public class GameModel {
         this.random.setSeed(seed);
     }
 
+    /**
+     * Sets the seed of the Random instance to a seed returned by {@link #getRandomSeed()}, so that
+     * a recorded game spawns the same objects when it is replayed.
+     *
+     * @param seed to be set for the Random instance
+     */
+    public void setRandomSeed(long seed) {
+        this.random.setSeed(seed);
+    }
+
+    /**
+     * Returns the seed the Random instance was last given. Every game starts with a seed of its own,
+     * so a game can be replayed by recording its seed before the first tick.
+     *
+     * @return the current random seed
+     */
+    public long getRandomSeed() {
+        return random.getSeed();
+    }
+
+    /**
+     * Returns the current spawn rate.
+     */
+    int getSpawnRate() {
+        return spawnRate;
+    }
+
+    /**
+     * Returns the state of the Random instance, from which the rest of its sequence follows.
+     */
+    long getRandomState() {
+        return random.getState();
+    }
+
+    /**
+     * Restores the level, spawn rate and Random instance of a saved game.
+     *
+     * @param lvl the saved level
+     * @param spawnRate the saved spawn rate
+     * @param seed the saved random seed
+     * @param randomState the saved state of the Random instance
+     */
+    void restore(int lvl, int spawnRate, long seed, long randomState) {
+        this.lvl = lvl;
+        this.spawnRate = spawnRate;
+        random.setSeed(seed);
+        random.setState(randomState);
+    }
+
+    /**
+     * Returns a checksum of the game state: the level, spawn rate, Ship, player stats, and the
+     * type and position of every SpaceObject in order.<br>
+     * <p>
+     * Two games in the same state have the same checksum, so comparing checksums tick by tick
+     * shows where a replayed game first differs from the recorded one. Survival time is not
+     * included, since it depends on the wall clock rather than the game.
+     *
+     * @return the state checksum
+     */
+    public int checksum() {
+        int hash = 17;
+        hash = 31 * hash + lvl;
+        hash = 31 * hash + spawnRate;
+        hash = 31 * hash + ship.getX();
+        hash = 31 * hash + ship.getY();
+        hash = 31 * hash + ship.getHealth();
+        hash = 31 * hash + ship.getScore();
+        hash = 31 * hash + statsTracker.getShotsFired();
+        hash = 31 * hash + statsTracker.getShotsHit();
+        for (int row = 0; row < spaceObjects.size(); row++) {
+            hash = 31 * hash + rules.typeOf(spaceObjects.get(row));
+            hash = 31 * hash + spaceObjects.x(row);
+            hash = 31 * hash + spaceObjects.y(row);
+        }
+        return hash;
+    }
+
     /**
      * Checks if the game is over.
      * <p>
@@ -391,7 +668,20 @@ public class GameModel {
     }
 
     /**
-     * Checks if the given SpaceObject is inside the game bounds.
+     * Checks if the given position is on this model's board.
+     *
+     * @param x the x-coordinate to check
+     * @param y the y-coordinate to check
+     * @return true if 0 &lt;= x &lt; width and 0 &lt;= y &lt; height; false otherwise
+     */
+    public boolean isInBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Checks if the given SpaceObject is inside the default game bounds.
+     * <p>
+     * Models with a custom board size should use {@link #isInBounds(int, int)} instead.
      * <p>
      * The SpaceObject is considered outside the game boundaries if:
      * - x-coordinate >= GAME_WIDTH,
@@ -0,0 +1,337 @@
+package game;
+
+import game.achievements.PlayerStatsTracker;
+import game.collision.CollisionRules;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.DescendingEnemy;
+import game.core.Enemy;
+import game.core.HealthPowerUp;
+import game.core.PowerUp;
+import game.core.ShieldPowerUp;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.utility.Logger;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Saves a whole game session to a compact binary snapshot, and restores it, possibly in another
+ * process.
+ * <p>
+ * A snapshot starts with the magic number {@code NSGS} and a format version, followed by the board
+ * size, level, spawn rate, random seed and state, the Ship's position, health and score, the shots
+ * fired and hit, the milliseconds survived, and the number of SpaceObjects. Each SpaceObject is
+ * then written, in order, as a one-byte type and its position as signed variable-length ints,
+ * followed for objects other than bullets by their move interval. A CRC-32 of everything before it ends
+ * the snapshot.
+ * <p>
+ * Snapshots are written and read through a fixed-size buffer, so saving or restoring a session
+ * takes memory for its objects only. Channels must be in blocking mode.
+ * <p>
+ * A restored game continues exactly as the saved one would have: it spawns the same objects and
+ * its objects move on the same ticks. Only the built-in SpaceObject types can be saved, and the
+ * restored game uses the standard collision rules.
+ */
+public final class GameSnapshot {
+    /**
+     * The first four bytes of every snapshot, "NSGS".
+     */
+    public static final int MAGIC = 0x4E534753;
+    /**
+     * The snapshot format version written by this class.
+     */
+    public static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_OBJECT_SIZE = 1 + 3 * 5; // A type and three variable-length ints
+
+    private static final int BULLET = 1;
+    private static final int ASTEROID = 2;
+    private static final int ENEMY = 3;
+    private static final int HEALTH_POWER_UP = 4;
+    private static final int SHIELD_POWER_UP = 5;
+
+    private GameSnapshot() {
+    }
+
+    /**
+     * Writes a snapshot of the given game.
+     *
+     * @param model the game to save, which must not change while it is written
+     * @param out the channel to write to, which is not closed
+     * @throws IOException if the snapshot could not be written
+     * @throws IllegalArgumentException if the game holds a SpaceObject of a type that cannot be
+     *                                  saved, in which case nothing is written
+     */
+    public static void write(GameModel model, WritableByteChannel out) throws IOException {
+        List<SpaceObject> objects = model.getSpaceObjects();
+        for (SpaceObject object : objects) {
+            typeOf(object);
+        }
+
+        Output output = new Output(out);
+        ByteBuffer buffer = output.buffer;
+        Ship ship = model.getShip();
+        PlayerStatsTracker stats = model.getStatsTracker();
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.putInt(model.getWidth());
+        buffer.putInt(model.getHeight());
+        buffer.putInt(model.getLevel());
+        buffer.putInt(model.getSpawnRate());
+        buffer.putLong(model.getRandomSeed());
+        buffer.putLong(model.getRandomState());
+        buffer.putInt(ship.getX());
+        buffer.putInt(ship.getY());
+        buffer.putInt(ship.getHealth());
+        buffer.putInt(ship.getScore());
+        buffer.putInt(stats.getShotsFired());
+        buffer.putInt(stats.getShotsHit());
+        buffer.putLong(System.currentTimeMillis() - stats.getStartTime());
+        buffer.putInt(objects.size());
+
+        for (SpaceObject object : objects) {
+            output.ensure(MAX_OBJECT_SIZE);
+            buffer.put((byte) typeOf(object));
+            putVarInt(buffer, zigZagEncode(object.getX()));
+            putVarInt(buffer, zigZagEncode(object.getY()));
+            if (object instanceof DescendingEnemy descending) {
+                putVarInt(buffer, descending.getMoveInterval());
+            } else if (object instanceof PowerUp powerUp) {
+                putVarInt(buffer, powerUp.getMoveInterval());
+            }
+        }
+        output.finish();
+    }
+
+    /**
+     * Reads a snapshot and restores the game it holds, logging to the given logger.<br>
+     * <p>
+     * The restored game's survival time continues from the saved one.<br>
+     *
+     * @param in the channel to read from, which is not closed
+     * @param logger the logger for the restored game
+     * @return the restored game
+     * @throws IOException if the channel does not hold a valid snapshot or could not be read
+     */
+    public static GameModel read(ReadableByteChannel in, Logger logger) throws IOException {
+        try {
+            return read(new Input(in), logger);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated session snapshot");
+        }
+    }
+
+    private static GameModel read(Input input, Logger logger) throws IOException {
+        ByteBuffer buffer = input.buffer;
+        input.ensure(Integer.BYTES + Short.BYTES);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a session snapshot");
+        }
+        int version = Short.toUnsignedInt(buffer.getShort());
+        if (version != VERSION) {
+            throw new IOException("Unsupported session snapshot version: " + version);
+        }
+        input.ensure(11 * Integer.BYTES + 3 * Long.BYTES);
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        int lvl = buffer.getInt();
+        int spawnRate = buffer.getInt();
+        long seed = buffer.getLong();
+        long randomState = buffer.getLong();
+        int shipX = buffer.getInt();
+        int shipY = buffer.getInt();
+        int health = buffer.getInt();
+        int score = buffer.getInt();
+        int shotsFired = buffer.getInt();
+        int shotsHit = buffer.getInt();
+        long survived = buffer.getLong();
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new IOException("Corrupt session snapshot: " + count + " objects");
+        }
+
+        Ship ship = new Ship(shipX, shipY, health);
+        ship.addScore(score);
+        PlayerStatsTracker stats = new PlayerStatsTracker(System.currentTimeMillis() - survived,
+                shotsFired, shotsHit);
+        GameModel model;
+        try {
+            model = new GameModel(logger, stats, width, height, CollisionRules.standard(), ship);
+            model.restore(lvl, spawnRate, seed, randomState);
+            for (int i = 0; i < count; i++) {
+                input.ensure(MAX_OBJECT_SIZE);
+                int type = Byte.toUnsignedInt(buffer.get());
+                int x = zigZagDecode(getVarInt(buffer));
+                int y = zigZagDecode(getVarInt(buffer));
+                model.addObject(switch (type) {
+                    case BULLET -> new Bullet(x, y);
+                    case ASTEROID -> new Asteroid(x, y, getVarInt(buffer));
+                    case ENEMY -> new Enemy(x, y, getVarInt(buffer));
+                    case HEALTH_POWER_UP -> new HealthPowerUp(x, y, getVarInt(buffer));
+                    case SHIELD_POWER_UP -> new ShieldPowerUp(x, y, getVarInt(buffer));
+                    default -> throw new IOException("Corrupt session snapshot: unknown object type "
+                            + type);
+                });
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt session snapshot: " + e.getMessage(), e);
+        }
+        input.checkCrc();
+        return model;
+    }
+
+    /**
+     * Returns the snapshot type of a SpaceObject. Subclasses are not saved as their superclass,
+     * since they may behave differently.
+     */
+    private static int typeOf(SpaceObject object) {
+        Class<?> type = object.getClass();
+        if (type == Bullet.class) {
+            return BULLET;
+        } else if (type == Asteroid.class) {
+            return ASTEROID;
+        } else if (type == Enemy.class) {
+            return ENEMY;
+        } else if (type == HealthPowerUp.class) {
+            return HEALTH_POWER_UP;
+        } else if (type == ShieldPowerUp.class) {
+            return SHIELD_POWER_UP;
+        }
+        throw new IllegalArgumentException("Cannot save objects of type " + type.getName());
+    }
+
+    private static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt session snapshot: variable-length int too long");
+    }
+
+    private static int zigZagEncode(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int zigZagDecode(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Fills a buffer and writes it to a channel whenever it runs short of space, keeping a CRC-32
+     * of everything written.
+     */
+    private static final class Output {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final CRC32 crc = new CRC32();
+
+        private Output(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Makes room for at least the given number of bytes.
+         */
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Writes everything buffered, followed by the CRC-32.
+         */
+        private void finish() throws IOException {
+            flush();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads from a channel into a buffer whenever it runs short of bytes, keeping a CRC-32 of
+     * everything consumed.
+     */
+    private static final class Input {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).limit(0);
+        private final CRC32 crc = new CRC32();
+        private int checked = 0; // Bytes of the buffer before this have been added to the CRC
+
+        private Input(ReadableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads until at least the given number of bytes are buffered, or the channel ends.
+         * Fewer bytes are only left buffered at the end of the channel, where the last object
+         * may take less than the most an object can take.
+         */
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            updateCrc();
+            buffer.compact();
+            checked = 0;
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+        }
+
+        private void updateCrc() {
+            crc.update(buffer.duplicate().position(checked).limit(buffer.position()));
+            checked = buffer.position();
+        }
+
+        /**
+         * Checks the CRC-32 that follows the bytes consumed.
+         */
+        private void checkCrc() throws IOException {
+            updateCrc();
+            ensure(Integer.BYTES);
+            if (buffer.remaining() < Integer.BYTES) {
+                throw new EOFException("Truncated session snapshot");
+            }
+            if (buffer.getInt() != (int) crc.getValue()) {
+                throw new IOException("Corrupt session snapshot: checksum mismatch");
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package game;
+
+import game.achievements.AchievementManager;
+import game.achievements.InMemoryAchievementFile;
+import game.achievements.PlayerStatsTracker;
+import game.ui.headless.HeadlessUI;
+import game.ui.headless.InputScript;
+
+/**
+ * Entry point for running the Space Shooter game without a display, as fast as possible.
+ * <p>
+ * Usage: {@code HeadlessMain [ticks] [seed] [script] [width] [height]}<br>
+ * - ticks: the number of ticks to simulate (default 1,000,000)<br>
+ * - seed: the random seed for spawning (default 0)<br>
+ * - script: keys pressed one per tick, cycled, where '.' presses nothing (default "DDFAAF")<br>
+ * - width, height: the board size (default GAME_WIDTH by GAME_HEIGHT)<br>
+ * <p>
+ * Whenever a game ends, a new one is started until the requested number of ticks has run.
+ * Prints the number of ticks run and the throughput in ticks per second once finished,
+ * followed by the tick metrics of the last game.
+ */
+public class HeadlessMain {
+    private static final int DEFAULT_TICKS = 1_000_000;
+    private static final int DEFAULT_SEED = 0;
+    private static final String DEFAULT_SCRIPT = "DDFAAF";
+
+    /**
+     * The headless entry point.
+     * @param args command-line arguments: [ticks] [seed] [script] [width] [height]
+     */
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+        int seed = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SEED;
+        String script = args.length > 2 ? args[2] : DEFAULT_SCRIPT;
+        int width = args.length > 3 ? Integer.parseInt(args[3]) : GameModel.GAME_WIDTH;
+        int height = args.length > 4 ? Integer.parseInt(args[4]) : GameModel.GAME_HEIGHT;
+
+        int ran = 0;
+        int games = 0;
+        GameController gameController = null;
+        long start = System.nanoTime();
+        // Games end when the ship is destroyed, so start new games until enough ticks have run
+        while (ran < ticks) {
+            HeadlessUI ui = new HeadlessUI(InputScript.cycle(script));
+            gameController = newGame(ui, seed + games, width, height);
+            gameController.startGame();
+            ran += ui.run(ticks - ran);
+            games++;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.printf("Simulated %,d ticks over %,d games in %.3f s (%,.0f ticks/s)%n",
+                ran, games, seconds, ran / seconds);
+        if (gameController != null) {
+            System.out.print(gameController.getTickMetrics().summary());
+        }
+    }
+
+    /**
+     * Creates a new game on the given headless UI, with achievements kept in memory.
+     *
+     * @param ui the headless UI to run the game on
+     * @param seed the random seed for spawning
+     * @param width the number of columns on the board
+     * @param height the number of rows on the board
+     * @return the controller for the new game
+     */
+    static GameController newGame(HeadlessUI ui, int seed, int width, int height) {
+        GameModel model = new GameModel(ui::log, new PlayerStatsTracker(), width, height);
+        model.setRandomSeed(seed);
+        AchievementManager achievementManager =
+                new AchievementManager(new InMemoryAchievementFile());
+        Main.addStandardAchievements(achievementManager);
+        return new GameController(ui, model, achievementManager);
+    }
+}
@@ -1,7 +1,15 @@
 package game;
 
 import game.achievements.*;
+import game.replay.JournalRecorder;
 import game.ui.gui.GUI;
+import game.utility.AsyncLogger;
+import game.utility.LogLevel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * Entry point for the Space Shooter game.
@@ -10,11 +18,34 @@ import game.ui.gui.GUI;
 public class Main {
     /**
      * The game entry point.
-     * @param args command-line arguments (unused)
+     * <p>
+     * If a journal file is given, the game is recorded to it, to be replayed with
+     * {@link game.replay.ReplayEngine}.
+     * @param args command-line arguments: [journal file]
+     * @throws IOException if the journal file could not be created
      */
-    public static void main(String[] args) {
-        GameController gameController = new GameController(new GUI(), getAchievementManager());
-        gameController.startGame();
+    public static void main(String[] args) throws IOException {
+        GUI gui = new GUI();
+        // Game messages are written to the GUI in batches from a background thread
+        AsyncLogger logger = new AsyncLogger(LogLevel.DEBUG, gui::logAll);
+        Runtime.getRuntime().addShutdownHook(new Thread(logger::close));
+
+        GameModel model = new GameModel(logger, new PlayerStatsTracker());
+        GameController gameController = new GameController(gui, model, getAchievementManager());
+        gameController.setLogger(logger);
+        if (args.length > 0) {
+            JournalRecorder recorder = new JournalRecorder(Files.newOutputStream(Paths.get(args[0])), model);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    recorder.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            gameController.startGame(recorder, recorder);
+        } else {
+            gameController.startGame();
+        }
         gameController.setVerbose(false);
     }
 
@@ -40,7 +71,7 @@ public class Main {
      *                           default achievement
      * @requires achievementManager is not null
      */
-    private static void addStandardAchievements(AchievementManager achievementManager) {
+    public static void addStandardAchievements(AchievementManager achievementManager) {
         achievementManager.addAchievement(new GameAchievement(
                 "Enemy Exterminator",
                 "Destroy enough enemy ships to unlock."
@@ -0,0 +1,253 @@
+package game;
+
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+
+/**
+ * A uniform-grid spatial index mapping board cells to the SpaceObjects occupying them.
+ * <p>
+ * Only occupied cells are stored, so memory grows with the number of objects rather than
+ * the size of the board. Cells live in an open-addressing hash table with linear probing,
+ * and each cell holds a small bucket of the objects at that position in insertion order.
+ * <p>
+ * The index does not observe objects itself; the owner must report every add, move and
+ * removal using the position the object was indexed at.
+ */
+class SpatialIndex {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int INITIAL_BUCKET_SIZE = 2;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Bucket[] buckets = new Bucket[INITIAL_CAPACITY];
+    private int mask = INITIAL_CAPACITY - 1;
+    private int occupiedCells = 0;
+    private Bucket freeBuckets; // emptied buckets kept for reuse, linked through Bucket.next
+
+    /**
+     * The objects sharing a single cell, in the order they entered it.
+     */
+    private static final class Bucket {
+        private SpaceObject[] objects = new SpaceObject[INITIAL_BUCKET_SIZE];
+        private int size;
+        private Bucket next;
+    }
+
+    /**
+     * Adds the object to the index at its current position.
+     *
+     * @param object the object to index
+     */
+    void add(SpaceObject object) {
+        add(object, object.getX(), object.getY());
+    }
+
+    /**
+     * Adds the object to the index at the given position.
+     *
+     * @param object the object to index
+     * @param x the x-coordinate to index the object at
+     * @param y the y-coordinate to index the object at
+     */
+    void add(SpaceObject object, int x, int y) {
+        long key = key(x, y);
+        int slot = slotFor(key);
+        Bucket bucket = buckets[slot];
+        if (bucket == null) {
+            bucket = newBucket();
+            keys[slot] = key;
+            buckets[slot] = bucket;
+            occupiedCells++;
+            if (occupiedCells * 2 > buckets.length) {
+                resize(buckets.length * 2);
+            }
+        }
+        if (bucket.size == bucket.objects.length) {
+            SpaceObject[] grown = new SpaceObject[bucket.size * 2];
+            System.arraycopy(bucket.objects, 0, grown, 0, bucket.size);
+            bucket.objects = grown;
+        }
+        bucket.objects[bucket.size++] = object;
+    }
+
+    /**
+     * Removes the object from the cell it was indexed at.
+     *
+     * @param object the object to remove
+     * @param x the x-coordinate the object was indexed at
+     * @param y the y-coordinate the object was indexed at
+     * @return true if the object was found and removed, false otherwise
+     */
+    boolean remove(SpaceObject object, int x, int y) {
+        int slot = cell(x, y);
+        if (slot < 0) {
+            return false;
+        }
+        Bucket bucket = buckets[slot];
+        for (int i = 0; i < bucket.size; i++) {
+            if (bucket.objects[i] == object) {
+                System.arraycopy(bucket.objects, i + 1, bucket.objects, i, bucket.size - i - 1);
+                bucket.objects[--bucket.size] = null;
+                if (bucket.size == 0) {
+                    deleteSlot(slot);
+                    bucket.next = freeBuckets;
+                    freeBuckets = bucket;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the object from the cell it was indexed at to the given position.
+     *
+     * @param object the object that moved
+     * @param oldX the x-coordinate the object was indexed at
+     * @param oldY the y-coordinate the object was indexed at
+     * @param newX the new x-coordinate of the object
+     * @param newY the new y-coordinate of the object
+     */
+    void move(SpaceObject object, int oldX, int oldY, int newX, int newY) {
+        if (oldX == newX && oldY == newY) {
+            return;
+        }
+        remove(object, oldX, oldY);
+        add(object, newX, newY);
+    }
+
+    /**
+     * Returns true if at least one object is indexed at the given position.
+     *
+     * @param x the x-coordinate to check
+     * @param y the y-coordinate to check
+     * @return true if the cell is occupied, false otherwise
+     */
+    boolean isOccupied(int x, int y) {
+        return cell(x, y) >= 0;
+    }
+
+    /**
+     * Returns a handle to the cell at the given position, or -1 if the cell is empty.
+     * <p>
+     * The handle is only valid until the index is next modified.
+     *
+     * @param x the x-coordinate of the cell
+     * @param y the y-coordinate of the cell
+     * @return the cell handle, or -1 if no object is indexed at the position
+     */
+    int cell(int x, int y) {
+        long key = key(x, y);
+        int slot = slotFor(key);
+        return buckets[slot] == null ? -1 : slot;
+    }
+
+    /**
+     * Returns the number of objects in the given cell.
+     *
+     * @param cell a handle returned by {@link #cell(int, int)}, or -1
+     * @return the number of objects in the cell
+     */
+    int size(int cell) {
+        return cell < 0 ? 0 : buckets[cell].size;
+    }
+
+    /**
+     * Returns the object at the given index within a cell, in the order objects entered the cell.
+     *
+     * @param cell a handle returned by {@link #cell(int, int)}
+     * @param index the index of the object within the cell
+     * @return the object at the index
+     */
+    SpaceObject get(int cell, int index) {
+        return buckets[cell].objects[index];
+    }
+
+    /**
+     * Removes every object from the index.
+     */
+    void clear() {
+        for (int slot = 0; slot < buckets.length; slot++) {
+            Bucket bucket = buckets[slot];
+            if (bucket != null) {
+                Arrays.fill(bucket.objects, 0, bucket.size, null);
+                bucket.size = 0;
+                bucket.next = freeBuckets;
+                freeBuckets = bucket;
+                buckets[slot] = null;
+            }
+        }
+        occupiedCells = 0;
+    }
+
+    private Bucket newBucket() {
+        Bucket bucket = freeBuckets;
+        if (bucket == null) {
+            return new Bucket();
+        }
+        freeBuckets = bucket.next;
+        bucket.next = null;
+        return bucket;
+    }
+
+    /**
+     * Returns the slot holding the key, or the empty slot where it would be inserted.
+     */
+    private int slotFor(long key) {
+        int slot = hash(key) & mask;
+        while (buckets[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties the slot and shifts back any following entries that probed past it,
+     * so lookups never need tombstones.
+     */
+    private void deleteSlot(int slot) {
+        buckets[slot] = null;
+        occupiedCells--;
+        int hole = slot;
+        int next = (slot + 1) & mask;
+        while (buckets[next] != null) {
+            int home = hash(keys[next]) & mask;
+            boolean canFill = hole <= next
+                    ? (home <= hole || home > next)
+                    : (home <= hole && home > next);
+            if (canFill) {
+                keys[hole] = keys[next];
+                buckets[hole] = buckets[next];
+                buckets[next] = null;
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Bucket[] oldBuckets = buckets;
+        keys = new long[capacity];
+        buckets = new Bucket[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldBuckets.length; i++) {
+            if (oldBuckets[i] != null) {
+                int slot = slotFor(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                buckets[slot] = oldBuckets[i];
+            }
+        }
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
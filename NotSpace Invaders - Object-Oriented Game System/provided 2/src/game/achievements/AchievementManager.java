@@ -20,6 +20,11 @@ public class AchievementManager {
 
     private final AchievementFile achievementFile;
     private Set<Achievement> achievements = new HashSet<>();
+    /**
+     * The same achievements in the order they were registered, for iterating by index, which
+     * unlike iterating the set does not allocate.
+     */
+    private final List<Achievement> ordered = new ArrayList<>();
     private Set<String> loggedAchievements = new HashSet<>();
 
     /**
@@ -49,6 +54,7 @@ public class AchievementManager {
             throw new IllegalArgumentException("Achievement is already registered");
         }
         achievements.add(achievement);
+        ordered.add(achievement);
     }
 
     /**
@@ -65,7 +71,8 @@ public class AchievementManager {
         }
 
         Achievement target = null;
-        for (Achievement achievement : achievements) {
+        for (int i = 0; i < ordered.size(); i++) {
+            Achievement achievement = ordered.get(i);
             if (achievement.getName().equals(achievementName)) {
                 target = achievement;
                 break;
@@ -87,7 +94,8 @@ public class AchievementManager {
      * {@code AchievementFile} and marks it as logged to avoid duplicate entries.
      */
     public void logAchievementMastered() {
-        for (Achievement achievement : achievements) {
+        for (int i = 0; i < ordered.size(); i++) {
+            Achievement achievement = ordered.get(i);
             if (achievement.getProgress() >= 0.999
                     && !loggedAchievements.contains(achievement.getName())) {
                 achievementFile.save("Mastered: " + achievement.getName());
@@ -105,4 +113,25 @@ public class AchievementManager {
         return new ArrayList<>(achievements);
     }
 
+    /**
+     * Returns the number of registered achievements.
+     *
+     * @return the number of achievements
+     */
+    public int getAchievementCount() {
+        return ordered.size();
+    }
+
+    /**
+     * Returns the achievement registered at the given position. Together with
+     * {@link #getAchievementCount()} this allows iterating without allocating, for per-tick use.
+     *
+     * @param index the position, from 0 to getAchievementCount() - 1, in registration order
+     * @return the achievement at that position
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    public Achievement getAchievement(int index) {
+        return ordered.get(index);
+    }
+
 }
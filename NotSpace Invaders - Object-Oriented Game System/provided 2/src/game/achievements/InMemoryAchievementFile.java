@@ -0,0 +1,61 @@
+package game.achievements;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An implementation of AchievementFile that keeps saved data in memory instead of on disk.
+ * Useful for headless runs and simulations that should not touch the file system.
+ */
+public class InMemoryAchievementFile implements AchievementFile {
+
+    /**
+     * The data saved so far, one entry per call to save.
+     */
+    private final List<String> lines = new ArrayList<>();
+
+    /**
+     * The nominal file location, kept only so it can be reported back.
+     */
+    private String fileLocation = DEFAULT_FILE_LOCATION;
+
+    /**
+     * Sets the nominal file location. No file is ever written.
+     *
+     * @param fileLocation the new file location
+     */
+    @Override
+    public void setFileLocation(String fileLocation) {
+        this.fileLocation = fileLocation;
+    }
+
+    /**
+     * Gets the nominal file location.
+     *
+     * @return the current file location
+     */
+    @Override
+    public String getFileLocation() {
+        return fileLocation;
+    }
+
+    /**
+     * Stores the given data in memory.
+     *
+     * @param data the data to be saved
+     */
+    @Override
+    public void save(String data) {
+        lines.add(data);
+    }
+
+    /**
+     * Returns all previously saved data as a list of strings.
+     *
+     * @return a list of saved data entries
+     */
+    @Override
+    public List<String> read() {
+        return new ArrayList<>(lines);
+    }
+}
@@ -26,6 +26,20 @@ public class PlayerStatsTracker {
         this.startTime = startTime;
     }
 
+    /**
+     * Constructs a PlayerStatsTracker with a custom start time and existing shot counts, such as
+     * those of a saved game.
+     *
+     * @param startTime the time when the tracking began
+     * @param shotsFired the number of shots already fired
+     * @param shotsHit the number of shots already hit
+     */
+    public PlayerStatsTracker(long startTime, int shotsFired, int shotsHit) {
+        this.startTime = startTime;
+        this.shotsFired = shotsFired;
+        this.shotsHit = shotsHit;
+    }
+
     /**
      * Records the player firing one shot, by incrementing shots fired by 1.
      */
@@ -40,6 +54,17 @@ public class PlayerStatsTracker {
         shotsHit++;
     }
 
+    /**
+     * Sets the shots fired and hit back to earlier counts, such as when a game is rewound.
+     *
+     * @param shotsFired the number of shots fired
+     * @param shotsHit the number of shots hit
+     */
+    public void setShotCounts(int shotsFired, int shotsHit) {
+        this.shotsFired = shotsFired;
+        this.shotsHit = shotsHit;
+    }
+
     /**
      * Returns the total number of shots that the player has fired.
      *
@@ -58,6 +83,15 @@ public class PlayerStatsTracker {
         return shotsHit;
     }
 
+    /**
+     * Returns the time when the tracking began.
+     *
+     * @return the start time in milliseconds
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
     /**
      * Returns the number of seconds elapsed since the tracker started.
      *
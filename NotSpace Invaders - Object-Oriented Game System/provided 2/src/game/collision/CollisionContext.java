@@ -0,0 +1,41 @@
+package game.collision;
+
+import game.achievements.PlayerStatsTracker;
+import game.core.Ship;
+import game.core.SpaceObject;
+
+import java.util.function.Supplier;
+
+/**
+ * The parts of a game that a {@link CollisionResponse} may act on.
+ */
+public interface CollisionContext {
+    /**
+     * Returns the player's ship.
+     *
+     * @return the ship
+     */
+    Ship getShip();
+
+    /**
+     * Returns the tracker for player statistics.
+     *
+     * @return the stats tracker
+     */
+    PlayerStatsTracker getStatsTracker();
+
+    /**
+     * Marks the object to be removed once every collision has been handled.
+     *
+     * @param object the object to remove
+     */
+    void remove(SpaceObject object);
+
+    /**
+     * Logs the supplied message if the game is verbose.<br>
+     * The supplier is only called if the message is logged.
+     *
+     * @param message supplies the logging text
+     */
+    void log(Supplier<String> message);
+}
@@ -0,0 +1,19 @@
+package game.collision;
+
+import game.core.SpaceObject;
+
+/**
+ * The outcome of two objects of particular types sharing a cell.
+ */
+@FunctionalInterface
+public interface CollisionResponse {
+    /**
+     * Applies the outcome of the collision, such as damage, effects, and marking objects
+     * for removal through the context.
+     *
+     * @param first the object checking for collisions, such as the Ship or a Bullet
+     * @param second the object it collided with
+     * @param context the game the collision happened in
+     */
+    void collide(SpaceObject first, SpaceObject second, CollisionContext context);
+}
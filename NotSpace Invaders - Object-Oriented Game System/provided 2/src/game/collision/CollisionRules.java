@@ -0,0 +1,257 @@
+package game.collision;
+
+import game.GameModel;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.PowerUp;
+import game.core.Ship;
+import game.core.SpaceObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Numeric type IDs for SpaceObject classes, and the response to each pair of types colliding.
+ * <p>
+ * Every registered class gets the next type ID, and an object takes the ID of its nearest
+ * registered class or interface, so subclasses of a registered type behave as that type.
+ * Objects of no registered type have the ID {@link #OTHER}. The ID of each class is worked out
+ * once and cached, so finding an object's type costs one lookup rather than a chain of
+ * instanceof checks.
+ * <p>
+ * Responses are kept in a matrix indexed by (first type, second type), where the first object is
+ * the one checking for collisions: the Ship, or a Bullet. A null response means the pair does not
+ * collide. A newly registered type starts with the responses of {@link #OTHER}.
+ * <p>
+ * Rules may be changed until they are frozen, which a GameModel does when it is given them. Type IDs
+ * are only cached once the rules are frozen, so lookups made before then never go stale.
+ */
+public final class CollisionRules {
+    /**
+     * Type ID of objects of no registered type.
+     */
+    public static final int OTHER = 0;
+    /**
+     * Type ID of the Ship.
+     */
+    public static final int SHIP = 1;
+    /**
+     * Type ID of Bullets.
+     */
+    public static final int BULLET = 2;
+    /**
+     * Type ID of Asteroids.
+     */
+    public static final int ASTEROID = 3;
+    /**
+     * Type ID of Enemies.
+     */
+    public static final int ENEMY = 4;
+    /**
+     * Type ID of PowerUps.
+     */
+    public static final int POWER_UP = 5;
+
+    private final Map<Class<?>, Integer> ids = new HashMap<>();
+    private final List<Class<?>> types = new ArrayList<>();
+    private CollisionResponse[][] responses = new CollisionResponse[0][0];
+    private volatile boolean frozen = false;
+    private final ClassValue<Integer> resolved = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    /**
+     * Holds the shared standard rules, loaded the first time they are needed.
+     */
+    private static final class Standard {
+        private static final CollisionRules RULES = load();
+    }
+
+    /**
+     * Creates rules for the built-in types, with their standard responses:<br>
+     * - The Ship collecting a PowerUp applies its effect, and logs "Power-up collected: {render}".<br>
+     * - The Ship hit by an Asteroid or Enemy takes ASTEROID_DAMAGE or ENEMY_DAMAGE, and logs
+     * "Hit by {render}! Health reduced by {damage}."<br>
+     * - Any other object except a Bullet that reaches the Ship is removed, as are collected PowerUps
+     * and the Asteroids and Enemies that hit it.<br>
+     * - A Bullet hitting an Enemy removes both and records a shot hit.<br>
+     * - A Bullet hitting an Asteroid removes only the Bullet.<br>
+     */
+    public CollisionRules() {
+        register(Object.class); // OTHER
+        register(Ship.class);
+        register(Bullet.class);
+        register(Asteroid.class);
+        register(Enemy.class);
+        register(PowerUp.class);
+
+        on(SHIP, OTHER, (ship, other, context) -> context.remove(other));
+        on(SHIP, POWER_UP, (ship, powerUp, context) -> {
+            ((PowerUp) powerUp).applyEffect(context.getShip());
+            context.log(() -> "Power-up collected: " + powerUp.render());
+            context.remove(powerUp);
+        });
+        on(SHIP, ASTEROID, (ship, asteroid, context) -> {
+            context.getShip().takeDamage(GameModel.ASTEROID_DAMAGE);
+            context.log(() -> "Hit by " + asteroid.render()
+                    + "! Health reduced by " + GameModel.ASTEROID_DAMAGE + ".");
+            context.remove(asteroid);
+        });
+        on(SHIP, ENEMY, (ship, enemy, context) -> {
+            context.getShip().takeDamage(GameModel.ENEMY_DAMAGE);
+            context.log(() -> "Hit by " + enemy.render()
+                    + "! Health reduced by " + GameModel.ENEMY_DAMAGE + ".");
+            context.remove(enemy);
+        });
+        on(BULLET, ENEMY, (bullet, enemy, context) -> {
+            context.remove(bullet);
+            context.remove(enemy);
+            context.getStatsTracker().recordShotHit();
+        });
+        on(BULLET, ASTEROID, (bullet, asteroid, context) -> context.remove(bullet));
+    }
+
+    /**
+     * Returns the standard rules, with the types and responses of every
+     * {@link CollisionRulesProvider} found by {@link ServiceLoader} added.<br>
+     * The rules are loaded once and shared, and are frozen.
+     *
+     * @return the shared standard rules
+     */
+    public static CollisionRules standard() {
+        return Standard.RULES;
+    }
+
+    private static CollisionRules load() {
+        CollisionRules rules = new CollisionRules();
+        for (CollisionRulesProvider provider : ServiceLoader.load(CollisionRulesProvider.class)) {
+            provider.register(rules);
+        }
+        rules.freeze();
+        return rules;
+    }
+
+    /**
+     * Registers a class as a type of its own, giving it the next type ID.<br>
+     * Its objects, and those of its subclasses, start colliding as objects of type OTHER do.
+     *
+     * @param type the class to register
+     * @return the class's type ID
+     * @throws IllegalArgumentException if the class is already registered
+     * @throws IllegalStateException if the rules are frozen
+     */
+    public int register(Class<?> type) {
+        checkNotFrozen();
+        if (ids.containsKey(type)) {
+            throw new IllegalArgumentException(type.getName() + " is already registered");
+        }
+        int id = types.size();
+        ids.put(type, id);
+        types.add(type);
+
+        CollisionResponse[][] grown = new CollisionResponse[id + 1][];
+        for (int first = 0; first < id; first++) {
+            grown[first] = Arrays.copyOf(responses[first], id + 1);
+            grown[first][id] = id == OTHER ? null : responses[first][OTHER];
+        }
+        if (id == OTHER) {
+            grown[id] = new CollisionResponse[1];
+        } else {
+            grown[id] = Arrays.copyOf(responses[OTHER], id + 1);
+            grown[id][id] = responses[OTHER][OTHER];
+        }
+        responses = grown;
+        return id;
+    }
+
+    /**
+     * Sets the response to an object of the first type finding an object of the second type
+     * in its cell.
+     *
+     * @param first the type ID of the object checking for collisions
+     * @param second the type ID of the object found
+     * @param response the response, or null if the pair does not collide
+     * @throws IllegalArgumentException if either type ID is not registered
+     * @throws IllegalStateException if the rules are frozen
+     */
+    public void on(int first, int second, CollisionResponse response) {
+        checkNotFrozen();
+        if (first < 0 || first >= types.size() || second < 0 || second >= types.size()) {
+            throw new IllegalArgumentException("Unknown type ID: (" + first + ", " + second + ")");
+        }
+        responses[first][second] = response;
+    }
+
+    /**
+     * Prevents any further changes to the rules.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Returns the number of registered types, one more than the largest type ID.
+     *
+     * @return the number of types
+     */
+    public int typeCount() {
+        return types.size();
+    }
+
+    /**
+     * Returns the type ID of the given object.
+     *
+     * @param object the object
+     * @return the ID of the object's nearest registered type
+     */
+    public int typeOf(SpaceObject object) {
+        return frozen ? resolved.get(object.getClass()) : resolve(object.getClass());
+    }
+
+    /**
+     * Returns the response to an object of the first type finding an object of the second type.
+     *
+     * @param first the type ID of the object checking for collisions
+     * @param second the type ID of the object found
+     * @return the response, or null if the pair does not collide
+     */
+    public CollisionResponse response(int first, int second) {
+        return responses[first][second];
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Collision rules cannot be changed once in use");
+        }
+    }
+
+    /**
+     * Returns the ID of the nearest registered class or interface: the class itself, then each
+     * superclass in turn, then the interfaces they implement.
+     */
+    private int resolve(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Integer id = ids.get(current);
+            if (id != null && id != OTHER) {
+                return id;
+            }
+        }
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Class<?> implemented : current.getInterfaces()) {
+                int id = resolve(implemented);
+                if (id != OTHER) {
+                    return id;
+                }
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,17 @@
+package game.collision;
+
+/**
+ * A service that adds SpaceObject types and their collision responses to the standard rules.
+ * <p>
+ * Providers are found with {@link java.util.ServiceLoader}: list the implementing class in
+ * META-INF/services/game.collision.CollisionRulesProvider, or in a provides clause of a module.
+ * Each provider needs a public no-argument constructor.
+ */
+public interface CollisionRulesProvider {
+    /**
+     * Registers types and responses with the given rules.
+     *
+     * @param rules the rules to add to
+     */
+    void register(CollisionRules rules);
+}
@@ -1,6 +1,7 @@
 package game.core;
 
 import game.ui.ObjectGraphic;
+import game.ui.SpriteRegistry;
 
 /**
  * Represents an asteroid in the game.
@@ -17,15 +18,27 @@ public class Asteroid extends DescendingEnemy {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Creates a new Asteroid instance with coordinates x and y, which moves down once every
+     * moveInterval ticks.
+     * @param x the x Coordinate
+     * @param y the y Coordinate
+     * @param moveInterval the number of ticks between moves
+     * @throws IllegalArgumentException if moveInterval is less than 1
+     */
+    public Asteroid(int x, int y, int moveInterval) {
+        super(x, y, moveInterval);
+    }
+
+    /**
+     * Returns the shared ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "🌑".<br>
      * The image path is "assets/asteroid.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate shared ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🌑", "assets/asteroid.png");
+        return SpriteRegistry.get("🌑", "assets/asteroid.png");
     }
 }
@@ -1,6 +1,7 @@
 package game.core;
 
 import game.ui.ObjectGraphic;
+import game.ui.SpriteRegistry;
 
 /**
  * Represents a bullet fired by the ship.
@@ -28,15 +29,15 @@ public class Bullet extends ObjectWithPosition {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Returns the shared ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "🔺".<br>
      * The image path is "assets/bullet.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate shared ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🔺", "assets/bullet.png"); // Emoji representation for the bullet
+        return SpriteRegistry.get("🔺", "assets/bullet.png"); // Emoji representation for the bullet
     }
 }
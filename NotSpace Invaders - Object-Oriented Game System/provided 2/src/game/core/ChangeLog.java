@@ -0,0 +1,294 @@
+package game.core;
+
+/**
+ * Records the changes made to an EntityStore and a Ship over the last few ticks, so that they can
+ * be undone and the store rewound to how it was at the start of any of those ticks.
+ * <p>
+ * Each tick starts a frame holding the Ship's position, health and score. Changes to the store
+ * are then added to the current frame as they happen: the objects added, the rows moved with their
+ * old positions, and the rows removed with their objects. Nothing else is copied, so a frame costs
+ * memory for what changed in the tick rather than for every object. Frames are kept in a ring, and
+ * the oldest frame is dropped when a new one would not fit.
+ * <p>
+ * Rewinding undoes the changes from the newest frame back, so it takes time for the changes undone,
+ * plus one pass over the rows after the first one that has to be put back.
+ * <p>
+ * Objects that are not ObjectWithPositions are put back in their rows but keep their own position,
+ * and no object's own state other than its position is rewound.
+ */
+public final class ChangeLog {
+    static final byte ADDED = 0; // An object was added to the end of the store
+    static final byte MOVED = 1; // A row moved from x, y
+    static final byte REMOVED = 2; // A row holding object at x, y was removed
+    static final byte PASS = 3; // The previous row changes were moves and removals by one pass
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final EntityStore store;
+    private final int capacity;
+
+    // The frame ring, holding frames firstFrame up to firstFrame + frameCount - 1
+    private final int[] frameTicks;
+    private final long[] frameStarts; // The first change of each frame
+    private final int[] shipXs;
+    private final int[] shipYs;
+    private final int[] shipHealths;
+    private final int[] shipScores;
+    private long firstFrame = 0;
+    private int frameCount = 0;
+
+    // The change ring, holding changes firstChange up to nextChange - 1
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private int[] rows = new int[INITIAL_CAPACITY];
+    private int[] xs = new int[INITIAL_CAPACITY];
+    private int[] ys = new int[INITIAL_CAPACITY];
+    private SpaceObject[] objects = new SpaceObject[INITIAL_CAPACITY];
+    private long firstChange = 0;
+    private long nextChange = 0;
+
+    /**
+     * Creates a log of the changes to the given store over the given number of ticks.
+     */
+    ChangeLog(EntityStore store, int capacity) {
+        this.store = store;
+        this.capacity = capacity;
+        frameTicks = new int[capacity];
+        frameStarts = new long[capacity];
+        shipXs = new int[capacity];
+        shipYs = new int[capacity];
+        shipHealths = new int[capacity];
+        shipScores = new int[capacity];
+    }
+
+    /**
+     * Returns the number of ticks this log can hold.
+     *
+     * @return the maximum number of frames
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of ticks currently held.
+     *
+     * @return the number of frames
+     */
+    public int size() {
+        return frameCount;
+    }
+
+    /**
+     * Starts the frame for a tick, recording the Ship as it is now, and drops the oldest frame if
+     * the log is full.<br>
+     * <p>
+     * Every change to the store until the next frame starts belongs to this frame.
+     *
+     * @param tick the tick about to run
+     * @param ship the Ship to record
+     * @return the slot of the new frame, between 0 and capacity() - 1, for keeping other state
+     *         alongside it
+     */
+    public int beginFrame(int tick, Ship ship) {
+        if (frameCount == capacity) {
+            long end = frameCount > 1 ? frameStarts[slot(firstFrame + 1)] : nextChange;
+            forgetChanges(firstChange, end);
+            firstChange = end;
+            firstFrame++;
+            frameCount--;
+        }
+        int slot = slot(firstFrame + frameCount);
+        frameTicks[slot] = tick;
+        frameStarts[slot] = nextChange;
+        shipXs[slot] = ship.x;
+        shipYs[slot] = ship.y;
+        shipHealths[slot] = ship.getHealth();
+        shipScores[slot] = ship.getScore();
+        frameCount++;
+        return slot;
+    }
+
+    /**
+     * Returns whether the log holds a frame for the given tick.
+     *
+     * @param tick the tick to look for
+     * @return true if the store can be rewound to the start of the tick
+     */
+    public boolean contains(int tick) {
+        return find(tick) >= 0;
+    }
+
+    /**
+     * Undoes every change since the start of the newest frame for the given tick, and restores the
+     * Ship as it was then. That frame and every newer one are dropped.<br>
+     * <p>
+     * The listener is told about each object that moves back, each object that was added since
+     * and is removed again, and each object that was removed since and is put back.<br>
+     *
+     * @param tick the tick to rewind to the start of
+     * @param ship the Ship recorded by beginFrame
+     * @param listener the listener to notify of changes
+     * @return the slot of the frame rewound to, as returned by beginFrame
+     * @throws IllegalArgumentException if the log holds no frame for the tick
+     */
+    public int rewind(int tick, Ship ship, EntityStore.Listener listener) {
+        long frame = find(tick);
+        if (frame < 0) {
+            throw new IllegalArgumentException("Tick " + tick + " is not in the last " + frameCount
+                    + " ticks recorded");
+        }
+        int slot = slot(frame);
+        long start = frameStarts[slot];
+        long change = nextChange;
+        while (change > start) {
+            change--;
+            int i = index(change);
+            if (kinds[i] == ADDED) {
+                store.undoAdd(listener);
+            } else {
+                long passStart = change - rows[i];
+                store.undoPass(this, passStart, change, listener);
+                change = passStart;
+            }
+        }
+        store.resetSchedule();
+        forgetChanges(start, nextChange);
+        nextChange = start;
+        ship.x = shipXs[slot];
+        ship.y = shipYs[slot];
+        ship.restore(shipHealths[slot], shipScores[slot]);
+        frameCount = (int) (frame - firstFrame);
+        return slot;
+    }
+
+    /**
+     * Drops every frame.
+     */
+    public void clear() {
+        forgetChanges(firstChange, nextChange);
+        firstChange = nextChange;
+        firstFrame += frameCount;
+        frameCount = 0;
+    }
+
+    /**
+     * Records that an object was added to the end of the store.
+     */
+    void added() {
+        record(ADDED, 0, 0, 0, null);
+    }
+
+    /**
+     * Records that the row that was at the given index before the current pass moved from x, y.
+     */
+    void moved(int row, int x, int y) {
+        record(MOVED, row, x, y, null);
+    }
+
+    /**
+     * Records that the row at the given index before the current pass, holding the object at x, y,
+     * was removed.
+     */
+    void removed(int row, SpaceObject object, int x, int y) {
+        record(REMOVED, row, x, y, object);
+    }
+
+    /**
+     * Records that the last count moves and removals were made by one pass over the store.
+     */
+    void endPass(int count) {
+        if (count > 0) {
+            record(PASS, count, 0, 0, null);
+        }
+    }
+
+    byte kind(long change) {
+        return kinds[index(change)];
+    }
+
+    int row(long change) {
+        return rows[index(change)];
+    }
+
+    int x(long change) {
+        return xs[index(change)];
+    }
+
+    int y(long change) {
+        return ys[index(change)];
+    }
+
+    SpaceObject object(long change) {
+        return objects[index(change)];
+    }
+
+    private void record(byte kind, int row, int x, int y, SpaceObject object) {
+        if (frameCount == 0) {
+            return; // Changes before the first frame can never be undone
+        }
+        if (nextChange - firstChange == kinds.length) {
+            grow();
+        }
+        int i = index(nextChange++);
+        kinds[i] = kind;
+        rows[i] = row;
+        xs[i] = x;
+        ys[i] = y;
+        objects[i] = object;
+    }
+
+    /**
+     * Returns the newest frame for the tick, or -1 if there is none.
+     */
+    private long find(int tick) {
+        for (long frame = firstFrame + frameCount - 1; frame >= firstFrame; frame--) {
+            if (frameTicks[slot(frame)] == tick) {
+                return frame;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lets go of the objects held by the given changes.
+     */
+    private void forgetChanges(long from, long to) {
+        for (long change = from; change < to; change++) {
+            objects[index(change)] = null;
+        }
+    }
+
+    private int slot(long frame) {
+        return (int) (frame % capacity);
+    }
+
+    private int index(long change) {
+        return (int) change & (kinds.length - 1);
+    }
+
+    /**
+     * Doubles the change ring, moving each change to the index it has in the larger ring.
+     */
+    private void grow() {
+        int length = kinds.length * 2;
+        byte[] grownKinds = new byte[length];
+        int[] grownRows = new int[length];
+        int[] grownXs = new int[length];
+        int[] grownYs = new int[length];
+        SpaceObject[] grownObjects = new SpaceObject[length];
+        for (long change = firstChange; change < nextChange; change++) {
+            int from = index(change);
+            int to = (int) change & (length - 1);
+            grownKinds[to] = kinds[from];
+            grownRows[to] = rows[from];
+            grownXs[to] = xs[from];
+            grownYs[to] = ys[from];
+            grownObjects[to] = objects[from];
+        }
+        kinds = grownKinds;
+        rows = grownRows;
+        xs = grownXs;
+        ys = grownYs;
+        objects = grownObjects;
+    }
+}
@@ -36,15 +36,29 @@ public abstract class Controllable extends ObjectWithPosition {
      * @hint game dimensions are stored in the model.
      */
     public void move(Direction direction) throws BoundaryExceededException {
+        move(direction, GAME_WIDTH, GAME_HEIGHT);
+    }
+
+    /**
+     * Moves the Controllable by one in the direction given, on a board of the given size.<br>
+     * Behaves as {@link #move(Direction)}, with width and height in place of GAME_WIDTH and GAME_HEIGHT.
+     *
+     * @param direction the given direction.
+     * @param width the number of columns on the board.
+     * @param height the number of rows on the board.
+     *
+     * @throws BoundaryExceededException if attempting to move outside the board.
+     */
+    public void move(Direction direction, int width, int height) throws BoundaryExceededException {
         switch (direction) {
             case RIGHT -> {
-                if (x + 1 >= GAME_WIDTH) {
+                if (x + 1 >= width) {
                     throw new BoundaryExceededException("Cannot move right. Out of bounds!");
                 }
                 x++;
             }
             case DOWN -> {
-                if (y + 1 >= GAME_HEIGHT) {
+                if (y + 1 >= height) {
                     throw new BoundaryExceededException("Cannot move down. Out of bounds!");
                 }
                 y++;
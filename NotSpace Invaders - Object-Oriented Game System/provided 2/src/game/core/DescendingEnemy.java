@@ -5,6 +5,13 @@ package game.core;
  */
 public abstract class DescendingEnemy extends ObjectWithPosition {
 
+    /**
+     * The number of ticks between moves if no other interval is given.
+     */
+    public static final int DEFAULT_MOVE_INTERVAL = 10;
+
+    private final int moveInterval;
+
     /**
      * Creates a movable and interactive object at the given coordinates that moves downwards.
      *
@@ -12,17 +19,44 @@ public abstract class DescendingEnemy extends ObjectWithPosition {
      * @param y the given y coordinate
      */
     public DescendingEnemy(int x, int y) {
+        this(x, y, DEFAULT_MOVE_INTERVAL);
+    }
+
+    /**
+     * Creates a movable and interactive object at the given coordinates that moves downwards
+     * once every moveInterval ticks.
+     *
+     * @param x the given x coordinate
+     * @param y the given y coordinate
+     * @param moveInterval the number of ticks between moves
+     * @throws IllegalArgumentException if moveInterval is less than 1
+     */
+    public DescendingEnemy(int x, int y, int moveInterval) {
         super(x, y);
+        if (moveInterval < 1) {
+            throw new IllegalArgumentException("Move interval must be at least 1, got " + moveInterval);
+        }
+        this.moveInterval = moveInterval;
+    }
+
+    /**
+     * Returns the number of ticks between moves.
+     *
+     * @return the move interval
+     */
+    public int getMoveInterval() {
+        return moveInterval;
     }
 
     /**
-     * Moves the DescendingEnemy downwards by one if the given tick is a multiple of 10.
+     * Moves the DescendingEnemy downwards by one if the given tick is a multiple of its move interval,
+     * which is 10 unless another interval was given.
      *
      * @param tick the given game tick.
      */
     @Override
     public void tick(int tick) {
-        if (tick % 10 == 0) {
+        if (tick % moveInterval == 0) {
             y++; // Move downward
         }
     }
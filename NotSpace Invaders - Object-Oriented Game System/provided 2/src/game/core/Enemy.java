@@ -1,6 +1,7 @@
 package game.core;
 
 import game.ui.ObjectGraphic;
+import game.ui.SpriteRegistry;
 
 /**
  * Represents an enemy UFO in the game.
@@ -18,15 +19,27 @@ public class Enemy extends DescendingEnemy {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Creates an enemy at the given coordinate, which moves down once every moveInterval ticks.
+     *
+     * @param x the given x coordinate
+     * @param y the given y coordinate
+     * @param moveInterval the number of ticks between moves
+     * @throws IllegalArgumentException if moveInterval is less than 1
+     */
+    public Enemy(int x, int y, int moveInterval) {
+        super(x, y, moveInterval);
+    }
+
+    /**
+     * Returns the shared ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "👾".<br>
      * The image path is "assets/enemy.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate shared ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("👾", "assets/enemy.png"); // Emoji representation for the enemy
+        return SpriteRegistry.get("👾", "assets/enemy.png"); // Emoji representation for the enemy
     }
 }
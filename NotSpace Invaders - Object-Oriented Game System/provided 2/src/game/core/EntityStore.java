@@ -0,0 +1,542 @@
+package game.core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Stores SpaceObjects as rows of parallel arrays, so that whole types can be ticked in bulk.
+ * <p>
+ * Each row holds the object, its position, a type tag and a motion tag. Objects whose class is one
+ * of the built-in types move by a known rule, so they are ticked by updating the position arrays
+ * directly, one type at a time, rather than through a virtual tick() call on every object. Any other
+ * object is ticked normally and its new position read back.
+ * <p>
+ * Descending objects only move once every move interval ticks, so they wait in a timing wheel for
+ * the tick they next move on, and are not looked at in between. While ticks arrive one after
+ * another, a tick only visits the descending objects that move on it; after any other jump in ticks
+ * the store checks every descending row once and schedules them afresh.
+ * <p>
+ * Rows keep the order objects were added in. The objects themselves remain the public view of the
+ * store; {@link #asList()} exposes them as a read-only list.
+ * <p>
+ * The store can record its changes in a {@link ChangeLog}, so that the last few ticks can be undone.
+ */
+public final class EntityStore {
+    /**
+     * Type tag for objects that are not one of the types below.
+     */
+    public static final byte TYPE_OTHER = 0;
+    /**
+     * Type tag for Bullets.
+     */
+    public static final byte TYPE_BULLET = 1;
+    /**
+     * Type tag for Asteroids.
+     */
+    public static final byte TYPE_ASTEROID = 2;
+    /**
+     * Type tag for Enemies.
+     */
+    public static final byte TYPE_ENEMY = 3;
+    /**
+     * Type tag for PowerUps.
+     */
+    public static final byte TYPE_POWER_UP = 4;
+
+    private static final byte MOTION_TICK = 0; // moved by calling tick()
+    private static final byte MOTION_UP = 1; // moves up one every tick, as a Bullet does
+    private static final byte MOTION_DESCEND = 2; // moves down one every move interval ticks
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NOT_STARTED = Integer.MIN_VALUE; // lastTick before the first tick
+
+    private SpaceObject[] objects = new SpaceObject[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private byte[] motions = new byte[INITIAL_CAPACITY];
+    private int[] xs = new int[INITIAL_CAPACITY];
+    private int[] ys = new int[INITIAL_CAPACITY];
+    private int[] previousXs = new int[INITIAL_CAPACITY];
+    private int[] previousYs = new int[INITIAL_CAPACITY];
+    private int[] intervals = new int[INITIAL_CAPACITY]; // ticks between moves of descending rows
+    private int size = 0;
+    private final TimingWheel wheel = new TimingWheel(); // descending objects by their next move
+    private int lastTick = NOT_STARTED;
+    private ChangeLog changeLog = null;
+
+    private final List<SpaceObject> view = new View();
+
+    /**
+     * Receives the changes made to rows while the store ticks, removes objects or is rewound.
+     */
+    public interface Listener {
+        /**
+         * Called when an object has moved.
+         *
+         * @param object the object that moved
+         * @param oldX the x-coordinate before moving
+         * @param oldY the y-coordinate before moving
+         */
+        void moved(SpaceObject object, int oldX, int oldY);
+
+        /**
+         * Called when an object has been removed from the store.
+         *
+         * @param object the object that was removed
+         * @param oldX the x-coordinate the object was last stored at
+         * @param oldY the y-coordinate the object was last stored at
+         */
+        void removed(SpaceObject object, int oldX, int oldY);
+
+        /**
+         * Called when an object removed earlier has been put back into the store by a
+         * {@link ChangeLog} rewind.
+         *
+         * @param object the object that was put back, at its position then
+         */
+        void added(SpaceObject object);
+    }
+
+    /**
+     * Starts recording changes in a new ChangeLog holding the given number of ticks, replacing any
+     * earlier log, or stops recording if the number is 0.
+     *
+     * @param ticks the number of ticks the log holds
+     * @return the new log, or null if recording stopped
+     * @throws IllegalArgumentException if ticks is negative
+     */
+    public ChangeLog recordChanges(int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Ticks recorded must not be negative, got " + ticks);
+        }
+        changeLog = ticks == 0 ? null : new ChangeLog(this, ticks);
+        return changeLog;
+    }
+
+    /**
+     * Adds an object to the end of the store.
+     *
+     * @param object the object to add
+     * @requires object != null
+     */
+    public void add(SpaceObject object) {
+        if (size == objects.length) {
+            grow();
+        }
+        objects[size] = object;
+        types[size] = typeOf(object);
+        motions[size] = motionOf(object);
+        xs[size] = object.getX();
+        ys[size] = object.getY();
+        if (motions[size] == MOTION_DESCEND) {
+            ObjectWithPosition descending = (ObjectWithPosition) object;
+            intervals[size] = moveIntervalOf(object);
+            descending.row = size;
+            if (lastTick != NOT_STARTED) {
+                schedule(descending, nextMove(lastTick, intervals[size]));
+            }
+        }
+        size++;
+        if (changeLog != null) {
+            changeLog.added();
+        }
+    }
+
+    /**
+     * Returns the number of objects in the store.
+     *
+     * @return the number of objects
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the object in the given row.
+     *
+     * @param row the row index
+     * @return the object in the row
+     */
+    public SpaceObject get(int row) {
+        return objects[row];
+    }
+
+    /**
+     * Returns the type tag of the given row, one of the TYPE_ constants.
+     *
+     * @param row the row index
+     * @return the type tag of the row
+     */
+    public byte type(int row) {
+        return types[row];
+    }
+
+    /**
+     * Returns the stored x-coordinate of the given row.
+     *
+     * @param row the row index
+     * @return the x-coordinate of the row
+     */
+    public int x(int row) {
+        return xs[row];
+    }
+
+    /**
+     * Returns the stored y-coordinate of the given row.
+     *
+     * @param row the row index
+     * @return the y-coordinate of the row
+     */
+    public int y(int row) {
+        return ys[row];
+    }
+
+    /**
+     * Returns a read-only list view of the stored objects, in row order.
+     *
+     * @return a read-only list of the objects
+     */
+    public List<SpaceObject> asList() {
+        return view;
+    }
+
+    /**
+     * Advances every object by one tick, then removes those outside the given bounds.<br>
+     * <p>
+     * Built-in types are moved in bulk: every Bullet row moves up, and every Asteroid, Enemy and
+     * PowerUp row moves down on ticks that are a multiple of its move interval. Other objects are
+     * ticked individually. The listener is told about each object that moved and each object that
+     * was removed.
+     *
+     * @param tick the game tick
+     * @param width the number of columns on the board
+     * @param height the number of rows on the board
+     * @param listener the listener to notify of changes
+     */
+    public void tick(int tick, int width, int height, Listener listener) {
+        System.arraycopy(xs, 0, previousXs, 0, size);
+        System.arraycopy(ys, 0, previousYs, 0, size);
+
+        for (int row = 0; row < size; row++) {
+            if (motions[row] == MOTION_UP) {
+                ys[row]--;
+            }
+        }
+        if (lastTick != NOT_STARTED && tick == lastTick + 1) {
+            descendScheduled(tick);
+        } else {
+            descendAll(tick);
+        }
+        lastTick = tick;
+        for (int row = 0; row < size; row++) {
+            if (motions[row] == MOTION_TICK) {
+                SpaceObject object = objects[row];
+                object.tick(tick);
+                xs[row] = object.getX();
+                ys[row] = object.getY();
+            }
+        }
+
+        int kept = 0;
+        int changes = 0;
+        for (int row = 0; row < size; row++) {
+            SpaceObject object = objects[row];
+            int x = xs[row];
+            int y = ys[row];
+            int oldX = previousXs[row];
+            int oldY = previousYs[row];
+            if (motions[row] != MOTION_TICK && y != oldY) {
+                ((ObjectWithPosition) object).y = y; // bulk rows are always ObjectWithPositions
+            }
+            if (x < 0 || x >= width || y < 0 || y >= height) {
+                forget(row);
+                listener.removed(object, oldX, oldY);
+                if (changeLog != null) {
+                    changeLog.removed(row, object, oldX, oldY);
+                    changes++;
+                }
+                continue;
+            }
+            if (x != oldX || y != oldY) {
+                listener.moved(object, oldX, oldY);
+                if (changeLog != null) {
+                    changeLog.moved(row, oldX, oldY);
+                    changes++;
+                }
+            }
+            copyRow(row, kept++);
+        }
+        truncate(kept);
+        if (changeLog != null) {
+            changeLog.endPass(changes);
+        }
+    }
+
+    /**
+     * Removes every object in the given set from the store, keeping the order of the rest.
+     *
+     * @param removed the objects to remove, compared by identity
+     * @param listener the listener to notify of each removal
+     */
+    public void removeAll(Set<SpaceObject> removed, Listener listener) {
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            SpaceObject object = objects[row];
+            if (removed.contains(object)) {
+                forget(row);
+                listener.removed(object, xs[row], ys[row]);
+                if (changeLog != null) {
+                    changeLog.removed(row, object, xs[row], ys[row]);
+                }
+            } else {
+                copyRow(row, kept++);
+            }
+        }
+        if (changeLog != null) {
+            changeLog.endPass(size - kept);
+        }
+        truncate(kept);
+    }
+
+    /**
+     * Removes every object from the store.
+     */
+    public void clear() {
+        for (int row = 0; row < size; row++) {
+            forget(row);
+            if (changeLog != null) {
+                changeLog.removed(row, objects[row], xs[row], ys[row]);
+            }
+        }
+        if (changeLog != null) {
+            changeLog.endPass(size);
+        }
+        truncate(0);
+        resetSchedule();
+    }
+
+    /**
+     * Removes the last row, undoing its addition.
+     */
+    void undoAdd(Listener listener) {
+        int row = size - 1;
+        SpaceObject object = objects[row];
+        forget(row);
+        listener.removed(object, xs[row], ys[row]);
+        truncate(row);
+    }
+
+    /**
+     * Undoes the moves and removals recorded in the log from change start up to change end, all
+     * made by one pass over the rows.<br>
+     * <p>
+     * Removed rows are put back at the rows they were removed from, shifting the rows after them
+     * up in one pass from the end; moved rows, whose indices are then the same as in the pass, are
+     * moved back.
+     */
+    void undoPass(ChangeLog log, long start, long end, Listener listener) {
+        int removed = 0;
+        for (long change = start; change < end; change++) {
+            if (log.kind(change) == ChangeLog.REMOVED) {
+                removed++;
+            }
+        }
+        while (size + removed > objects.length) {
+            grow();
+        }
+        int read = size - 1;
+        int write = size + removed - 1;
+        size += removed;
+        for (long change = end - 1; change >= start && write > read; change--) {
+            if (log.kind(change) != ChangeLog.REMOVED) {
+                continue;
+            }
+            int row = log.row(change);
+            while (write > row) {
+                copyRow(read--, write--);
+            }
+            putRow(row, log.object(change), log.x(change), log.y(change));
+            listener.added(objects[row]);
+            write--;
+        }
+
+        for (long change = start; change < end; change++) {
+            if (log.kind(change) != ChangeLog.MOVED) {
+                continue;
+            }
+            int row = log.row(change);
+            if (objects[row] instanceof ObjectWithPosition object) {
+                int x = xs[row];
+                int y = ys[row];
+                xs[row] = object.x = log.x(change);
+                ys[row] = object.y = log.y(change);
+                listener.moved(object, x, y);
+            }
+        }
+    }
+
+    /**
+     * Forgets when descending rows next move, so that the next tick schedules them afresh.
+     */
+    void resetSchedule() {
+        wheel.clear();
+        lastTick = NOT_STARTED;
+    }
+
+    /**
+     * Moves down the descending rows scheduled to move on this tick, and schedules their next move.
+     */
+    private void descendScheduled(int tick) {
+        int due = wheel.collect(tick);
+        for (int i = 0; i < due; i++) {
+            ObjectWithPosition object = wheel.ready(i);
+            int row = object.row;
+            // Skip objects removed since they were scheduled, or scheduled again since
+            if (object.due != tick || row < 0 || row >= size || objects[row] != object) {
+                continue;
+            }
+            ys[row]++;
+            schedule(object, tick + intervals[row]);
+        }
+    }
+
+    /**
+     * Moves down every descending row whose move interval divides the tick, and schedules every
+     * descending row afresh from this tick.
+     */
+    private void descendAll(int tick) {
+        wheel.clear();
+        for (int row = 0; row < size; row++) {
+            if (motions[row] != MOTION_DESCEND) {
+                continue;
+            }
+            if (tick % intervals[row] == 0) {
+                ys[row]++;
+            }
+            schedule((ObjectWithPosition) objects[row], nextMove(tick, intervals[row]));
+        }
+    }
+
+    private void schedule(ObjectWithPosition object, int due) {
+        object.due = due;
+        wheel.schedule(object, due);
+    }
+
+    /**
+     * Returns the first tick after the given tick that is a multiple of the interval.
+     */
+    private static int nextMove(int tick, int interval) {
+        return tick - Math.floorMod(tick, interval) + interval;
+    }
+
+    private void forget(int row) {
+        if (motions[row] == MOTION_DESCEND) {
+            ((ObjectWithPosition) objects[row]).row = -1;
+        }
+    }
+
+    private void copyRow(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        objects[to] = objects[from];
+        types[to] = types[from];
+        motions[to] = motions[from];
+        xs[to] = xs[from];
+        ys[to] = ys[from];
+        intervals[to] = intervals[from];
+        if (motions[to] == MOTION_DESCEND) {
+            ((ObjectWithPosition) objects[to]).row = to;
+        }
+    }
+
+    /**
+     * Fills a row with an object at the given position, moving the object there if it has a
+     * position of its own.
+     */
+    private void putRow(int row, SpaceObject object, int x, int y) {
+        if (object instanceof ObjectWithPosition positioned) {
+            positioned.x = x;
+            positioned.y = y;
+        }
+        objects[row] = object;
+        types[row] = typeOf(object);
+        motions[row] = motionOf(object);
+        xs[row] = object.getX();
+        ys[row] = object.getY();
+        if (motions[row] == MOTION_DESCEND) {
+            intervals[row] = moveIntervalOf(object);
+            ((ObjectWithPosition) object).row = row;
+        }
+    }
+
+    private void truncate(int newSize) {
+        Arrays.fill(objects, newSize, size, null);
+        size = newSize;
+    }
+
+    private void grow() {
+        int capacity = objects.length * 2;
+        objects = Arrays.copyOf(objects, capacity);
+        types = Arrays.copyOf(types, capacity);
+        motions = Arrays.copyOf(motions, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        intervals = Arrays.copyOf(intervals, capacity);
+        previousXs = new int[capacity];
+        previousYs = new int[capacity];
+    }
+
+    private static byte typeOf(SpaceObject object) {
+        if (object instanceof Bullet) {
+            return TYPE_BULLET;
+        } else if (object instanceof Asteroid) {
+            return TYPE_ASTEROID;
+        } else if (object instanceof Enemy) {
+            return TYPE_ENEMY;
+        } else if (object instanceof PowerUp) {
+            return TYPE_POWER_UP;
+        }
+        return TYPE_OTHER;
+    }
+
+    /**
+     * Only the exact built-in classes are moved in bulk, since a subclass may override tick().
+     */
+    private static byte motionOf(SpaceObject object) {
+        Class<?> type = object.getClass();
+        if (type == Bullet.class) {
+            return MOTION_UP;
+        } else if (type == Asteroid.class || type == Enemy.class
+                || type == HealthPowerUp.class || type == ShieldPowerUp.class) {
+            return MOTION_DESCEND;
+        }
+        return MOTION_TICK;
+    }
+
+    private static int moveIntervalOf(SpaceObject object) {
+        if (object instanceof DescendingEnemy descending) {
+            return descending.getMoveInterval();
+        }
+        return ((PowerUp) object).getMoveInterval();
+    }
+
+    /**
+     * A read-only list over the object column.
+     */
+    private final class View extends AbstractList<SpaceObject> implements RandomAccess {
+        @Override
+        public SpaceObject get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return objects[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
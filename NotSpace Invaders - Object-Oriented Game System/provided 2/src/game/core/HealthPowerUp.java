@@ -1,6 +1,7 @@
 package game.core;
 
 import game.ui.ObjectGraphic;
+import game.ui.SpriteRegistry;
 
 /**
  * Represents a health power-up in the game.
@@ -17,16 +18,27 @@ public class HealthPowerUp extends PowerUp {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Creates a health power-up at the given coordinates, which moves down once every moveInterval ticks.
+     * @param x the given x coordinate
+     * @param y the given y coordinate
+     * @param moveInterval the number of ticks between moves
+     * @throws IllegalArgumentException if moveInterval is less than 1
+     */
+    public HealthPowerUp(int x, int y, int moveInterval) {
+        super(x, y, moveInterval);
+    }
+
+    /**
+     * Returns the shared ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "❤️".<br>
      * The image path is "assets/health.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate shared ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("❤️", "assets/health.png");
+        return SpriteRegistry.get("❤️", "assets/health.png");
     }
 
     /**
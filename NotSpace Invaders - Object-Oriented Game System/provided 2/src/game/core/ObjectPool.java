@@ -0,0 +1,128 @@
+package game.core;
+
+import java.util.Arrays;
+
+/**
+ * A bounded pool of reusable objects of a single type.
+ * <p>
+ * Objects obtained from a pool remember it, so they can be handed back with
+ * {@link #release(SpaceObject)} once they leave the game. Objects created directly with
+ * {@code new} are never pooled, since other code may still hold references to them.
+ *
+ * @param <T> the type of object pooled
+ */
+public final class ObjectPool<T extends ObjectWithPosition> {
+    /**
+     * Default maximum number of idle objects kept by a pool.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * The number of idle objects a new pool has room for, before it grows towards its capacity.
+     */
+    private static final int INITIAL_SIZE = 16;
+
+    /**
+     * Creates new objects at a position when the pool is empty.
+     *
+     * @param <T> the type of object created
+     */
+    @FunctionalInterface
+    public interface Factory<T> {
+        /**
+         * Creates a new object at the given coordinates.
+         *
+         * @param x the given x coordinate
+         * @param y the given y coordinate
+         * @return the new object
+         */
+        T create(int x, int y);
+    }
+
+    private final Factory<T> factory;
+    private final int capacity;
+    private ObjectWithPosition[] idle; // Grown as objects are released, up to capacity
+    private int size = 0;
+
+    /**
+     * Creates a pool that keeps up to DEFAULT_CAPACITY idle objects.
+     *
+     * @param factory creates objects when no idle object is available
+     */
+    public ObjectPool(Factory<T> factory) {
+        this(factory, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a pool that keeps up to the given number of idle objects. Room for them is only
+     * made as objects are released, so an unused pool stays small.
+     *
+     * @param factory creates objects when no idle object is available
+     * @param capacity the maximum number of idle objects to keep
+     */
+    public ObjectPool(Factory<T> factory, int capacity) {
+        this.factory = factory;
+        this.capacity = capacity;
+        this.idle = new ObjectWithPosition[Math.min(capacity, INITIAL_SIZE)];
+    }
+
+    /**
+     * Returns an object at the given coordinates, reusing an idle one if possible.<br>
+     * <p>
+     * Reused objects are reset to the given position, so they behave as if newly created.
+     *
+     * @param x the given x coordinate
+     * @param y the given y coordinate
+     * @return an object at the given coordinates
+     */
+    @SuppressWarnings("unchecked") // only objects created by this pool's factory are ever idle
+    public T obtain(int x, int y) {
+        if (size > 0) {
+            T object = (T) idle[--size];
+            idle[size] = null;
+            object.idle = false;
+            object.reset(x, y);
+            return object;
+        }
+        T object = factory.create(x, y);
+        object.pool = this;
+        return object;
+    }
+
+    /**
+     * Returns the number of idle objects waiting to be reused.
+     *
+     * @return the number of idle objects
+     */
+    public int available() {
+        return size;
+    }
+
+    /**
+     * Hands an object back to the pool it was obtained from.<br>
+     * <p>
+     * Objects that did not come from a pool, or that are already idle, are ignored.
+     * The caller must not use the object after releasing it.
+     *
+     * @param object the object that has left the game
+     * @return true if the object was returned to a pool, false otherwise
+     */
+    public static boolean release(SpaceObject object) {
+        if (object instanceof ObjectWithPosition pooled && pooled.pool != null && !pooled.idle) {
+            return pooled.pool.put(pooled);
+        }
+        return false;
+    }
+
+    private boolean put(ObjectWithPosition object) {
+        if (size == idle.length) {
+            if (size == capacity) {
+                return false;
+            }
+            idle = Arrays.copyOf(idle, (int) Math.min(capacity, 2L * size));
+        }
+        object.idle = true;
+        idle[size++] = object;
+        return true;
+    }
+}
@@ -12,6 +12,22 @@ public abstract class ObjectWithPosition implements SpaceObject {
      * The y coordinate of the Object
      */
     protected int y;
+    /**
+     * The pool this Object was obtained from, or null if it was created directly.
+     */
+    ObjectPool<?> pool;
+    /**
+     * Whether this Object is waiting in its pool to be reused.
+     */
+    boolean idle;
+    /**
+     * The row of the EntityStore holding this Object, or -1 if it is not stored.
+     */
+    int row = -1;
+    /**
+     * The tick this Object is next scheduled to move on by its EntityStore.
+     */
+    int due;
 
     /**
      * Creates a movable and interactive object at the given coordinates.
@@ -24,6 +40,19 @@ public abstract class ObjectWithPosition implements SpaceObject {
         this.y = y;
     }
 
+    /**
+     * Moves the Object to the given coordinates and clears any other per-use state, so that
+     * a pooled Object can be reused as if it were newly created.<br>
+     * Subclasses with additional state should override this and call super.reset(x, y).
+     *
+     * @param x the given x coordinate
+     * @param y the given y coordinate
+     */
+    protected void reset(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
     @Override
     public int getX() {
         return x;
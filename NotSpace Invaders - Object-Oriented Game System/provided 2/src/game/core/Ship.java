@@ -1,6 +1,7 @@
 package game.core;
 
 import game.ui.ObjectGraphic;
+import game.ui.SpriteRegistry;
 
 /**
  * Represents the player's ship.
@@ -29,6 +30,16 @@ public class Ship extends Controllable {
         this.score = STARTING_SCORE;
     }
 
+    /**
+     * Constructs a Ship at the specified position with default health.
+     *
+     * @param x the initial x coordinate.
+     * @param y the initial y coordinate.
+     */
+    public Ship(int x, int y) {
+        this(x, y, STARTING_HEALTH);
+    }
+
     /**
      * Constructs a Ship with default position and health.<br>
      * <p>
@@ -39,16 +50,16 @@ public class Ship extends Controllable {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.<br>
+     * Returns the shared ObjectGraphic with the appropriate text representation and image path.<br>
      * <p>
      * The text representation is "🚀".<br>
      * The image path is "assets/ship.png".<br>
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate shared ObjectGraphic.
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🚀", "assets/ship.png"); // Emoji representation for the ship
+        return SpriteRegistry.get("🚀", "assets/ship.png"); // Emoji representation for the ship
     }
 
     /**
@@ -86,6 +97,14 @@ public class Ship extends Controllable {
         score += points;
     }
 
+    /**
+     * Sets the health and score back to earlier values, when a {@link ChangeLog} is rewound.
+     */
+    void restore(int health, int score) {
+        this.health = health;
+        this.score = score;
+    }
+
     /**
      * Returns the current health of the ship.
      *
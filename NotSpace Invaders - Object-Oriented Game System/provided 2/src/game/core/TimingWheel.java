@@ -0,0 +1,107 @@
+package game.core;
+
+import java.util.Arrays;
+
+/**
+ * A timing wheel of objects waiting for the tick they are next due on.
+ * <p>
+ * The wheel has a fixed number of slots, and an object due on a tick waits in the slot for that
+ * tick modulo the number of slots. Each tick, only the objects in that tick's slot are looked at,
+ * so an object costs nothing on the ticks in between. Objects due more than one turn of the wheel
+ * away are simply passed over until their tick comes round.
+ * <p>
+ * The wheel does not track objects once scheduled; the owner must ignore entries it no longer
+ * wants when they are collected.
+ */
+final class TimingWheel {
+    private static final int SLOTS = 64; // a power of two, larger than the usual move interval
+    private static final int INITIAL_SLOT_SIZE = 8;
+
+    private final ObjectWithPosition[][] objects = new ObjectWithPosition[SLOTS][];
+    private final int[][] dues = new int[SLOTS][];
+    private final int[] sizes = new int[SLOTS];
+    private ObjectWithPosition[] ready = new ObjectWithPosition[INITIAL_SLOT_SIZE];
+    private int readySize = 0;
+
+    TimingWheel() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            objects[slot] = new ObjectWithPosition[INITIAL_SLOT_SIZE];
+            dues[slot] = new int[INITIAL_SLOT_SIZE];
+        }
+    }
+
+    /**
+     * Schedules the object to be collected on the given tick.
+     *
+     * @param object the object to schedule
+     * @param due the tick the object is due on
+     */
+    void schedule(ObjectWithPosition object, int due) {
+        int slot = due & (SLOTS - 1);
+        int size = sizes[slot];
+        if (size == objects[slot].length) {
+            objects[slot] = Arrays.copyOf(objects[slot], size * 2);
+            dues[slot] = Arrays.copyOf(dues[slot], size * 2);
+        }
+        objects[slot][size] = object;
+        dues[slot][size] = due;
+        sizes[slot] = size + 1;
+    }
+
+    /**
+     * Takes every object due on the given tick out of the wheel, in the order they were scheduled.
+     * <p>
+     * The objects are read with {@link #ready(int)} until the wheel is next collected, and may be
+     * rescheduled meanwhile.
+     *
+     * @param tick the current tick
+     * @return the number of objects due
+     */
+    int collect(int tick) {
+        int slot = tick & (SLOTS - 1);
+        ObjectWithPosition[] slotObjects = objects[slot];
+        int[] slotDues = dues[slot];
+        int size = sizes[slot];
+        Arrays.fill(ready, 0, readySize, null);
+        readySize = 0;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (slotDues[i] == tick) {
+                if (readySize == ready.length) {
+                    ready = Arrays.copyOf(ready, readySize * 2);
+                }
+                ready[readySize++] = slotObjects[i];
+            } else {
+                // Due on a later turn of the wheel
+                slotObjects[kept] = slotObjects[i];
+                slotDues[kept] = slotDues[i];
+                kept++;
+            }
+        }
+        Arrays.fill(slotObjects, kept, size, null);
+        sizes[slot] = kept;
+        return readySize;
+    }
+
+    /**
+     * Returns an object collected by the last call to {@link #collect(int)}.
+     *
+     * @param index the index of the object, less than the number collected
+     * @return the collected object
+     */
+    ObjectWithPosition ready(int index) {
+        return ready[index];
+    }
+
+    /**
+     * Removes every scheduled object.
+     */
+    void clear() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            Arrays.fill(objects[slot], 0, sizes[slot], null);
+            sizes[slot] = 0;
+        }
+        Arrays.fill(ready, 0, readySize, null);
+        readySize = 0;
+    }
+}
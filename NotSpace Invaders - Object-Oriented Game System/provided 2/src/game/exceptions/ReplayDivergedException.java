@@ -0,0 +1,51 @@
+package game.exceptions;
+
+/**
+ * An exception indicating a replayed game has reached a different state from the recorded game.
+ */
+public class ReplayDivergedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long ticksRun;
+    private final int expected;
+    private final int actual;
+
+    /**
+     * Creates a new ReplayDivergedException for a checksum mismatch.
+     * @param tick the tick after which the states differed
+     * @param ticksRun the number of ticks replayed when the states differed
+     * @param expected the recorded state checksum
+     * @param actual the replayed state checksum
+     */
+    public ReplayDivergedException(int tick, long ticksRun, int expected, int actual) {
+        super("Replay diverged after tick " + tick + " (" + ticksRun + " ticks replayed): expected checksum "
+                + Integer.toHexString(expected) + ", got " + Integer.toHexString(actual));
+        this.ticksRun = ticksRun;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * Returns the number of ticks replayed when the states differed.
+     * @return the number of ticks replayed
+     */
+    public long getTicksRun() {
+        return ticksRun;
+    }
+
+    /**
+     * Returns the recorded state checksum.
+     * @return the expected checksum
+     */
+    public int getExpected() {
+        return expected;
+    }
+
+    /**
+     * Returns the replayed state checksum.
+     * @return the actual checksum
+     */
+    public int getActual() {
+        return actual;
+    }
+}
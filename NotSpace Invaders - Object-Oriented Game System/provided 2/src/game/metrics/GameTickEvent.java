@@ -0,0 +1,58 @@
+package game.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Flight Recorder event covering one game tick, with the time spent in each phase.
+ * <p>
+ * Only created while a recording has the event enabled, e.g. with
+ * {@code -XX:StartFlightRecording:settings=profile}.
+ */
+@Name("game.Tick")
+@Label("Game Tick")
+@Category("Space Shooter")
+@Description("One GameController tick, broken down by phase")
+@StackTrace(false)
+class GameTickEvent extends Event {
+    @Label("Tick")
+    int tick;
+
+    @Label("Entities")
+    @Description("Space objects in the model at the end of the tick")
+    int entities;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+
+    @Label("updateGame")
+    @Timespan
+    long updateGame;
+
+    @Label("checkCollisions")
+    @Timespan
+    long checkCollisions;
+
+    @Label("spawnObjects")
+    @Timespan
+    long spawnObjects;
+
+    @Label("levelUp")
+    @Timespan
+    long levelUp;
+
+    @Label("refreshAchievements")
+    @Timespan
+    long refreshAchievements;
+
+    @Label("renderGame")
+    @Timespan
+    long renderGame;
+}
@@ -0,0 +1,133 @@
+package game.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of nanosecond latencies.
+ * <p>
+ * Values below 32 ns are counted exactly. Larger values are grouped by power of two, with each
+ * power of two split into 16 buckets, so any recorded value is reported to within about 6%.
+ * Recording never allocates, so a histogram can be updated on every tick.
+ */
+public final class LatencyHistogram {
+    private static final int EXACT_LIMIT = 32; // values below this have their own bucket
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_BITS = 5; // log2(EXACT_LIMIT)
+    private static final int BUCKETS = EXACT_LIMIT + (Long.SIZE - 1 - EXACT_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long total = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the number of latencies recorded.
+     *
+     * @return the number of latencies recorded
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the smallest latency recorded, or 0 if none have been.
+     *
+     * @return the smallest latency in nanoseconds
+     */
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Returns the largest latency recorded, or 0 if none have been.
+     *
+     * @return the largest latency in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean latency recorded, or 0 if none have been.
+     *
+     * @return the mean latency in nanoseconds
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Returns the latency that the given percentage of recorded latencies are at or below.<br>
+     * <p>
+     * The result is the upper edge of the bucket holding that latency, capped at the largest
+     * latency recorded.
+     *
+     * @param percentile the percentage, from 0.0 to 100.0
+     * @return the latency at the percentile in nanoseconds, or 0 if none have been recorded
+     * @throws IllegalArgumentException if percentile is outside 0.0 to 100.0
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Removes every recorded latency.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < EXACT_LIMIT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS; // top bits below the leading one
+        return EXACT_LIMIT + (exponent - EXACT_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < EXACT_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - EXACT_LIMIT) / SUB_BUCKETS + EXACT_BITS;
+        long mantissa = (bucket - EXACT_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
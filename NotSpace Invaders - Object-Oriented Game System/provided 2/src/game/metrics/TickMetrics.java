@@ -0,0 +1,272 @@
+package game.metrics;
+
+import jdk.jfr.EventType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Records how long each phase of a game tick takes, along with entity counts and the memory
+ * allocated per tick.
+ * <p>
+ * A tick is recorded by calling {@link #beginTick()}, then {@link #endPhase(TickPhase, long)}
+ * after each phase, then {@link #endTick(int, int)}. Each phase has its own LatencyHistogram,
+ * and the whole tick has another. While a Flight Recorder recording has it enabled, each tick
+ * is also committed as a {@code game.Tick} event.
+ * <p>
+ * Recording does not allocate unless a Flight Recorder event is being committed. A TickMetrics
+ * must only be used from the thread that runs the ticks. Allocation cannot be measured on a
+ * virtual thread, so it is reported as untracked once a tick runs on one.
+ */
+public final class TickMetrics {
+    private static final TickPhase[] PHASES = TickPhase.values();
+    private static final EventType TICK_EVENT = EventType.getEventType(GameTickEvent.class);
+
+    private final LatencyHistogram[] phaseHistograms = new LatencyHistogram[PHASES.length];
+    private final LatencyHistogram tickHistogram = new LatencyHistogram();
+    private final long[] lastPhaseNanos = new long[PHASES.length];
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private boolean allocationTracked; // Cleared once the ticking thread's allocation is unknown
+
+    private long tickStart;
+    private long allocationStart;
+    private GameTickEvent event;
+
+    private int lastEntityCount = 0;
+    private int peakEntityCount = 0;
+    private long lastAllocatedBytes = 0;
+    private long totalAllocatedBytes = 0;
+
+    /**
+     * Creates empty metrics, tracking allocation if the JVM supports it.
+     */
+    public TickMetrics() {
+        for (int i = 0; i < phaseHistograms.length; i++) {
+            phaseHistograms[i] = new LatencyHistogram();
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            allocationBean = bean;
+        } else {
+            allocationBean = null;
+        }
+        allocationTracked = allocationBean != null;
+    }
+
+    /**
+     * Marks the start of a tick.
+     *
+     * @return the start time of the first phase, to pass to endPhase
+     */
+    public long beginTick() {
+        if (TICK_EVENT.isEnabled()) {
+            event = new GameTickEvent();
+            event.begin();
+        }
+        allocationStart = allocatedBytes();
+        tickStart = System.nanoTime();
+        return tickStart;
+    }
+
+    /**
+     * Records the end of a phase that started at the given time.
+     *
+     * @param phase the phase that just finished
+     * @param start the time the phase started, as returned by beginTick or the previous endPhase
+     * @return the end time of this phase, which is the start time of the next
+     */
+    public long endPhase(TickPhase phase, long start) {
+        long end = System.nanoTime();
+        long nanos = end - start;
+        phaseHistograms[phase.ordinal()].record(nanos);
+        lastPhaseNanos[phase.ordinal()] = nanos;
+        return end;
+    }
+
+    /**
+     * Marks the end of a tick, recording its total time, entity count and allocation.
+     *
+     * @param tick the tick that finished
+     * @param entityCount the number of space objects in the model after the tick
+     */
+    public void endTick(int tick, int entityCount) {
+        tickHistogram.record(System.nanoTime() - tickStart);
+        long allocated = allocatedBytes();
+        if (allocationStart >= 0 && allocated >= 0) {
+            lastAllocatedBytes = allocated - allocationStart;
+            totalAllocatedBytes += lastAllocatedBytes;
+        } else {
+            untrackAllocation();
+        }
+        lastEntityCount = entityCount;
+        peakEntityCount = Math.max(peakEntityCount, entityCount);
+
+        if (event != null) {
+            commit(event, tick);
+            event = null;
+        }
+    }
+
+    /**
+     * Returns the latency histogram of the given phase.
+     *
+     * @param phase the phase
+     * @return the phase's latency histogram
+     */
+    public LatencyHistogram getHistogram(TickPhase phase) {
+        return phaseHistograms[phase.ordinal()];
+    }
+
+    /**
+     * Returns the latency histogram of whole ticks.
+     *
+     * @return the tick latency histogram
+     */
+    public LatencyHistogram getTickHistogram() {
+        return tickHistogram;
+    }
+
+    /**
+     * Returns how long the given phase took in the most recent tick.
+     *
+     * @param phase the phase
+     * @return the phase's latest latency in nanoseconds
+     */
+    public long getLastPhaseNanos(TickPhase phase) {
+        return lastPhaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Returns the number of ticks recorded.
+     *
+     * @return the number of ticks recorded
+     */
+    public long getTicksRecorded() {
+        return tickHistogram.getCount();
+    }
+
+    /**
+     * Returns the number of space objects at the end of the most recent tick.
+     *
+     * @return the latest entity count
+     */
+    public int getLastEntityCount() {
+        return lastEntityCount;
+    }
+
+    /**
+     * Returns the largest number of space objects at the end of any tick.
+     *
+     * @return the peak entity count
+     */
+    public int getPeakEntityCount() {
+        return peakEntityCount;
+    }
+
+    /**
+     * Returns whether allocation is being measured. If not, allocation is always reported as 0.
+     * Allocation is not measured if the JVM does not support it, or once a tick has run on a
+     * thread it cannot be measured on, such as a virtual thread.
+     *
+     * @return true if allocation is measured, false otherwise
+     */
+    public boolean isAllocationTracked() {
+        return allocationTracked;
+    }
+
+    /**
+     * Returns the bytes allocated by the ticking thread during the most recent tick.
+     *
+     * @return the latest allocation in bytes
+     */
+    public long getLastAllocatedBytes() {
+        return lastAllocatedBytes;
+    }
+
+    /**
+     * Returns the bytes allocated by the ticking thread over every recorded tick.
+     *
+     * @return the total allocation in bytes
+     */
+    public long getTotalAllocatedBytes() {
+        return totalAllocatedBytes;
+    }
+
+    /**
+     * Removes everything recorded so far.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : phaseHistograms) {
+            histogram.reset();
+        }
+        tickHistogram.reset();
+        lastEntityCount = 0;
+        peakEntityCount = 0;
+        lastAllocatedBytes = 0;
+        totalAllocatedBytes = 0;
+    }
+
+    /**
+     * Returns a table of the latency percentiles for each phase and the whole tick, followed by
+     * entity and allocation figures.
+     *
+     * @return a human-readable summary of the metrics
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-20s %10s %10s %10s %10s %10s%n",
+                "phase (ns)", "mean", "p50", "p99", "p99.9", "max"));
+        for (TickPhase phase : PHASES) {
+            appendRow(sb, phase.getMethodName(), getHistogram(phase));
+        }
+        appendRow(sb, "tick", tickHistogram);
+        sb.append(String.format("entities: last %,d, peak %,d%n", lastEntityCount, peakEntityCount));
+        if (isAllocationTracked()) {
+            long ticks = Math.max(1, getTicksRecorded());
+            sb.append(String.format("allocated: %,d bytes total, %,d bytes/tick%n",
+                    totalAllocatedBytes, totalAllocatedBytes / ticks));
+        } else {
+            sb.append(String.format("allocated: not measurable on this JVM or thread%n"));
+        }
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String name, LatencyHistogram histogram) {
+        sb.append(String.format("%-20s %10.0f %10d %10d %10d %10d%n", name, histogram.getMean(),
+                histogram.getPercentile(50), histogram.getPercentile(99),
+                histogram.getPercentile(99.9), histogram.getMax()));
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread so far, or -1 if that is not known.
+     */
+    private long allocatedBytes() {
+        if (!allocationTracked || Thread.currentThread().isVirtual()) {
+            return -1;
+        }
+        return allocationBean.getCurrentThreadAllocatedBytes();
+    }
+
+    private void untrackAllocation() {
+        allocationTracked = false;
+        lastAllocatedBytes = 0;
+        totalAllocatedBytes = 0;
+    }
+
+    private void commit(GameTickEvent event, int tick) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.tick = tick;
+            event.entities = lastEntityCount;
+            event.allocated = lastAllocatedBytes;
+            event.updateGame = getLastPhaseNanos(TickPhase.UPDATE_GAME);
+            event.checkCollisions = getLastPhaseNanos(TickPhase.CHECK_COLLISIONS);
+            event.spawnObjects = getLastPhaseNanos(TickPhase.SPAWN_OBJECTS);
+            event.levelUp = getLastPhaseNanos(TickPhase.LEVEL_UP);
+            event.refreshAchievements = getLastPhaseNanos(TickPhase.REFRESH_ACHIEVEMENTS);
+            event.renderGame = getLastPhaseNanos(TickPhase.RENDER_GAME);
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package game.metrics;
+
+/**
+ * The phases of a game tick, in the order GameController runs them.
+ */
+public enum TickPhase {
+    UPDATE_GAME("updateGame"),
+    CHECK_COLLISIONS("checkCollisions"),
+    SPAWN_OBJECTS("spawnObjects"),
+    LEVEL_UP("levelUp"),
+    REFRESH_ACHIEVEMENTS("refreshAchievements"),
+    RENDER_GAME("renderGame");
+
+    private final String methodName;
+
+    TickPhase(String methodName) {
+        this.methodName = methodName;
+    }
+
+    /**
+     * Returns the name of the method that runs this phase.
+     *
+     * @return the phase's method name
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+}
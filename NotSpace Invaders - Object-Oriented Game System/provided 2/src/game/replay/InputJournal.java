@@ -0,0 +1,229 @@
+package game.replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recorded game: its random seed and board size, followed by every key press and, optionally,
+ * a checksum of the game state, in the order they happened between ticks.
+ * <p>
+ * A journal starts with the magic number {@code NSIJ}, a format version, the seed as a long, and
+ * the board width and height as ints. Each entry that follows starts with the number of ticks run
+ * since the previous entry, as an unsigned variable-length int, then a one-byte code:<br>
+ * - a printable ASCII character: that key was pressed<br>
+ * - {@link #KEY_TEXT}: any other key was pressed, written as by DataOutputStream.writeUTF<br>
+ * - {@link #JUMP}: the next tick run does not follow on from the last, and is numbered by the
+ * signed variable-length int that follows<br>
+ * - {@link #CHECKSUM}: the state checksum after the last tick run, as an int<br>
+ * - {@link #END}: the end of the journal<br>
+ * Ticks are otherwise numbered one after another, so a session costs little more than a byte or
+ * two per key press.
+ */
+public final class InputJournal {
+    /**
+     * The first four bytes of every journal, "NSIJ".
+     */
+    public static final int MAGIC = 0x4E53494A;
+    /**
+     * The journal format version written by this class.
+     */
+    public static final int VERSION = 1;
+
+    static final int END = 0;
+    static final int JUMP = 1;
+    static final int CHECKSUM = 2;
+    static final int KEY_TEXT = 3;
+
+    private final long seed;
+    private final int width;
+    private final int height;
+    private final List<Entry> entries;
+
+    /**
+     * One event in a journal, after some number of ticks.
+     *
+     * @param ticksBefore the number of ticks run since the previous entry
+     * @param code the entry code: END, JUMP, CHECKSUM, or KEY_TEXT for any key
+     * @param value the tick number of a JUMP, or the checksum of a CHECKSUM
+     * @param key the key pressed, or null if the entry is not a key press
+     */
+    record Entry(int ticksBefore, int code, int value, String key) {
+    }
+
+    private InputJournal(long seed, int width, int height, List<Entry> entries) {
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the random seed the recorded game started with.
+     *
+     * @return the random seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of columns on the recorded game's board.
+     *
+     * @return the board width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the number of rows on the recorded game's board.
+     *
+     * @return the board height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of ticks the recorded game ran.
+     *
+     * @return the number of ticks
+     */
+    public long getTickCount() {
+        long ticks = 0;
+        for (Entry entry : entries) {
+            ticks += entry.ticksBefore();
+        }
+        return ticks;
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Reads a whole journal.
+     *
+     * @param in the stream to read from, which is not closed
+     * @return the journal
+     * @throws IOException if the stream is not a valid journal or could not be read
+     */
+    public static InputJournal read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an input journal");
+        }
+        int version = data.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported input journal version: " + version);
+        }
+        long seed = data.readLong();
+        int width = data.readInt();
+        int height = data.readInt();
+
+        List<Entry> entries = new ArrayList<>();
+        while (true) {
+            int ticks;
+            int code;
+            try {
+                ticks = readVarInt(data);
+                code = data.readUnsignedByte();
+            } catch (EOFException e) {
+                // The recording process stopped without closing the journal; keep what was written
+                entries.add(new Entry(0, END, 0, null));
+                break;
+            }
+            if (code == END) {
+                entries.add(new Entry(ticks, END, 0, null));
+                break;
+            }
+            switch (code) {
+                case JUMP -> entries.add(new Entry(ticks, JUMP, zigZagDecode(readVarInt(data)), null));
+                case CHECKSUM -> entries.add(new Entry(ticks, CHECKSUM, data.readInt(), null));
+                case KEY_TEXT -> entries.add(new Entry(ticks, KEY_TEXT, 0, data.readUTF()));
+                default -> {
+                    if (!isPrintable(code)) {
+                        throw new IOException("Corrupt input journal: unknown entry code " + code);
+                    }
+                    entries.add(new Entry(ticks, KEY_TEXT, 0, String.valueOf((char) code)));
+                }
+            }
+        }
+        return new InputJournal(seed, width, height, List.copyOf(entries));
+    }
+
+    /**
+     * Writes the journal header.
+     */
+    static void writeHeader(DataOutputStream out, long seed, int width, int height) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(seed);
+        out.writeInt(width);
+        out.writeInt(height);
+    }
+
+    /**
+     * Writes the start of an entry: the ticks run since the previous entry, then its code.
+     */
+    static void writeEntry(DataOutputStream out, int ticksBefore, int code) throws IOException {
+        writeVarInt(out, ticksBefore);
+        out.writeByte(code);
+    }
+
+    /**
+     * Writes a key press entry, as a single byte if the key is one printable ASCII character.
+     */
+    static void writeKey(DataOutputStream out, int ticksBefore, String key) throws IOException {
+        if (key.length() == 1 && isPrintable(key.charAt(0))) {
+            writeEntry(out, ticksBefore, key.charAt(0));
+        } else {
+            writeEntry(out, ticksBefore, KEY_TEXT);
+            out.writeUTF(key);
+        }
+    }
+
+    static boolean isPrintable(int c) {
+        return c >= 0x20 && c < 0x7F;
+    }
+
+    /**
+     * Writes an unsigned int in 7-bit groups, low group first, with the top bit set on every
+     * byte but the last.
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt input journal: variable-length int too long");
+    }
+
+    /**
+     * Maps signed ints to unsigned ones so that small negative numbers stay short.
+     */
+    static int zigZagEncode(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int zigZagDecode(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
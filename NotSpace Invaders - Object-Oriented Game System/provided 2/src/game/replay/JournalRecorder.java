@@ -0,0 +1,150 @@
+package game.replay;
+
+import game.GameModel;
+import game.ui.KeyHandler;
+import game.ui.Tickable;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Records a game as an {@link InputJournal} while it is played.
+ * <p>
+ * The recorder is passed to {@link game.GameController#startGame(Tickable, KeyHandler)}, so it
+ * sees every key the controller handles and every tick the controller runs, in the same order.
+ * The journal header holds the model's random seed, so the recorder must be created before the
+ * first tick and after any seed is set.
+ * <p>
+ * The journal is written as the game runs; {@link #close()} ends it. A journal cut short, for
+ * example by a crash, can still be read and replayed up to the point it was last flushed.
+ */
+public class JournalRecorder implements KeyHandler, Tickable, Closeable {
+    /**
+     * By default, the state checksum is recorded after every tick.
+     */
+    public static final int DEFAULT_CHECKSUM_INTERVAL = 1;
+
+    private final DataOutputStream out;
+    private final GameModel model;
+    private final int checksumInterval;
+    private boolean started = false;
+    private boolean closed = false;
+    private int lastTick;
+    private int ticksSinceEntry = 0;
+    private long ticksRun = 0;
+
+    /**
+     * Creates a recorder writing the given game's journal, with a checksum after every
+     * checksumInterval ticks.
+     *
+     * @param out the stream to write the journal to, which is closed with the recorder
+     * @param model the game being recorded
+     * @param checksumInterval the number of ticks between checksums, or 0 for none
+     * @throws IOException if the journal header could not be written
+     * @throws IllegalArgumentException if checksumInterval is negative
+     */
+    public JournalRecorder(OutputStream out, GameModel model, int checksumInterval) throws IOException {
+        if (checksumInterval < 0) {
+            throw new IllegalArgumentException("Checksum interval must not be negative, got "
+                    + checksumInterval);
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.model = model;
+        this.checksumInterval = checksumInterval;
+        InputJournal.writeHeader(this.out, model.getRandomSeed(), model.getWidth(), model.getHeight());
+    }
+
+    /**
+     * Creates a recorder writing the given game's journal, with a checksum after every tick.
+     *
+     * @param out the stream to write the journal to, which is closed with the recorder
+     * @param model the game being recorded
+     * @throws IOException if the journal header could not be written
+     */
+    public JournalRecorder(OutputStream out, GameModel model) throws IOException {
+        this(out, model, DEFAULT_CHECKSUM_INTERVAL);
+    }
+
+    /**
+     * Records that a tick has run, and the state checksum if one is due.
+     *
+     * @param tick the tick that ran
+     * @throws UncheckedIOException if the journal could not be written
+     */
+    @Override
+    public synchronized void tick(int tick) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (!started || tick != lastTick + 1) {
+                InputJournal.writeEntry(out, ticksSinceEntry, InputJournal.JUMP);
+                InputJournal.writeVarInt(out, InputJournal.zigZagEncode(tick));
+                ticksSinceEntry = 0;
+                started = true;
+            }
+            lastTick = tick;
+            ticksSinceEntry++;
+            ticksRun++;
+            if (checksumInterval > 0 && ticksRun % checksumInterval == 0) {
+                InputJournal.writeEntry(out, ticksSinceEntry, InputJournal.CHECKSUM);
+                out.writeInt(model.checksum());
+                ticksSinceEntry = 0;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Records a key press.
+     *
+     * @param key the key pressed
+     * @throws UncheckedIOException if the journal could not be written
+     */
+    @Override
+    public synchronized void onPress(String key) {
+        if (closed) {
+            return;
+        }
+        try {
+            InputJournal.writeKey(out, ticksSinceEntry, key);
+            ticksSinceEntry = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes any buffered entries to the underlying stream.
+     *
+     * @throws IOException if the journal could not be written
+     */
+    public synchronized void flush() throws IOException {
+        if (!closed) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Ends the journal and closes the stream. Later ticks and key presses are not recorded.
+     *
+     * @throws IOException if the journal could not be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            InputJournal.writeEntry(out, ticksSinceEntry, InputJournal.END);
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package game.replay;
+
+import game.GameController;
+import game.GameModel;
+import game.Main;
+import game.achievements.AchievementManager;
+import game.achievements.InMemoryAchievementFile;
+import game.achievements.PlayerStatsTracker;
+import game.exceptions.ReplayDivergedException;
+import game.ui.headless.HeadlessUI;
+import game.ui.headless.InputScript;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Re-runs a recorded game headlessly, as fast as possible, checking that it reaches the same states.
+ * <p>
+ * A new game is created with the journal's seed and board size, and each recorded key and tick is
+ * passed straight to its GameController in the recorded order, with no UI loop in between. After
+ * each tick that has a recorded checksum, the replayed state's checksum must match.
+ * <p>
+ * Usage: {@code ReplayEngine journal [repeats]}<br>
+ * - journal: the journal file to replay<br>
+ * - repeats: how many times to replay it, for benchmarking (default 1)<br>
+ * <p>
+ * Prints the ticks replayed, the throughput in ticks per second and the final state checksum,
+ * followed by the tick metrics of the last replay.
+ */
+public class ReplayEngine {
+    private final InputJournal journal;
+    private GameController controller;
+    private long ticksRun = 0;
+
+    /**
+     * Creates an engine to replay the given journal.
+     *
+     * @param journal the recorded game
+     */
+    public ReplayEngine(InputJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Replays the whole journal in a new game, replacing any game from an earlier replay.
+     *
+     * @return the number of ticks replayed
+     * @throws ReplayDivergedException if a replayed state checksum differs from the recorded one
+     */
+    public long replay() {
+        HeadlessUI ui = new HeadlessUI(InputScript.none());
+        GameModel model = new GameModel(ui::log, new PlayerStatsTracker(),
+                journal.getWidth(), journal.getHeight());
+        model.setRandomSeed(journal.getSeed());
+        AchievementManager achievementManager = new AchievementManager(new InMemoryAchievementFile());
+        Main.addStandardAchievements(achievementManager);
+        controller = new GameController(ui, model, achievementManager);
+        ticksRun = 0;
+
+        int nextTick = 0;
+        for (InputJournal.Entry entry : journal.entries()) {
+            for (int i = 0; i < entry.ticksBefore(); i++) {
+                controller.onTick(nextTick++);
+                ticksRun++;
+            }
+            switch (entry.code()) {
+                case InputJournal.JUMP -> nextTick = entry.value();
+                case InputJournal.CHECKSUM -> {
+                    int actual = model.checksum();
+                    if (actual != entry.value()) {
+                        throw new ReplayDivergedException(nextTick - 1, ticksRun, entry.value(), actual);
+                    }
+                }
+                case InputJournal.KEY_TEXT -> controller.handlePlayerInput(entry.key());
+                default -> {
+                    // END: every recorded tick has been run
+                }
+            }
+        }
+        return ticksRun;
+    }
+
+    /**
+     * Returns the controller of the game last replayed, or null if nothing has been replayed.
+     *
+     * @return the replayed game's controller
+     */
+    public GameController getController() {
+        return controller;
+    }
+
+    /**
+     * Returns the number of ticks run by the last replay.
+     *
+     * @return the number of ticks replayed
+     */
+    public long getTicksRun() {
+        return ticksRun;
+    }
+
+    /**
+     * The replay entry point.
+     * @param args command-line arguments: journal [repeats]
+     * @throws IOException if the journal could not be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayEngine journal [repeats]");
+            System.exit(2);
+        }
+        Path path = Paths.get(args[0]);
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        InputJournal journal;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            journal = InputJournal.read(in);
+        }
+        ReplayEngine engine = new ReplayEngine(journal);
+        long ran = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < repeats; i++) {
+            ran += engine.replay();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1_000_000_000.0;
+        System.out.printf("Replayed %,d ticks over %,d runs in %.3f s (%,.0f ticks/s), final checksum %08x%n",
+                ran, repeats, seconds, ran / seconds, engine.getController().getModel().checksum());
+        System.out.print(engine.getController().getTickMetrics().summary());
+    }
+}
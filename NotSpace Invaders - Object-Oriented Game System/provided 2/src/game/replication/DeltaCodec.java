@@ -0,0 +1,344 @@
+package game.replication;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes a WorldState as its changes from an earlier state that the client already has, and
+ * decodes them again.
+ * <p>
+ * A delta holds the tick and how many ticks back its base state is, or 0 if it is against
+ * {@link WorldState#EMPTY}; a bit mask of the Ship stats and level that changed, each followed
+ * by its change; then the IDs removed, the objects spawned with their type and position, and the
+ * objects moved with how far they moved. IDs are written as the gap from the previous ID in the
+ * same list, and every number as a variable-length int, so a tick in which a handful of objects
+ * move costs a few bytes per object.
+ * <p>
+ * An encoder reuses its buffers from one delta to the next, so it must only be used by one
+ * thread.
+ */
+final class DeltaCodec {
+    private static final int SHIP_X = 1;
+    private static final int SHIP_Y = 2;
+    private static final int HEALTH = 4;
+    private static final int SCORE = 8;
+    private static final int LEVEL = 16;
+
+    private byte[] bytes = new byte[256];
+    private int length = 0;
+
+    /**
+     * Encodes the changes from base to state, replacing the previous delta.
+     *
+     * @param base a state the client has, or WorldState.EMPTY
+     * @param state the state to send
+     * @return a buffer over the encoded delta, valid until the next call
+     */
+    ByteBuffer encode(WorldState base, WorldState state) {
+        length = 0;
+        writeVarInt(zigZagEncode(state.getTick()));
+        writeVarInt(base == WorldState.EMPTY ? 0 : state.getTick() - base.getTick());
+
+        int mask = (state.getShipX() != base.getShipX() ? SHIP_X : 0)
+                | (state.getShipY() != base.getShipY() ? SHIP_Y : 0)
+                | (state.getHealth() != base.getHealth() ? HEALTH : 0)
+                | (state.getScore() != base.getScore() ? SCORE : 0)
+                | (state.getLevel() != base.getLevel() ? LEVEL : 0);
+        writeByte(mask);
+        writeChange(mask, SHIP_X, base.getShipX(), state.getShipX());
+        writeChange(mask, SHIP_Y, base.getShipY(), state.getShipY());
+        writeChange(mask, HEALTH, base.getHealth(), state.getHealth());
+        writeChange(mask, SCORE, base.getScore(), state.getScore());
+        writeChange(mask, LEVEL, base.getLevel(), state.getLevel());
+
+        // Removed: IDs in base but not in state
+        int count = 0;
+        for (int i = 0; i < base.size(); i++) {
+            if (state.indexOf(base.getId(i)) < 0) {
+                count++;
+            }
+        }
+        writeVarInt(count);
+        int lastId = 0;
+        for (int i = 0; i < base.size() && count > 0; i++) {
+            int id = base.getId(i);
+            if (state.indexOf(id) < 0) {
+                writeVarInt(id - lastId);
+                lastId = id;
+                count--;
+            }
+        }
+
+        // Spawned: IDs in state but not in base
+        for (int i = 0; i < state.size(); i++) {
+            if (base.indexOf(state.getId(i)) < 0) {
+                count++;
+            }
+        }
+        writeVarInt(count);
+        lastId = 0;
+        for (int i = 0; i < state.size() && count > 0; i++) {
+            int id = state.getId(i);
+            if (base.indexOf(id) < 0) {
+                writeVarInt(id - lastId);
+                writeByte(state.getType(i));
+                writeVarInt(zigZagEncode(state.getX(i)));
+                writeVarInt(zigZagEncode(state.getY(i)));
+                lastId = id;
+                count--;
+            }
+        }
+
+        // Moved: IDs in both whose position changed
+        for (int i = 0; i < state.size(); i++) {
+            int b = base.indexOf(state.getId(i));
+            if (b >= 0 && (state.getX(i) != base.getX(b) || state.getY(i) != base.getY(b))) {
+                count++;
+            }
+        }
+        writeVarInt(count);
+        lastId = 0;
+        for (int i = 0; i < state.size() && count > 0; i++) {
+            int id = state.getId(i);
+            int b = base.indexOf(id);
+            if (b >= 0 && (state.getX(i) != base.getX(b) || state.getY(i) != base.getY(b))) {
+                writeVarInt(id - lastId);
+                writeVarInt(zigZagEncode(state.getX(i) - base.getX(b)));
+                writeVarInt(zigZagEncode(state.getY(i) - base.getY(b)));
+                lastId = id;
+                count--;
+            }
+        }
+        return ByteBuffer.wrap(bytes, 0, length);
+    }
+
+    /**
+     * Returns the tick of the base state a delta was encoded against, or -1 if it was encoded
+     * against WorldState.EMPTY, without consuming the delta.
+     *
+     * @param delta the encoded delta, from its position to its limit
+     * @return the tick of the base state, or -1
+     * @throws IOException if the delta is corrupt
+     */
+    static int baseTick(ByteBuffer delta) throws IOException {
+        ByteBuffer header = delta.duplicate();
+        try {
+            int tick = zigZagDecode(readVarInt(header));
+            int back = readVarInt(header);
+            return back == 0 ? -1 : tick - back;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Corrupt state delta: truncated header", e);
+        }
+    }
+
+    /**
+     * Decodes a delta against the base state it was encoded against.
+     *
+     * @param base the base state, as given by baseTick
+     * @param delta the encoded delta, from its position to its limit, which is consumed
+     * @return the state the delta was encoded from
+     * @throws IOException if the delta is corrupt
+     */
+    static WorldState decode(WorldState base, ByteBuffer delta) throws IOException {
+        try {
+            return decodeDelta(base, delta);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Corrupt state delta", e);
+        }
+    }
+
+    private static WorldState decodeDelta(WorldState base, ByteBuffer in) throws IOException {
+        int tick = zigZagDecode(readVarInt(in));
+        readVarInt(in); // The base, already found by baseTick
+        int mask = in.get();
+        int shipX = readChange(in, mask, SHIP_X, base.getShipX());
+        int shipY = readChange(in, mask, SHIP_Y, base.getShipY());
+        int health = readChange(in, mask, HEALTH, base.getHealth());
+        int score = readChange(in, mask, SCORE, base.getScore());
+        int level = readChange(in, mask, LEVEL, base.getLevel());
+
+        int[] removed = new int[readCount(in)];
+        readIds(in, removed, 0, null, null, null);
+        int spawnedCount = readCount(in);
+        int[] spawned = new int[spawnedCount];
+        byte[] spawnedTypes = new byte[spawnedCount];
+        int[] spawnedXs = new int[spawnedCount];
+        int[] spawnedYs = new int[spawnedCount];
+        readIds(in, spawned, 1, spawnedTypes, spawnedXs, spawnedYs);
+        int movedCount = readCount(in);
+        int[] moved = new int[movedCount];
+        int[] movedXs = new int[movedCount];
+        int[] movedYs = new int[movedCount];
+        readIds(in, moved, 2, null, movedXs, movedYs);
+
+        int size = base.size() - removed.length + spawnedCount;
+        if (size < 0) {
+            throw new IOException("Corrupt state delta: more objects removed than there were");
+        }
+        int[] ids = new int[size];
+        byte[] types = new byte[size];
+        int[] xs = new int[size];
+        int[] ys = new int[size];
+        int out = 0;
+        int r = 0;
+        int s = 0;
+        int m = 0;
+        int b = 0;
+        while (b < base.size() || s < spawnedCount) {
+            if (out == size) {
+                throw new IOException("Corrupt state delta: removed IDs not in the base state");
+            }
+            if (b < base.size() && (s == spawnedCount || base.getId(b) < spawned[s])) {
+                int id = base.getId(b);
+                if (r < removed.length && removed[r] == id) {
+                    r++;
+                    b++;
+                    continue;
+                }
+                ids[out] = id;
+                types[out] = (byte) base.getType(b);
+                xs[out] = base.getX(b);
+                ys[out] = base.getY(b);
+                if (m < movedCount && moved[m] == id) {
+                    xs[out] += movedXs[m];
+                    ys[out] += movedYs[m];
+                    m++;
+                }
+                b++;
+            } else {
+                ids[out] = spawned[s];
+                types[out] = spawnedTypes[s];
+                xs[out] = spawnedXs[s];
+                ys[out] = spawnedYs[s];
+                s++;
+            }
+            out++;
+        }
+        if (out != size || r != removed.length || m != movedCount) {
+            throw new IOException("Corrupt state delta: changed IDs not in the base state");
+        }
+        return new WorldState(tick, shipX, shipY, health, score, level, ids, types, xs, ys);
+    }
+
+    /**
+     * Reads a list of gap-coded IDs, each followed by a type and position if spawned (kind 1), or
+     * by a movement if moved (kind 2).
+     */
+    private static void readIds(ByteBuffer in, int[] ids, int kind, byte[] types, int[] xs, int[] ys)
+            throws IOException {
+        int id = 0;
+        for (int i = 0; i < ids.length; i++) {
+            int gap = readVarInt(in);
+            if (gap <= 0) {
+                throw new IOException("Corrupt state delta: IDs out of order");
+            }
+            id += gap;
+            ids[i] = id;
+            if (kind == 1) {
+                types[i] = in.get();
+            }
+            if (kind != 0) {
+                xs[i] = zigZagDecode(readVarInt(in));
+                ys[i] = zigZagDecode(readVarInt(in));
+            }
+        }
+    }
+
+    /**
+     * Reads the length of a list, which cannot be more than the bytes left, as every entry takes
+     * at least one.
+     */
+    private static int readCount(ByteBuffer in) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new IOException("Corrupt state delta: list of " + Integer.toUnsignedString(count)
+                    + " entries in " + in.remaining() + " bytes");
+        }
+        return count;
+    }
+
+    private void writeChange(int mask, int field, int from, int to) {
+        if ((mask & field) != 0) {
+            writeVarInt(zigZagEncode(to - from));
+        }
+    }
+
+    private static int readChange(ByteBuffer in, int mask, int field, int from) throws IOException {
+        return (mask & field) != 0 ? from + zigZagDecode(readVarInt(in)) : from;
+    }
+
+    private void writeByte(int value) {
+        if (length == bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    /**
+     * Writes an unsigned int in 7-bit groups, low group first, with the top bit set on every
+     * byte but the last.
+     */
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    /**
+     * Reads an unsigned variable-length int.
+     *
+     * @throws BufferUnderflowException if the buffer ends before the int does
+     */
+    static int readVarInt(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt state delta: variable-length int too long");
+    }
+
+    /**
+     * Puts an unsigned variable-length int, as in a delta, such as to frame deltas or acknowledge
+     * ticks.
+     */
+    static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned variable-length int, or returns -1 and leaves the buffer unchanged if it
+     * ends before the int does, as when the rest has not arrived yet.
+     */
+    static int readVarIntIfComplete(ByteBuffer in) throws IOException {
+        int start = in.position();
+        try {
+            return readVarInt(in);
+        } catch (BufferUnderflowException e) {
+            in.position(start);
+            return -1;
+        }
+    }
+
+    /**
+     * Maps signed ints to unsigned ones so that small negative numbers stay short.
+     */
+    static int zigZagEncode(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int zigZagDecode(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
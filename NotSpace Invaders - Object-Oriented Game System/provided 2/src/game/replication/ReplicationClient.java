@@ -0,0 +1,161 @@
+package game.replication;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Follows a game replicated by a {@link ReplicationServer}, rebuilding its {@link WorldState}
+ * from the deltas the server sends.
+ * <p>
+ * The client does its work in {@link #poll(long)}, on the caller's thread, over a non-blocking
+ * socket: it reads whatever deltas have arrived, applies each to the state it was encoded
+ * against, and acknowledges the newest tick applied. The last
+ * {@link ReplicationServer#HISTORY_TICKS} states are kept, since the server encodes against the
+ * last state acknowledged, which may be older than the newest one received.
+ */
+public class ReplicationClient implements Closeable {
+    private final SocketChannel channel;
+    private final Selector selector;
+    private final WorldState[] history = new WorldState[ReplicationServer.HISTORY_TICKS];
+    private final ByteBuffer ack = ByteBuffer.allocate(5).limit(0);
+    private ByteBuffer in = ByteBuffer.allocate(4096);
+    private WorldState state = WorldState.EMPTY;
+    private int ackDue = -1; // The newest tick applied and not yet acknowledged, or -1 for none
+    private long bytesReceived = 0;
+
+    /**
+     * Connects to a replication server.
+     *
+     * @param address the server's address
+     * @throws IOException if the connection could not be made
+     */
+    public ReplicationClient(InetSocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.configureBlocking(false);
+        selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_READ);
+    }
+
+    /**
+     * Waits up to the given time for deltas, then applies every delta that has arrived in full and
+     * acknowledges the newest.
+     *
+     * @param timeoutMillis the longest time to wait for data, in milliseconds, or 0 not to wait
+     * @return the number of deltas applied
+     * @throws IOException if the server closed the connection, sent a corrupt delta, or could not
+     *                     be read from or written to
+     */
+    public int poll(long timeoutMillis) throws IOException {
+        if (timeoutMillis > 0) {
+            selector.select(timeoutMillis);
+        } else {
+            selector.selectNow();
+        }
+        selector.selectedKeys().clear();
+
+        int read;
+        while (true) {
+            if (!in.hasRemaining()) {
+                in = ByteBuffer.allocate(in.capacity() * 2).put(in.flip());
+            }
+            read = channel.read(in);
+            if (read <= 0) {
+                break;
+            }
+            bytesReceived += read;
+        }
+        if (read < 0) {
+            throw new EOFException("The replication server closed the connection");
+        }
+
+        in.flip();
+        int applied = 0;
+        while (true) {
+            int start = in.position();
+            int length = DeltaCodec.readVarIntIfComplete(in);
+            if (length < 0) {
+                break;
+            }
+            if (in.remaining() < length) {
+                in.position(start);
+                break;
+            }
+            ByteBuffer delta = in.slice(in.position(), length);
+            in.position(in.position() + length);
+            apply(delta);
+            applied++;
+        }
+        in.compact();
+        acknowledge();
+        return applied;
+    }
+
+    /**
+     * Returns the newest state received, or WorldState.EMPTY if none has been.
+     *
+     * @return the newest state
+     */
+    public WorldState getState() {
+        return state;
+    }
+
+    /**
+     * Returns the number of bytes received from the server so far.
+     *
+     * @return the bytes received
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Disconnects from the server.
+     *
+     * @throws IOException if the connection could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        selector.close();
+        channel.close();
+    }
+
+    private void apply(ByteBuffer delta) throws IOException {
+        int baseTick = DeltaCodec.baseTick(delta);
+        WorldState base = WorldState.EMPTY;
+        if (baseTick >= 0) {
+            base = history[Math.floorMod(baseTick, history.length)];
+            if (base == null || base.getTick() != baseTick) {
+                throw new IOException("State delta against tick " + baseTick
+                        + ", which is no longer kept");
+            }
+        }
+        WorldState decoded = DeltaCodec.decode(base, delta);
+        history[Math.floorMod(decoded.getTick(), history.length)] = decoded;
+        if (state == WorldState.EMPTY || decoded.getTick() > state.getTick()) {
+            state = decoded;
+            ackDue = decoded.getTick();
+        }
+    }
+
+    /**
+     * Sends the newest tick applied, once the last acknowledgement has been sent. Older ticks
+     * need not be acknowledged, as the server only uses the newest.
+     */
+    private void acknowledge() throws IOException {
+        if (!ack.hasRemaining() && ackDue >= 0) {
+            ack.clear();
+            DeltaCodec.putVarInt(ack, DeltaCodec.zigZagEncode(ackDue));
+            ack.flip();
+            ackDue = -1;
+        }
+        if (ack.hasRemaining()) {
+            channel.write(ack);
+        }
+    }
+}
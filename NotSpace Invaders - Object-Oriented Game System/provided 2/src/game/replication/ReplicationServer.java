@@ -0,0 +1,304 @@
+package game.replication;
+
+import game.GameModel;
+import game.ui.Tickable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends the state of an authoritative game to any number of remote {@link ReplicationClient}s after
+ * every tick, as deltas against the last state each client acknowledged.
+ * <p>
+ * The server is passed to {@link game.GameController#startGame(Tickable, game.ui.KeyHandler)} as
+ * the tick observer, so it takes the game's {@link WorldState} on the game thread after each tick.
+ * One network thread then sends it to every client over non-blocking sockets, through a single
+ * selector. Each delta is framed by its length as a variable-length int, and each client answers
+ * with the ticks it has applied, as signed variable-length ints.
+ * <p>
+ * A client that has not acknowledged any state kept by the server is sent the whole state. A
+ * client still receiving an earlier delta is skipped for this tick; its next delta is against its
+ * last acknowledged state, so it catches up without the server queueing data for it.
+ */
+public class ReplicationServer implements Tickable, Closeable {
+    /**
+     * The number of recent states kept as bases for deltas, and by clients for decoding them.
+     */
+    public static final int HISTORY_TICKS = 64;
+
+    private final StateRecorder recorder;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final AtomicReference<WorldState> latest = new AtomicReference<>();
+    private final WorldState[] history = new WorldState[HISTORY_TICKS]; // network thread only
+    private final DeltaCodec codec = new DeltaCodec(); // network thread only
+    // The framed deltas encoded for the state being published, indexed by their base's history
+    // slot, or HISTORY_TICKS for the empty base; network thread only
+    private final ByteBuffer[] frames = new ByteBuffer[HISTORY_TICKS + 1];
+    private final WorldState[] frameStates = new WorldState[HISTORY_TICKS + 1];
+    private final WorldState[] frameBases = new WorldState[HISTORY_TICKS + 1];
+    private volatile boolean open = true;
+    private volatile int clientCount = 0;
+    private volatile long bytesSent = 0;
+    private volatile long deltasSkipped = 0;
+
+    /**
+     * A connected client and what the server knows about it.
+     */
+    private static final class Peer {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(64);
+        private ByteBuffer out = ByteBuffer.allocate(0);
+        private int acked = -1; // The last tick acknowledged, or -1 for none
+
+        private Peer(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Creates a server replicating the given game to clients connecting to the given address.
+     * No clients are accepted until {@link #start()} is called.
+     *
+     * @param model the authoritative game
+     * @param address the address to listen on, with port 0 for any free port
+     * @throws IOException if the address could not be bound
+     */
+    public ReplicationServer(GameModel model, InetSocketAddress address) throws IOException {
+        recorder = new StateRecorder(model);
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open().bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts accepting clients and sending them states, on the network thread.
+     */
+    public void start() {
+        Thread network = new Thread(this::serve, "replication");
+        network.setDaemon(true);
+        network.start();
+    }
+
+    /**
+     * Takes the state of the game after the given tick and has it sent to every client. Must be
+     * called on the thread that runs the game. Does nothing while no clients are connected.
+     *
+     * @param tick the tick that has just run
+     */
+    @Override
+    public void tick(int tick) {
+        if (clientCount == 0) {
+            return;
+        }
+        latest.set(recorder.record(tick));
+        selector.wakeup();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return ((InetSocketAddress) serverChannel.socket().getLocalSocketAddress()).getPort();
+    }
+
+    /**
+     * Returns the number of clients connected.
+     *
+     * @return the number of clients
+     */
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    /**
+     * Returns the number of bytes sent to all clients so far.
+     *
+     * @return the bytes sent
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Returns the number of times a client was skipped because it was still receiving an earlier
+     * delta.
+     *
+     * @return the number of deltas skipped
+     */
+    public long getDeltasSkipped() {
+        return deltasSkipped;
+    }
+
+    /**
+     * Disconnects every client and stops the network thread.
+     *
+     * @throws IOException if the listening socket could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        open = false;
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void serve() {
+        try {
+            while (open) {
+                selector.select();
+                Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    SelectionKey key = selected.next();
+                    selected.remove();
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        Peer peer = (Peer) key.attachment();
+                        if (key.isReadable()) {
+                            readAcks(key, peer);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(key, peer);
+                        }
+                    } catch (IOException e) {
+                        disconnect(key);
+                    }
+                }
+                WorldState state = latest.getAndSet(null);
+                if (state != null) {
+                    publish(state);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // The server was closed
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new Peer(channel));
+        clientCount++;
+    }
+
+    private void disconnect(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        clientCount--;
+    }
+
+    /**
+     * Sends a new state to every client that has finished receiving the last one. Clients that
+     * acknowledged the same state share one encoded delta.
+     */
+    private void publish(WorldState state) {
+        history[Math.floorMod(state.getTick(), HISTORY_TICKS)] = state;
+        for (SelectionKey key : selector.keys()) {
+            if (!(key.attachment() instanceof Peer peer) || !key.isValid()) {
+                continue;
+            }
+            if (peer.out.hasRemaining()) {
+                deltasSkipped++;
+                continue;
+            }
+            ByteBuffer frame = frameFor(stateAt(peer.acked), state);
+            if (peer.out.capacity() < frame.remaining()) {
+                peer.out = ByteBuffer.allocate(Math.max(frame.remaining(), peer.out.capacity() * 2));
+            }
+            peer.out.clear();
+            peer.out.put(frame.duplicate());
+            peer.out.flip();
+            try {
+                flush(key, peer);
+            } catch (IOException e) {
+                disconnect(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the delta from base to state framed by its length, encoding it only if it has not
+     * already been for another client this tick.
+     */
+    private ByteBuffer frameFor(WorldState base, WorldState state) {
+        int slot = base == WorldState.EMPTY
+                ? HISTORY_TICKS : Math.floorMod(base.getTick(), HISTORY_TICKS);
+        if (frameStates[slot] == state && frameBases[slot] == base) {
+            return frames[slot];
+        }
+        ByteBuffer delta = codec.encode(base, state);
+        int frameLength = 5 + delta.remaining(); // At most five bytes of length
+        ByteBuffer frame = frames[slot];
+        if (frame == null || frame.capacity() < frameLength) {
+            int capacity = frame == null ? frameLength : Math.max(frameLength, frame.capacity() * 2);
+            frame = ByteBuffer.allocate(capacity);
+            frames[slot] = frame;
+        }
+        frame.clear();
+        DeltaCodec.putVarInt(frame, delta.remaining());
+        frame.put(delta);
+        frame.flip();
+        frameStates[slot] = state;
+        frameBases[slot] = base;
+        return frame;
+    }
+
+    /**
+     * Returns the state kept for the given tick, or the empty state if it is no longer kept.
+     */
+    private WorldState stateAt(int tick) {
+        if (tick < 0) {
+            return WorldState.EMPTY;
+        }
+        WorldState state = history[Math.floorMod(tick, HISTORY_TICKS)];
+        return state != null && state.getTick() == tick ? state : WorldState.EMPTY;
+    }
+
+    private void flush(SelectionKey key, Peer peer) throws IOException {
+        bytesSent += peer.channel.write(peer.out);
+        key.interestOps(peer.out.hasRemaining()
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void readAcks(SelectionKey key, Peer peer) throws IOException {
+        if (peer.channel.read(peer.in) < 0) {
+            disconnect(key);
+            return;
+        }
+        peer.in.flip();
+        int ack;
+        while ((ack = DeltaCodec.readVarIntIfComplete(peer.in)) >= 0) {
+            int tick = DeltaCodec.zigZagDecode(ack);
+            if (peer.acked < 0 || tick > peer.acked) {
+                peer.acked = tick;
+            }
+        }
+        peer.in.compact();
+    }
+}
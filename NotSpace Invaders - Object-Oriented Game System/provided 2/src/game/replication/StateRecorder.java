@@ -0,0 +1,73 @@
+package game.replication;
+
+import game.GameModel;
+import game.core.Ship;
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes the WorldState of a game after each tick, giving each SpaceObject an entity ID the first
+ * time it is seen.
+ * <p>
+ * The model keeps objects in the order they were added, so IDs, which only increase, are in that
+ * order too. An object whose ID is no greater than the one before it must have been removed and
+ * added again since, as the model recycles the objects it creates, so it is given a new ID and
+ * replicated as a new entity. IDs of objects no longer in the game are forgotten.
+ */
+final class StateRecorder {
+    private final GameModel model;
+    private final Map<SpaceObject, Integer> ids = new IdentityHashMap<>();
+    private SpaceObject[] previous = new SpaceObject[0];
+    private int nextId = 1;
+
+    StateRecorder(GameModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Returns the state of the game now. Must be called on the thread that runs the game.
+     *
+     * @param tick the tick that has just run
+     * @return the state after the tick
+     */
+    WorldState record(int tick) {
+        List<SpaceObject> objects = model.getSpaceObjects();
+        int size = objects.size();
+        SpaceObject[] current = new SpaceObject[size];
+        int[] entityIds = new int[size];
+        byte[] types = new byte[size];
+        int[] xs = new int[size];
+        int[] ys = new int[size];
+        int lastId = 0;
+        for (int i = 0; i < size; i++) {
+            SpaceObject object = objects.get(i);
+            Integer id = ids.get(object);
+            if (id == null || id <= lastId) {
+                id = nextId++;
+                ids.put(object, id);
+            }
+            current[i] = object;
+            entityIds[i] = id;
+            types[i] = (byte) WorldState.typeOf(object);
+            xs[i] = object.getX();
+            ys[i] = object.getY();
+            lastId = id;
+        }
+
+        for (SpaceObject object : previous) {
+            Integer id = ids.get(object);
+            if (id != null && Arrays.binarySearch(entityIds, id) < 0) {
+                ids.remove(object);
+            }
+        }
+        previous = current;
+
+        Ship ship = model.getShip();
+        return new WorldState(tick, ship.getX(), ship.getY(), ship.getHealth(), ship.getScore(),
+                model.getLevel(), entityIds, types, xs, ys);
+    }
+}
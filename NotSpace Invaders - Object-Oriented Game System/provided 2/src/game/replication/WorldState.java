@@ -0,0 +1,224 @@
+package game.replication;
+
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.HealthPowerUp;
+import game.core.ShieldPowerUp;
+import game.core.Ship;
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+
+/**
+ * The state of a replicated game after one tick, as seen by a remote client: the Ship's position,
+ * health and score, the level, and the type and position of every SpaceObject.
+ * <p>
+ * Each SpaceObject has an entity ID that stays the same for as long as the object is in the game,
+ * so that the changes from one state to the next can be sent as spawned, moved and removed IDs.
+ * Objects are held in increasing ID order.
+ * <p>
+ * States are immutable.
+ */
+public final class WorldState {
+    /**
+     * Entity type of objects that are none of the types below.
+     */
+    public static final int OTHER = 0;
+    /**
+     * Entity type of Bullets.
+     */
+    public static final int BULLET = 1;
+    /**
+     * Entity type of Asteroids.
+     */
+    public static final int ASTEROID = 2;
+    /**
+     * Entity type of Enemies.
+     */
+    public static final int ENEMY = 3;
+    /**
+     * Entity type of HealthPowerUps.
+     */
+    public static final int HEALTH_POWER_UP = 4;
+    /**
+     * Entity type of ShieldPowerUps.
+     */
+    public static final int SHIELD_POWER_UP = 5;
+    /**
+     * Entity type of the Ship, which is never one of a state's objects but is drawn with them.
+     */
+    public static final int SHIP = 6;
+
+    /**
+     * The state before any tick: no objects, and every Ship stat 0.
+     */
+    public static final WorldState EMPTY = new WorldState(-1, 0, 0, 0, 0, 0,
+            new int[0], new byte[0], new int[0], new int[0]);
+
+    private final int tick;
+    private final int shipX;
+    private final int shipY;
+    private final int health;
+    private final int score;
+    private final int level;
+    private final int[] ids;
+    private final byte[] types;
+    private final int[] xs;
+    private final int[] ys;
+
+    /**
+     * Creates a state holding the given arrays, which must not be changed afterwards and must be
+     * in increasing ID order.
+     */
+    WorldState(int tick, int shipX, int shipY, int health, int score, int level,
+               int[] ids, byte[] types, int[] xs, int[] ys) {
+        this.tick = tick;
+        this.shipX = shipX;
+        this.shipY = shipY;
+        this.health = health;
+        this.score = score;
+        this.level = level;
+        this.ids = ids;
+        this.types = types;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * Returns the entity type of a SpaceObject, one of the type constants.
+     *
+     * @param object the object
+     * @return the entity type of the object
+     */
+    public static int typeOf(SpaceObject object) {
+        if (object instanceof Bullet) {
+            return BULLET;
+        } else if (object instanceof Asteroid) {
+            return ASTEROID;
+        } else if (object instanceof Enemy) {
+            return ENEMY;
+        } else if (object instanceof HealthPowerUp) {
+            return HEALTH_POWER_UP;
+        } else if (object instanceof ShieldPowerUp) {
+            return SHIELD_POWER_UP;
+        } else if (object instanceof Ship) {
+            return SHIP;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Returns the tick after which this state was taken, or -1 for the empty state.
+     *
+     * @return the tick
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the Ship's x-coordinate.
+     *
+     * @return the Ship's x-coordinate
+     */
+    public int getShipX() {
+        return shipX;
+    }
+
+    /**
+     * Returns the Ship's y-coordinate.
+     *
+     * @return the Ship's y-coordinate
+     */
+    public int getShipY() {
+        return shipY;
+    }
+
+    /**
+     * Returns the Ship's health.
+     *
+     * @return the Ship's health
+     */
+    public int getHealth() {
+        return health;
+    }
+
+    /**
+     * Returns the Ship's score.
+     *
+     * @return the Ship's score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the game level.
+     *
+     * @return the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the number of SpaceObjects.
+     *
+     * @return the number of objects
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the entity ID of the object at the given index.
+     *
+     * @param index the index, from 0 to size() - 1, in increasing ID order
+     * @return the object's entity ID
+     */
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the entity type of the object at the given index.
+     *
+     * @param index the index, from 0 to size() - 1, in increasing ID order
+     * @return the object's entity type
+     */
+    public int getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the x-coordinate of the object at the given index.
+     *
+     * @param index the index, from 0 to size() - 1, in increasing ID order
+     * @return the object's x-coordinate
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Returns the y-coordinate of the object at the given index.
+     *
+     * @param index the index, from 0 to size() - 1, in increasing ID order
+     * @return the object's y-coordinate
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Returns the index of the object with the given entity ID, or a negative number if there is
+     * no such object.
+     *
+     * @param id the entity ID
+     * @return the index of the object, or a negative number
+     */
+    public int indexOf(int id) {
+        return Arrays.binarySearch(ids, id);
+    }
+}
@@ -0,0 +1,155 @@
+package game.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many independent games in one process, one per connected player.
+ * <p>
+ * Every connection gets its own {@link GameSession}: a new game on a headless UI, ticking at a
+ * fixed rate on its own virtual thread, so thousands of sessions share a few carrier threads.
+ * <p>
+ * Players talk to their session over a line-based ASCII protocol:<br>
+ * - on connecting, the server sends {@code NSI <version> <session>}<br>
+ * - each line the player sends is one command: a key passed to
+ * {@link game.GameController#handlePlayerInput(String)} (W, A, S, D, F or P),
+ * {@code STATUS}, or {@code QUIT}<br>
+ * - {@code STATUS} is answered with
+ * {@code STATUS <tick> <score> <health> <level> <objects> <shipX> <shipY>}<br>
+ * - when the ship is destroyed, the server sends {@code GAMEOVER <score>} and closes the
+ * connection<br>
+ * <p>
+ * Usage: {@code GameServer [port] [tickMillis]}<br>
+ * - port: the local port to listen on (default 7777)<br>
+ * - tickMillis: the time between ticks, in milliseconds (default 100, as in the GUI)<br>
+ */
+public class GameServer implements Closeable {
+    /**
+     * The port listened on if no other is given.
+     */
+    public static final int DEFAULT_PORT = 7777;
+    /**
+     * The time between ticks if no other is given, the same as the GUI's.
+     */
+    public static final int DEFAULT_TICK_MILLIS = 100;
+    /**
+     * The first word of the line sent to every player on connecting.
+     */
+    public static final String GREETING = "NSI";
+    /**
+     * The protocol version sent to every player on connecting.
+     */
+    public static final int PROTOCOL_VERSION = 1;
+
+    private final ServerSocketChannel serverChannel;
+    private final int tickMillis;
+    private final Map<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private volatile boolean open = true;
+
+    /**
+     * Creates a server listening on the given address, whose games tick once every tickMillis
+     * milliseconds. No players are accepted until {@link #start()} is called.
+     *
+     * @param address the address to listen on, with port 0 for any free port
+     * @param tickMillis the time between ticks, in milliseconds
+     * @throws IOException if the address could not be bound
+     * @throws IllegalArgumentException if tickMillis is less than 1
+     */
+    public GameServer(InetSocketAddress address, int tickMillis) throws IOException {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick time must be at least 1 ms, got " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        serverChannel = ServerSocketChannel.open().bind(address);
+    }
+
+    /**
+     * Starts accepting players on a virtual thread.
+     */
+    public void start() {
+        Thread.ofVirtual().name("game-server-accept").start(this::acceptPlayers);
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return ((InetSocketAddress) serverChannel.socket().getLocalSocketAddress()).getPort();
+    }
+
+    /**
+     * Returns the number of sessions currently being played.
+     *
+     * @return the number of sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops accepting players and ends every session.
+     *
+     * @throws IOException if the listening socket could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        open = false;
+        serverChannel.close();
+        for (GameSession session : sessions.values()) {
+            session.close();
+        }
+    }
+
+    /**
+     * Forgets a session that has ended.
+     */
+    void remove(GameSession session) {
+        sessions.remove(session.getId());
+    }
+
+    private void acceptPlayers() {
+        try {
+            while (open) {
+                SocketChannel channel = serverChannel.accept();
+                GameSession session = new GameSession(nextId.getAndIncrement(), channel, tickMillis, this);
+                sessions.put(session.getId(), session);
+                if (!open) {
+                    session.close(); // Closed while accepting, so close() may have missed it
+                }
+                Thread.ofVirtual().name("session-" + session.getId()).start(session);
+            }
+        } catch (AsynchronousCloseException e) {
+            // The server was closed
+        } catch (IOException e) {
+            System.err.println("Game server stopped accepting players: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The server entry point.
+     * @param args command-line arguments: [port] [tickMillis]
+     * @throws IOException if the port could not be bound
+     * @throws InterruptedException if interrupted while serving
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int tickMillis = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICK_MILLIS;
+
+        GameServer server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                tickMillis);
+        server.start();
+        System.out.println("Serving games on port " + server.getPort());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,190 @@
+package game.server;
+
+import game.GameController;
+import game.GameModel;
+import game.Main;
+import game.achievements.AchievementManager;
+import game.achievements.InMemoryAchievementFile;
+import game.achievements.PlayerStatsTracker;
+import game.ui.headless.HeadlessUI;
+import game.ui.headless.InputScript;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One player's game on a {@link GameServer}, played over one connection.
+ * <p>
+ * The game runs on the session's own virtual thread, at a fixed timestep, on a HeadlessUI. A second
+ * virtual thread reads the player's commands and queues them; the game thread handles them as soon
+ * as it wakes, so all game logic runs on one thread, as in the GUI's simulation loop.
+ */
+final class GameSession implements Runnable {
+    /**
+     * The most ticks run back to back to catch up before the schedule is reset.
+     */
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    private static final int MAX_LINE_LENGTH = 64;
+
+    private final int id;
+    private final SocketChannel channel;
+    private final long periodNanos;
+    private final GameServer server;
+    private final HeadlessUI ui = new HeadlessUI(InputScript.none());
+    private final GameController controller;
+    private final Queue<String> input = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = true;
+    private volatile Thread thread;
+
+    /**
+     * Creates a session playing a new game over the given connection.
+     *
+     * @param id the session's number, unique within its server
+     * @param channel the player's connection, in blocking mode
+     * @param tickMillis the time between ticks, in milliseconds
+     * @param server the server to leave once the session ends
+     */
+    GameSession(int id, SocketChannel channel, int tickMillis, GameServer server) {
+        this.id = id;
+        this.channel = channel;
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.server = server;
+        GameModel model = new GameModel(ui::log, new PlayerStatsTracker());
+        AchievementManager achievementManager = new AchievementManager(new InMemoryAchievementFile());
+        Main.addStandardAchievements(achievementManager);
+        controller = new GameController(ui, model, achievementManager);
+        controller.startGame();
+    }
+
+    int getId() {
+        return id;
+    }
+
+    /**
+     * Runs the game until the player quits or disconnects, the game ends, or the session is closed.
+     */
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        Thread.ofVirtual().name("session-" + id + "-input").start(this::readInput);
+        try {
+            writeLine(GameServer.GREETING + " " + GameServer.PROTOCOL_VERSION + " " + id);
+            long nextTick = System.nanoTime() + periodNanos;
+            while (running) {
+                drainInput();
+                if (ui.isGameOver()) {
+                    writeLine("GAMEOVER " + controller.getModel().getShip().getScore());
+                    break;
+                }
+                long now = System.nanoTime();
+                if (now < nextTick) {
+                    LockSupport.parkNanos(this, nextTick - now); // woken early by commands
+                    continue;
+                }
+                ui.run(1);
+                nextTick += periodNanos;
+                if (System.nanoTime() - nextTick > MAX_CATCH_UP_TICKS * periodNanos) {
+                    nextTick = System.nanoTime() + periodNanos; // too far behind, drop the missed ticks
+                }
+            }
+        } catch (IOException e) {
+            // The player disconnected; the session simply ends
+        } finally {
+            close();
+            server.remove(this);
+        }
+    }
+
+    /**
+     * Ends the session and closes its connection.
+     */
+    void close() {
+        running = false;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        Thread game = thread;
+        if (game != null) {
+            LockSupport.unpark(game);
+        }
+    }
+
+    /**
+     * Handles every queued command on the game thread.
+     */
+    private void drainInput() throws IOException {
+        String command;
+        while (running && (command = input.poll()) != null) {
+            switch (command) {
+                case "QUIT" -> running = false;
+                case "STATUS" -> writeLine(status());
+                default -> ui.press(command);
+            }
+        }
+    }
+
+    private String status() {
+        GameModel model = controller.getModel();
+        return "STATUS " + ui.getTick() + " " + model.getShip().getScore() + " "
+                + model.getShip().getHealth() + " " + model.getLevel() + " "
+                + model.getSpaceObjects().size() + " " + model.getShip().getX() + " "
+                + model.getShip().getY();
+    }
+
+    private void writeLine(String line) throws IOException {
+        ByteBuffer bytes = StandardCharsets.US_ASCII.encode(line + "\n");
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    /**
+     * Reads commands, one per line, and queues them for the game thread, until the connection
+     * ends. The end of the connection, or a line too long to be a command, is queued as QUIT.
+     */
+    private void readInput() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        StringBuilder line = new StringBuilder();
+        try {
+            while (running && channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    char c = (char) (buffer.get() & 0xFF);
+                    if (c == '\n') {
+                        String command = line.toString().trim();
+                        line.setLength(0);
+                        if (!command.isEmpty()) {
+                            submit(command);
+                        }
+                    } else if (line.length() == MAX_LINE_LENGTH) {
+                        return;
+                    } else {
+                        line.append(c);
+                    }
+                }
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            // The connection was closed
+        } finally {
+            submit("QUIT");
+        }
+    }
+
+    private void submit(String command) {
+        input.offer(command);
+        Thread game = thread;
+        if (game != null) {
+            LockSupport.unpark(game);
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package game.spectator;
+
+import game.core.SpaceObject;
+import game.replication.WorldState;
+import game.ui.FrameObserver;
+import game.ui.StatsFrame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams every frame the game draws to any number of spectators, who only watch.
+ * <p>
+ * The feed is set as the game's {@link FrameObserver}, so it sees each frame on the game thread
+ * straight after the UI does, and encodes it once into a direct buffer. One network thread then
+ * writes that same buffer to every spectator over non-blocking sockets, through a single selector;
+ * each spectator is given its own read-only duplicate of the buffer, holding only its position, so
+ * no frame is copied per spectator.
+ * <p>
+ * Frames are encoded into a small ring of buffers, reused in turn. The network thread tells the
+ * game thread which frame each buffer's spectators are still being sent, by frame number, and a
+ * buffer still being sent is replaced by a new one rather than written over.
+ * <p>
+ * A spectator still receiving an earlier frame is not queued the new one. When it finishes, it is
+ * sent the newest frame, so a slow spectator skips frames and never holds more than the one it is
+ * being sent.
+ * <p>
+ * Each frame is, in big-endian order: its length in bytes after this field as an int, the frame
+ * number as an int, the number of stats as a byte and each stat's label and value as a short
+ * length and UTF-8 bytes, then the number of objects as an int and each object's
+ * {@link WorldState} entity type as a byte and x and y as ints. Spectators only ever join at the
+ * start of a frame.
+ */
+public class SpectatorFeed implements FrameObserver, Closeable {
+    /**
+     * The number of buffers frames are encoded into in turn.
+     */
+    private static final int FRAME_BUFFERS = 4;
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final AtomicReference<Frame> latest = new AtomicReference<>();
+    private final Frame[] frames = new Frame[FRAME_BUFFERS]; // game thread only
+    // The newest frame number spectators are being sent from each buffer, or -1 for none
+    private final AtomicIntegerArray sending = new AtomicIntegerArray(FRAME_BUFFERS);
+    private final int[] sendingScratch = new int[FRAME_BUFFERS]; // network thread only
+    private final ByteBuffer discard = ByteBuffer.allocate(256); // network thread only
+    private int frameCapacity = 4096; // game thread only
+    private int frameNumber = 0; // game thread only
+    private long published = -1; // network thread only
+    // The newest frame the network thread has taken; it never starts sending an older one
+    private volatile int taken = -1;
+    private volatile boolean open = true;
+    private volatile int spectatorCount = 0;
+    private volatile long framesEncoded = 0;
+    private volatile long framesSkipped = 0;
+    private volatile long bytesSent = 0;
+
+    /**
+     * A buffer in the ring and the frame encoded in it, shared by every spectator sent it.
+     */
+    private static final class Frame {
+        private final ByteBuffer buffer; // Written by the game thread
+        private final ByteBuffer data; // A read-only view of the encoded frame
+        private int number = -1;
+
+        private Frame(int capacity) {
+            buffer = ByteBuffer.allocateDirect(capacity);
+            data = buffer.asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * A connected spectator and the frame it is being sent.
+     */
+    private static final class Spectator {
+        private final SocketChannel channel;
+        private ByteBuffer sending = ByteBuffer.allocate(0); // A duplicate of the frame's data
+        private int frame = -1; // The number of the last frame started, or -1 for none
+
+        private Spectator(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Creates a feed for spectators connecting to the given address. No spectators are accepted
+     * until {@link #start()} is called.
+     *
+     * @param address the address to listen on, with port 0 for any free port
+     * @throws IOException if the address could not be bound
+     */
+    public SpectatorFeed(InetSocketAddress address) throws IOException {
+        for (int i = 0; i < FRAME_BUFFERS; i++) {
+            sending.set(i, -1);
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open().bind(address);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts accepting spectators and sending them frames, on the network thread.
+     */
+    public void start() {
+        Thread network = new Thread(this::serve, "spectators");
+        network.setDaemon(true);
+        network.start();
+    }
+
+    /**
+     * Encodes the frame and has it sent to every spectator. Must be called on the thread that
+     * draws the game. Frames are numbered even while no spectators are connected, but are not
+     * encoded.
+     *
+     * @param objects every SpaceObject drawn, including the Ship
+     * @param stats the stats shown with the frame
+     */
+    @Override
+    public void onFrame(List<SpaceObject> objects, StatsFrame stats) {
+        int number = frameNumber++;
+        if (spectatorCount == 0) {
+            return;
+        }
+        int slot = Math.floorMod(number, FRAME_BUFFERS);
+        Frame frame = frames[slot];
+        if (frame == null || !isReusable(slot, frame)) {
+            frame = new Frame(frameCapacity);
+            frames[slot] = frame;
+        }
+        while (!encode(frame.buffer, number, objects, stats)) {
+            frameCapacity *= 2;
+            frame = new Frame(frameCapacity);
+            frames[slot] = frame;
+        }
+        frame.number = number;
+        frame.data.clear().limit(frame.buffer.position());
+        latest.set(frame);
+        framesEncoded++;
+        selector.wakeup();
+    }
+
+    /**
+     * Returns the port the feed is listening on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return ((InetSocketAddress) serverChannel.socket().getLocalSocketAddress()).getPort();
+    }
+
+    /**
+     * Returns the number of spectators connected.
+     *
+     * @return the number of spectators
+     */
+    public int getSpectatorCount() {
+        return spectatorCount;
+    }
+
+    /**
+     * Returns the number of frames encoded, each once however many spectators it was sent to.
+     *
+     * @return the frames encoded
+     */
+    public long getFramesEncoded() {
+        return framesEncoded;
+    }
+
+    /**
+     * Returns the number of frames spectators missed because they were still receiving an earlier
+     * frame, summed over every spectator.
+     *
+     * @return the frames skipped
+     */
+    public long getFramesSkipped() {
+        return framesSkipped;
+    }
+
+    /**
+     * Returns the number of bytes sent to all spectators so far.
+     *
+     * @return the bytes sent
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Disconnects every spectator and stops the network thread.
+     *
+     * @throws IOException if the listening socket could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        open = false;
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    /**
+     * Returns whether the frame in the given slot can be written over: the network thread has
+     * taken a newer frame, so will not start sending this one, and no spectator is still being sent
+     * it.
+     */
+    private boolean isReusable(int slot, Frame frame) {
+        // Read in the opposite order to which the network thread writes them
+        return frame.number < taken && sending.get(slot) != frame.number;
+    }
+
+    /**
+     * Encodes a frame into the given buffer.
+     *
+     * @return true if the frame fit, false if a larger buffer is needed
+     */
+    private static boolean encode(ByteBuffer buffer, int number, List<SpaceObject> objects,
+                                  StatsFrame stats) {
+        try {
+            buffer.clear();
+            buffer.putInt(0); // The length, once known
+            buffer.putInt(number);
+            buffer.put((byte) stats.size());
+            for (int i = 0; i < stats.size(); i++) {
+                putString(buffer, stats.getLabel(i));
+                putString(buffer, stats.getValue(i));
+            }
+            buffer.putInt(objects.size());
+            for (int i = 0; i < objects.size(); i++) {
+                SpaceObject object = objects.get(i);
+                buffer.put((byte) WorldState.typeOf(object));
+                buffer.putInt(object.getX());
+                buffer.putInt(object.getY());
+            }
+            buffer.putInt(0, buffer.position() - Integer.BYTES);
+            return true;
+        } catch (BufferOverflowException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes, a character at a time so no byte array is
+     * made. An unpaired surrogate is written as '?', as String.getBytes does.
+     */
+    private static void putString(ByteBuffer buffer, String value) {
+        int lengthAt = buffer.position();
+        buffer.putShort((short) 0); // The length, once known
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        buffer.putShort(lengthAt, (short) (buffer.position() - lengthAt - Short.BYTES));
+    }
+
+    private void serve() {
+        try {
+            while (open) {
+                selector.select();
+                Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+                while (selected.hasNext()) {
+                    SelectionKey key = selected.next();
+                    selected.remove();
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        Spectator spectator = (Spectator) key.attachment();
+                        if (key.isReadable()) {
+                            drain(key, spectator);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            send(key, spectator);
+                        }
+                    } catch (IOException e) {
+                        disconnect(key);
+                    }
+                }
+                Frame frame = latest.get();
+                if (frame != null && frame.number > published) {
+                    published = frame.number;
+                    publish();
+                }
+                if (frame != null) {
+                    release(frame.number);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // The feed was closed
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new Spectator(channel));
+        spectatorCount++;
+    }
+
+    private void disconnect(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        spectatorCount--;
+    }
+
+    /**
+     * Starts the newest frame on every spectator that has finished its last one. The others are
+     * sent it, or a newer one, when they finish.
+     */
+    private void publish() {
+        for (SelectionKey key : selector.keys()) {
+            if (!(key.attachment() instanceof Spectator spectator) || !key.isValid()) {
+                continue;
+            }
+            if (spectator.sending.hasRemaining()) {
+                continue;
+            }
+            try {
+                send(key, spectator);
+            } catch (IOException e) {
+                disconnect(key);
+            }
+        }
+    }
+
+    /**
+     * Tells the game thread which frames are still being sent, so it can reuse the buffers of the
+     * others. Any frame started later is newer than the given one, taken before looking.
+     */
+    private void release(int newest) {
+        Arrays.fill(sendingScratch, -1);
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Spectator spectator && spectator.sending.hasRemaining()) {
+                int slot = Math.floorMod(spectator.frame, FRAME_BUFFERS);
+                sendingScratch[slot] = Math.max(sendingScratch[slot], spectator.frame);
+            }
+        }
+        for (int i = 0; i < FRAME_BUFFERS; i++) {
+            sending.set(i, sendingScratch[i]);
+        }
+        taken = newest;
+    }
+
+    /**
+     * Writes as much of the spectator's frame as the socket takes, moving on to the newest frame
+     * whenever one is finished, and waits to write again if the socket fills.
+     */
+    private void send(SelectionKey key, Spectator spectator) throws IOException {
+        while (true) {
+            if (!spectator.sending.hasRemaining()) {
+                Frame frame = latest.get();
+                if (frame == null || frame.number <= spectator.frame) {
+                    break;
+                }
+                if (spectator.frame >= 0) {
+                    framesSkipped += frame.number - spectator.frame - 1;
+                }
+                spectator.frame = frame.number;
+                spectator.sending = frame.data.duplicate();
+            }
+            int written = spectator.channel.write(spectator.sending);
+            bytesSent += written;
+            if (spectator.sending.hasRemaining()) {
+                break;
+            }
+        }
+        key.interestOps(spectator.sending.hasRemaining()
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    /**
+     * Reads and ignores anything a spectator sends, to notice when it disconnects.
+     */
+    private void drain(SelectionKey key, Spectator spectator) throws IOException {
+        int read;
+        do {
+            discard.clear();
+            read = spectator.channel.read(discard);
+        } while (read > 0);
+        if (read < 0) {
+            disconnect(key);
+        }
+    }
+}
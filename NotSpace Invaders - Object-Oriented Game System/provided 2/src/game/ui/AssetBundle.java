@@ -0,0 +1,84 @@
+package game.ui;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes asset bundles: many asset files packed into one binary file.
+ * <p>
+ * A bundle starts with the magic number {@code NSAB} and a format version, followed by the number
+ * of entries. Each entry is its asset path (as written by DataOutputStream.writeUTF), the length
+ * of its contents in bytes, and the contents themselves, undecoded.
+ */
+public final class AssetBundle {
+    /**
+     * The first four bytes of every bundle, "NSAB".
+     */
+    public static final int MAGIC = 0x4E534142;
+    /**
+     * The bundle format version written by this class.
+     */
+    public static final int VERSION = 1;
+
+    private AssetBundle() {
+    }
+
+    /**
+     * Writes the given assets as a bundle.
+     *
+     * @param out the stream to write to, which is not closed
+     * @param assets the contents of each asset, by asset path
+     * @throws IOException if the bundle could not be written
+     */
+    public static void write(OutputStream out, Map<String, byte[]> assets) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(assets.size());
+        for (Map.Entry<String, byte[]> asset : assets.entrySet()) {
+            data.writeUTF(asset.getKey());
+            data.writeInt(asset.getValue().length);
+            data.write(asset.getValue());
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads every asset from a bundle, without decoding them.
+     *
+     * @param in the stream to read from, which is not closed
+     * @return the contents of each asset, by asset path, in bundle order
+     * @throws IOException if the stream is not a valid bundle or could not be read
+     */
+    public static Map<String, byte[]> read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not an asset bundle");
+        }
+        int version = data.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported asset bundle version: " + version);
+        }
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupt asset bundle: " + count + " entries");
+        }
+        Map<String, byte[]> assets = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String path = data.readUTF();
+            int length = data.readInt();
+            if (length < 0) {
+                throw new IOException("Corrupt asset bundle entry: " + path);
+            }
+            byte[] contents = new byte[length];
+            data.readFully(contents);
+            assets.put(path, contents);
+        }
+        return assets;
+    }
+}
@@ -0,0 +1,45 @@
+package game.ui;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Command-line tool that packs every PNG in the assets directory into an asset bundle.
+ * <p>
+ * Usage: {@code AssetBundler [assets directory] [bundle file]}<br>
+ * - assets directory: the directory holding the sprites (default "assets")<br>
+ * - bundle file: where to write the bundle (default "assets/sprites.bundle")<br>
+ * <p>
+ * Entries are named "assets/{file name}", the same paths the sprites are rendered with, and
+ * are written in name order so the same sprites always produce the same bundle. Run this again
+ * whenever a sprite changes.
+ */
+public class AssetBundler {
+    /**
+     * The tool entry point.
+     * @param args command-line arguments: [assets directory] [bundle file]
+     * @throws IOException if the sprites could not be read or the bundle written
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : Assets.ASSET_DIRECTORY);
+        Path bundle = Paths.get(args.length > 1 ? args[1] : Assets.BUNDLE_PATH);
+
+        Map<String, byte[]> assets = new TreeMap<>();
+        try (DirectoryStream<Path> sprites = Files.newDirectoryStream(directory, "*.png")) {
+            for (Path sprite : sprites) {
+                assets.put(Assets.ASSET_DIRECTORY + "/" + sprite.getFileName(), Files.readAllBytes(sprite));
+            }
+        }
+        try (OutputStream out = Files.newOutputStream(bundle)) {
+            AssetBundle.write(out, assets);
+        }
+        System.out.printf("Bundled %d sprites into %s (%,d bytes)%n",
+                assets.size(), bundle, Files.size(bundle));
+    }
+}
@@ -0,0 +1,144 @@
+package game.ui;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads sprite images, preferring the classpath over the working directory.
+ * <p>
+ * An image path such as "assets/ship.png" is looked up, in order:<br>
+ * - among the images already resident, e.g. from {@link #loadBundle()}<br>
+ * - as the classpath resource "/assets/ship.png"<br>
+ * - as a file relative to the working directory<br>
+ * so the game finds its sprites wherever it is launched from, as long as the assets are on
+ * the classpath. Decoded images are kept, so each is only read once.
+ */
+public final class Assets {
+    /**
+     * The directory sprites are kept in, and the prefix of their paths.
+     */
+    public static final String ASSET_DIRECTORY = "assets";
+    /**
+     * The path of the bundle holding every sprite, both on the classpath and on disk.
+     */
+    public static final String BUNDLE_PATH = ASSET_DIRECTORY + "/sprites.bundle";
+
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+    private Assets() {
+    }
+
+    /**
+     * Returns the image at the given path, loading it if it is not yet resident.
+     *
+     * @param path the image path, such as "assets/ship.png"
+     * @return the decoded image
+     * @throws IOException if no image could be found or decoded at the path
+     */
+    public static Image get(String path) throws IOException {
+        Image image = IMAGES.get(path);
+        if (image != null) {
+            return image;
+        }
+        image = read(path);
+        Image existing = IMAGES.putIfAbsent(path, image);
+        return existing != null ? existing : image;
+    }
+
+    /**
+     * Returns whether the image at the given path has already been loaded.
+     *
+     * @param path the image path
+     * @return true if the image is resident, false otherwise
+     */
+    public static boolean isResident(String path) {
+        return IMAGES.containsKey(path);
+    }
+
+    /**
+     * Loads every sprite in the asset bundle, decoding them in parallel, and waits until they
+     * are all resident.<br>
+     * <p>
+     * The bundle is read from the classpath, or failing that from the working directory. If there
+     * is no bundle, nothing is loaded and sprites are loaded individually when first used.
+     *
+     * @return the number of sprites loaded
+     * @throws IOException if the bundle exists but could not be read or decoded
+     */
+    public static int loadBundle() throws IOException {
+        Map<String, byte[]> bundle;
+        try (InputStream in = open(BUNDLE_PATH)) {
+            if (in == null) {
+                return 0;
+            }
+            bundle = AssetBundle.read(in);
+        }
+
+        List<CompletableFuture<Void>> decoding = new ArrayList<>();
+        for (Map.Entry<String, byte[]> asset : bundle.entrySet()) {
+            decoding.add(CompletableFuture.runAsync(() ->
+                    IMAGES.put(asset.getKey(), decode(asset.getKey(), asset.getValue()))));
+        }
+        try {
+            CompletableFuture.allOf(decoding.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+        return bundle.size();
+    }
+
+    private static Image decode(String path, byte[] contents) {
+        try {
+            Image image = ImageIO.read(new ByteArrayInputStream(contents));
+            if (image == null) {
+                throw new IOException("Not a supported image: " + path);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Image read(String path) throws IOException {
+        try (InputStream in = open(path)) {
+            if (in == null) {
+                throw new IOException("Image path not found: " + path);
+            }
+            Image image = ImageIO.read(in);
+            if (image == null) {
+                throw new IOException("Not a supported image: " + path);
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Opens the asset at the given path from the classpath, or failing that from the working
+     * directory.
+     *
+     * @return a stream of the asset's contents, or null if it does not exist
+     */
+    private static InputStream open(String path) throws IOException {
+        InputStream resource = Assets.class.getResourceAsStream("/" + path);
+        if (resource != null) {
+            return resource;
+        }
+        File file = new File(path);
+        return file.isFile() ? new FileInputStream(file) : null;
+    }
+}
@@ -0,0 +1,19 @@
+package game.ui;
+
+import game.core.SpaceObject;
+
+import java.util.List;
+
+/**
+ * Represents an object shown every frame the game draws, alongside the UI.
+ */
+public interface FrameObserver {
+    /**
+     * Shows the observer the frame just passed to the UI. The list and stats are reused from one
+     * frame to the next, so they must not be kept or changed.
+     *
+     * @param objects every SpaceObject drawn, including the Ship
+     * @param stats the stats shown with the frame
+     */
+    void onFrame(List<SpaceObject> objects, StatsFrame stats);
+}
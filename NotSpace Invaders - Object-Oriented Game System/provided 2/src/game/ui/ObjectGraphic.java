@@ -1,12 +1,15 @@
 package game.ui;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
-import java.io.File;
 import java.io.IOException;
 
 /**
  * Represents the way an object is represented.
+ * <p>
+ * ObjectGraphics are immutable, so a single instance can be shared by every object of a type.
+ * Use {@link SpriteRegistry#get(String, String)} to avoid decoding the same image repeatedly.
+ * Images are loaded through {@link Assets}, so they are found on the classpath as well as in
+ * the working directory.
  */
 public class ObjectGraphic {
     private final String textRepresentation;
@@ -20,7 +23,7 @@ public class ObjectGraphic {
     public ObjectGraphic(String textRepresentation, String pathToImage) {
         this.textRepresentation = textRepresentation;
         try {
-            this.graphicalRepresentation = ImageIO.read(new File(pathToImage));
+            this.graphicalRepresentation = Assets.get(pathToImage);
         } catch (IOException e) {
             // programming error, turn into runtime
             throw new RuntimeException("Image path not found: " + pathToImage);
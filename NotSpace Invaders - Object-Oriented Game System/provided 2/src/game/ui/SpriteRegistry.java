@@ -0,0 +1,35 @@
+package game.ui;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches decoded ObjectGraphics so that each sprite is only read from disk once.
+ * <p>
+ * Graphics are keyed by their image path, and the same instance is handed out to every caller.
+ * ObjectGraphics are immutable, so sharing them between objects and threads is safe.
+ */
+public final class SpriteRegistry {
+    private static final Map<String, ObjectGraphic> GRAPHICS = new ConcurrentHashMap<>();
+
+    private SpriteRegistry() {
+    }
+
+    /**
+     * Returns the shared ObjectGraphic for the given image path, decoding the image on first use.<br>
+     * <p>
+     * The text representation is only used when the graphic is first created.
+     *
+     * @param textRepresentation the text representation of the graphic
+     * @param pathToImage the path of the image to decode
+     * @return the shared ObjectGraphic for the image path
+     */
+    public static ObjectGraphic get(String textRepresentation, String pathToImage) {
+        ObjectGraphic graphic = GRAPHICS.get(pathToImage);
+        if (graphic == null) {
+            graphic = GRAPHICS.computeIfAbsent(pathToImage,
+                    path -> new ObjectGraphic(textRepresentation, path));
+        }
+        return graphic;
+    }
+}
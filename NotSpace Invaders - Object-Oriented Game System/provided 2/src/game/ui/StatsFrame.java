@@ -0,0 +1,146 @@
+package game.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A set of stat labels and values built up over a frame, which remembers which values changed.
+ * <p>
+ * The game sets every stat each frame, passes the frame to {@link UI#setStats(StatsFrame)}, then
+ * calls {@link #clearChanges()}. A UI only needs to apply the stats that changed since the last
+ * frame. Labels keep the order they were first set in.
+ */
+public class StatsFrame {
+    private final List<String> labels = new ArrayList<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<Boolean> changed = new ArrayList<>();
+    private int changes = 0;
+
+    /**
+     * Sets the stat with the given label, marking it changed if its value differs from before.
+     *
+     * @param label the stat label
+     * @param value the stat value
+     */
+    public void set(String label, String value) {
+        int index = indexOf(label);
+        if (index < 0) {
+            labels.add(label);
+            values.add(value);
+            changed.add(Boolean.TRUE);
+            changes++;
+            return;
+        }
+        if (Objects.equals(values.get(index), value)) {
+            return;
+        }
+        values.set(index, value);
+        if (!changed.get(index)) {
+            changed.set(index, Boolean.TRUE);
+            changes++;
+        }
+    }
+
+    /**
+     * Returns the current value of the stat with the given label.
+     *
+     * @param label the stat label
+     * @return the stat's value, or null if it has not been set
+     */
+    public String get(String label) {
+        int index = indexOf(label);
+        return index < 0 ? null : values.get(index);
+    }
+
+    /**
+     * Returns whether any stat has changed since changes were last cleared.
+     *
+     * @return true if any stat changed, false otherwise
+     */
+    public boolean hasChanges() {
+        return changes > 0;
+    }
+
+    /**
+     * Returns the number of stats set.
+     *
+     * @return the number of stats
+     */
+    public int size() {
+        return labels.size();
+    }
+
+    /**
+     * Returns the label of the stat at the given index, in the order labels were first set.
+     *
+     * @param index the stat's index, from 0 to size() - 1
+     * @return the stat's label
+     */
+    public String getLabel(int index) {
+        return labels.get(index);
+    }
+
+    /**
+     * Returns the value of the stat at the given index, in the order labels were first set.
+     *
+     * @param index the stat's index, from 0 to size() - 1
+     * @return the stat's value
+     */
+    public String getValue(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * Passes every stat's label and value to the given action, in label order, whether or not it
+     * changed.
+     *
+     * @param action the action to apply to each stat
+     */
+    public void forEach(BiConsumer<String, String> action) {
+        for (int i = 0; i < labels.size(); i++) {
+            action.accept(labels.get(i), values.get(i));
+        }
+    }
+
+    /**
+     * Passes each changed stat's label and value to the given action, in label order.
+     *
+     * @param action the action to apply to each changed stat
+     */
+    public void forEachChanged(BiConsumer<String, String> action) {
+        if (changes == 0) {
+            return;
+        }
+        for (int i = 0; i < labels.size(); i++) {
+            if (changed.get(i)) {
+                action.accept(labels.get(i), values.get(i));
+            }
+        }
+    }
+
+    /**
+     * Marks every stat as unchanged, once the frame has been published.
+     */
+    public void clearChanges() {
+        if (changes == 0) {
+            return;
+        }
+        for (int i = 0; i < changed.size(); i++) {
+            changed.set(i, Boolean.FALSE);
+        }
+        changes = 0;
+    }
+
+    private int indexOf(String label) {
+        // Stats are few, and labels are usually the same constant, so a scan is fastest
+        for (int i = 0; i < labels.size(); i++) {
+            String existing = labels.get(i);
+            if (existing == label || existing.equals(label)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -40,6 +40,9 @@ public interface UI {
 
     /**
      * Renders the provided objects, and refreshes the UI.
+     * <p>
+     * The caller reuses the list for later frames, so its contents change on the next call.
+     * Implementations that draw from another thread must copy it first.
      *
      * @param objects the list of SpaceObjects to be rendered.
      */
@@ -52,6 +55,20 @@ public interface UI {
      */
     void log(String message);
 
+    /**
+     * Log each of the provided messages, in order.<br>
+     * <p>
+     * Used by background loggers that deliver messages in batches. By default each message is
+     * passed to log(); UIs may override this to refresh once for the whole batch.
+     *
+     * @param messages the provided messages
+     */
+    default void logAll(List<String> messages) {
+        for (String message : messages) {
+            log(message);
+        }
+    }
+
     /**
      * Sets the stats to the provided label and value.
      *
@@ -60,6 +77,20 @@ public interface UI {
      */
     void setStat(String label, String value);
 
+    /**
+     * Sets every stat in the provided frame that has changed since the previous frame.<br>
+     * <p>
+     * By default each changed stat is passed to setStat(); UIs may override this to refresh
+     * once for the whole frame.
+     *
+     * @param frame the frame of stats, whose unchanged stats are skipped
+     */
+    default void setStats(StatsFrame frame) {
+        if (frame.hasChanges()) { // The bound method reference would otherwise be built every frame
+            frame.forEachChanged(this::setStat);
+        }
+    }
+
     /**
      * Logs a message to the UI when an achievement is mastered.<br>
      *
@@ -82,4 +113,15 @@ public interface UI {
      */
     void setAchievementProgressStat(String achievementName, double progressPercentage);
 
+    /**
+     * Displays the Game Over summary once the game has ended.<br>
+     * <p>
+     * By default the summary is logged; graphical UIs may show it in its own window.
+     *
+     * @param summary the player's final statistics and achievement progress
+     */
+    default void showGameOver(String summary) {
+        log(summary);
+    }
+
 }
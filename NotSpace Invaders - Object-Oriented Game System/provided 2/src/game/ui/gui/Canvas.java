@@ -1,61 +1,281 @@
 package game.ui.gui;
 
-import game.core.SpaceObject;
-
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.ImageObserver;
-import java.util.ArrayList;
-import java.util.List;
+import java.awt.image.VolatileImage;
+import java.util.HashSet;
+import java.util.Set;
 
+/**
+ * Draws the frames published by the simulation onto the board grid.
+ * <p>
+ * Each frame, only the grid cells whose contents changed are repainted: the sprites drawn last
+ * frame are compared with the sprites to draw now, and the cells under any sprite that appeared,
+ * moved or disappeared are painted, one run of adjacent cells at a time.
+ * <p>
+ * While the canvas is showing, it renders actively: frames are drawn into a VolatileImage back
+ * buffer, using sprites from a SpriteAtlas pre-scaled to the cell size, and the changed regions
+ * are then copied to the screen. If the back buffer is unavailable or its contents are lost,
+ * paintComponent draws the frame directly instead.
+ */
 class Canvas extends JPanel {
-    private List<SpaceObject> objects = new ArrayList<>();
+    private static final ImageObserver OBSERVER = (img, i, x, y, w, h) -> false;
+    /**
+     * Above this many separate dirty regions, repaint their bounding box once instead.
+     */
+    private static final int MAX_DIRTY_REGIONS = 16;
+
+    private final FramePublisher frames;
+    private final long tickNanos;
     private final int width;
     private final int height;
     private int pixelWidth = 0;
     private int pixelHeight = 0;
 
-    public Canvas(int width, int height) {
+    // Event thread only: what is on screen, and what the next paint should draw
+    private Set<Sprite> drawn = new HashSet<>();
+    private FrameSnapshot paintingFrame = FrameSnapshot.EMPTY;
+    private double paintingAlpha = 1.0;
+    private boolean fullRepaint = true;
+    private final boolean[] dirtyCells;
+    private final SpriteAtlas atlas = new SpriteAtlas();
+    private VolatileImage backBuffer = null;
+
+    /**
+     * A sprite from the atlas at the pixel position it is drawn at.
+     */
+    private record Sprite(SpriteAtlas.Slot slot, int x, int y) {
+        int width() {
+            return slot.getWidth();
+        }
+
+        int height() {
+            return slot.getHeight();
+        }
+    }
+
+    /**
+     * Creates a canvas that draws the frames published by the simulation.
+     *
+     * @param width the number of columns on the board
+     * @param height the number of rows on the board
+     * @param frames the source of frames to draw
+     * @param tickNanos the time between simulation ticks, over which movement is interpolated
+     */
+    public Canvas(int width, int height, FramePublisher frames, long tickNanos) {
         this.width = width;
         this.height = height;
+        this.frames = frames;
+        this.tickNanos = tickNanos;
+        this.dirtyCells = new boolean[width * height];
         this.setBackground(Color.black);
     }
 
     public void setGraphicalDimensions(int pixelWidth, int pixelHeight) {
         this.pixelWidth = pixelWidth;
         this.pixelHeight = pixelHeight;
+        atlas.setCellSize(pixelWidth / width, pixelHeight / height); // sprites are re-scaled lazily
+        fullRepaint = true; // every sprite moves when the cells are resized
     }
 
-    public void updateSpaceObjects(List<SpaceObject> objects) {
-        this.objects = objects;
+    /**
+     * Paints the latest published frame, repainting only the cells that changed since the
+     * last call. Runs on the Swing event thread, once per display frame.
+     *
+     * @return true if the frame is still being interpolated and should be drawn again
+     */
+    public boolean renderFrame() {
+        FrameSnapshot frame = frames.take();
+        // Draw objects part of the way from their last position, according to time since the tick
+        double alpha = (System.nanoTime() - frame.getPublishedAt()) / (double) tickNanos;
+        alpha = Math.max(0.0, Math.min(1.0, alpha));
+
+        Set<Sprite> next = new HashSet<>(frame.size() * 2);
+        for (int i = 0; i < frame.size(); i++) {
+            next.add(spriteAt(frame, i, alpha));
+        }
+        paintingFrame = frame;
+        paintingAlpha = alpha;
+
+        if (!prepareBackBuffer()) {
+            repaint(); // not showing yet, or no accelerated buffer; paint passively
+        } else if (fullRepaint) {
+            fullRepaint = false;
+            drawRegion(new Rectangle(0, 0, getWidth(), getHeight()));
+            paintImmediately(0, 0, getWidth(), getHeight());
+        } else {
+            for (Sprite sprite : drawn) {
+                if (!next.contains(sprite)) {
+                    markDirty(sprite); // moved or removed
+                }
+            }
+            for (Sprite sprite : next) {
+                if (!drawn.contains(sprite)) {
+                    markDirty(sprite); // moved or added
+                }
+            }
+            paintDirtyCells();
+        }
+        drawn = next;
+        return alpha < 1.0;
     }
 
     private int getPixelX(int x) {
         return (x * (pixelWidth / width));
     }
 
-    private int getPixelMidX(int x) {
-        return getPixelX(x) + (pixelWidth / width / 2);
+    private int getPixelMidX(double x) {
+        return (int) Math.round(x * (pixelWidth / width)) + (pixelWidth / width / 2);
     }
 
     private int getPixelY(int y) {
         return (y * (pixelHeight / height));
     }
 
-    private int getPixelMidY(int y) {
-        return getPixelY(y) + (pixelHeight / height / 2);
+    private int getPixelMidY(double y) {
+        return (int) Math.round(y * (pixelHeight / height)) + (pixelHeight / height / 2);
+    }
+
+    private Sprite spriteAt(FrameSnapshot frame, int index, double alpha) {
+        SpriteAtlas.Slot slot = atlas.slot(frame.image(index), getGraphicsConfiguration());
+        int x = getPixelMidX(frame.interpolatedX(index, alpha)) - slot.getWidth() / 2;
+        int y = getPixelMidY(frame.interpolatedY(index, alpha)) - slot.getHeight() / 2;
+        return new Sprite(slot, x, y);
+    }
+
+    /**
+     * Makes sure the back buffer matches the canvas and holds valid contents, creating or
+     * restoring it as needed. A restored buffer is fully redrawn on this frame.
+     *
+     * @return true if the back buffer can be drawn to, false if painting must be passive
+     */
+    private boolean prepareBackBuffer() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (!isShowing() || configuration == null || getWidth() <= 0 || getHeight() <= 0
+                || pixelWidth < width || pixelHeight < height) {
+            return false;
+        }
+        if (backBuffer == null || backBuffer.getWidth() != getWidth()
+                || backBuffer.getHeight() != getHeight()
+                || backBuffer.validate(configuration) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (backBuffer != null) {
+                backBuffer.flush();
+            }
+            backBuffer = configuration.createCompatibleVolatileImage(getWidth(), getHeight());
+            fullRepaint = true;
+        } else if (backBuffer.contentsLost()) {
+            fullRepaint = true; // restored by validate, but the old contents are gone
+        }
+        return backBuffer != null;
+    }
+
+    /**
+     * Clears the given region of the back buffer and draws the sprites that overlap it.
+     */
+    private void drawRegion(Rectangle region) {
+        Graphics2D g = backBuffer.createGraphics();
+        try {
+            g.setClip(region);
+            g.setColor(getBackground());
+            g.fillRect(region.x, region.y, region.width, region.height);
+            drawSprites(g, region);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void drawSprites(Graphics g, Rectangle clip) {
+        FrameSnapshot frame = paintingFrame;
+        for (int i = 0; i < frame.size(); i++) {
+            Sprite sprite = spriteAt(frame, i, paintingAlpha);
+            if (clip == null || clip.intersects(sprite.x(), sprite.y(), sprite.width(), sprite.height())) {
+                atlas.draw(g, sprite.slot(), sprite.x(), sprite.y());
+            }
+        }
+    }
+
+    private void markDirty(Sprite sprite) {
+        int cellWidth = pixelWidth / width;
+        int cellHeight = pixelHeight / height;
+        int left = clamp(sprite.x() / cellWidth, width);
+        int right = clamp((sprite.x() + sprite.width() - 1) / cellWidth, width);
+        int top = clamp(sprite.y() / cellHeight, height);
+        int bottom = clamp((sprite.y() + sprite.height() - 1) / cellHeight, height);
+        for (int row = top; row <= bottom; row++) {
+            for (int column = left; column <= right; column++) {
+                dirtyCells[row * width + column] = true;
+            }
+        }
+    }
+
+    private static int clamp(int cell, int cells) {
+        return Math.max(0, Math.min(cells - 1, cell));
+    }
+
+    /**
+     * Paints each horizontal run of dirty cells, then clears them.
+     */
+    private void paintDirtyCells() {
+        int cellWidth = pixelWidth / width;
+        int cellHeight = pixelHeight / height;
+        Rectangle[] regions = new Rectangle[MAX_DIRTY_REGIONS];
+        int count = 0;
+        Rectangle bounds = null;
+        for (int row = 0; row < height; row++) {
+            int column = 0;
+            while (column < width) {
+                if (!dirtyCells[row * width + column]) {
+                    column++;
+                    continue;
+                }
+                int start = column;
+                while (column < width && dirtyCells[row * width + column]) {
+                    dirtyCells[row * width + column] = false;
+                    column++;
+                }
+                Rectangle region = cellRegion(start, row, column - 1, cellWidth, cellHeight);
+                bounds = bounds == null ? region : bounds.union(region);
+                if (count < MAX_DIRTY_REGIONS) {
+                    regions[count] = region;
+                }
+                count++;
+            }
+        }
+        if (count > MAX_DIRTY_REGIONS) {
+            drawRegion(bounds);
+            paintImmediately(bounds);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            drawRegion(regions[i]);
+            paintImmediately(regions[i]);
+        }
+    }
+
+    /**
+     * Returns the pixel area of a run of cells in a row. Runs touching the last row or column are
+     * extended to the edge of the canvas, since sprites there may overhang the grid.
+     */
+    private Rectangle cellRegion(int firstColumn, int row, int lastColumn, int cellWidth, int cellHeight) {
+        int x = firstColumn * cellWidth;
+        int y = row * cellHeight;
+        int right = lastColumn == width - 1 ? getWidth() : (lastColumn + 1) * cellWidth;
+        int bottom = row == height - 1 ? getHeight() : (row + 1) * cellHeight;
+        return new Rectangle(x, y, right - x, bottom - y);
     }
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        for (SpaceObject object : objects) {
-            ImageObserver observer = (img, i, x, y, w, h) -> false;
-            Image image = object.render().getGraphicalRepresentation();
-            int x = getPixelMidX(object.getX()) - image.getWidth(observer) / 2;
-            int y = getPixelMidY(object.getY()) - image.getHeight(observer) / 2;
-            g.drawImage(image, x, y, observer);
+        if (backBuffer != null && !fullRepaint && !backBuffer.contentsLost()) {
+            g.drawImage(backBuffer, 0, 0, OBSERVER); // limited to the clip by Swing
+            if (!backBuffer.contentsLost()) {
+                return;
+            }
+            fullRepaint = true;
         }
+        super.paintComponent(g);
+        drawSprites(g, g.getClipBounds());
     }
 
     private void drawGrid(Graphics g) {
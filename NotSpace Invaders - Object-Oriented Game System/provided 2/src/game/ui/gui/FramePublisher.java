@@ -0,0 +1,179 @@
+package game.ui.gui;
+
+import game.core.SpaceObject;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copies the objects rendered by the simulation thread into FrameSnapshots and hands the latest
+ * one to the painting thread.
+ * <p>
+ * {@link #publish(List, int)} must only be called from the simulation thread, and
+ * {@link #take()} only from the painting thread. take never blocks and always returns a complete
+ * frame.
+ * <p>
+ * Snapshots are filled from a pool of three sets of {@link FrameSnapshot.Rows}: one for the
+ * published frame, one for the frame being painted and one to fill next, so publishing a frame
+ * of a size seen before allocates no arrays.
+ */
+final class FramePublisher {
+    private final AtomicReference<FrameSnapshot> latest = new AtomicReference<>(FrameSnapshot.EMPTY);
+    private volatile FrameSnapshot painting = FrameSnapshot.EMPTY;
+
+    // Simulation thread only
+    private final FrameSnapshot.Rows[] pool = {
+            new FrameSnapshot.Rows(16), new FrameSnapshot.Rows(16), new FrameSnapshot.Rows(16)
+    };
+    private RowIndex lastRows = new RowIndex(); // where each object was drawn in the last frame
+    private RowIndex nextRows = new RowIndex();
+
+    /**
+     * An identity map from each object to the row it was drawn in, probed linearly, which keeps
+     * the rows as ints so that none are boxed.
+     */
+    private static final class RowIndex {
+        private SpaceObject[] keys = new SpaceObject[32];
+        private int[] rows = new int[32];
+        private int size = 0;
+
+        void put(SpaceObject object, int row) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int slot = slotOf(object);
+            if (keys[slot] == null) {
+                keys[slot] = object;
+                size++;
+            }
+            rows[slot] = row;
+        }
+
+        /**
+         * Returns the row the object was drawn in, or -1 if it was not drawn.
+         */
+        int get(SpaceObject object) {
+            int slot = slotOf(object);
+            return keys[slot] == null ? -1 : rows[slot];
+        }
+
+        void clear() {
+            if (size > 0) {
+                Arrays.fill(keys, null);
+                size = 0;
+            }
+        }
+
+        /**
+         * Returns the slot holding the object, or the empty slot where it would go.
+         */
+        private int slotOf(SpaceObject object) {
+            int mask = keys.length - 1;
+            int hash = System.identityHashCode(object) * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (keys[slot] != null && keys[slot] != object) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            SpaceObject[] oldKeys = keys;
+            int[] oldRows = rows;
+            keys = new SpaceObject[oldKeys.length * 2];
+            rows = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int slot = slotOf(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    rows[slot] = oldRows[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the most recently published frame, and marks it as being painted until take is
+     * next called, so that its rows are not reused in the meantime.
+     *
+     * @return the latest frame
+     */
+    FrameSnapshot take() {
+        FrameSnapshot frame;
+        do {
+            frame = latest.get();
+            painting = frame;
+        } while (latest.get() != frame); // Published over before it was marked; take the newer one
+        return frame;
+    }
+
+    /**
+     * Publishes a copy of the given objects as the frame for the given tick.<br>
+     * <p>
+     * On a new tick, each object is drawn moving from where it was in the last frame.
+     * Publishing again on the same tick (e.g. after the ship moves) keeps the frame's timing,
+     * so objects already in motion carry on and only objects that moved since start a new
+     * movement. Objects that jump more than one cell, such as pooled objects reused elsewhere,
+     * are drawn at their new position without moving.
+     *
+     * @param objects the objects to draw
+     * @param tick the current simulation tick
+     */
+    void publish(List<SpaceObject> objects, int tick) {
+        FrameSnapshot last = latest.get();
+        boolean sameTick = tick == last.getTick();
+        int size = objects.size();
+        FrameSnapshot.Rows rows = freeRows(last);
+        rows.ensureCapacity(size);
+
+        for (int i = 0; i < size; i++) {
+            SpaceObject object = objects.get(i);
+            int x = object.getX();
+            int y = object.getY();
+            Image image = object.render().getGraphicalRepresentation();
+            nextRows.put(object, i);
+
+            int lastIndex = lastRows.get(object);
+            if (lastIndex < 0) {
+                rows.set(i, image, x, y, x, y);
+                continue;
+            }
+            int lastX = last.x(lastIndex);
+            int lastY = last.y(lastIndex);
+            if (sameTick && x == lastX && y == lastY) {
+                // Still mid-movement
+                rows.set(i, image, x, y, last.previousX(lastIndex), last.previousY(lastIndex));
+            } else if (Math.abs(x - lastX) + Math.abs(y - lastY) <= 1) {
+                rows.set(i, image, x, y, lastX, lastY);
+            } else {
+                rows.set(i, image, x, y, x, y);
+            }
+        }
+
+        // Swap the indices rather than allocating new ones each frame
+        RowIndex swap = lastRows;
+        lastRows = nextRows;
+        nextRows = swap;
+        nextRows.clear();
+
+        long publishedAt = sameTick ? last.getPublishedAt() : System.nanoTime();
+        latest.set(new FrameSnapshot(tick, publishedAt, size, rows));
+    }
+
+    /**
+     * Returns rows from the pool used by neither the published frame nor the one being painted.
+     * The painting thread only ever marks the published frame, so once a frame has been replaced
+     * it can only be the one being painted if it was marked before the replacement.
+     */
+    private FrameSnapshot.Rows freeRows(FrameSnapshot published) {
+        FrameSnapshot.Rows paintingRows = painting.getRows();
+        for (FrameSnapshot.Rows rows : pool) {
+            if (rows != published.getRows() && rows != paintingRows) {
+                return rows;
+            }
+        }
+        throw new IllegalStateException("Every frame buffer is in use");
+    }
+}
@@ -0,0 +1,162 @@
+package game.ui.gui;
+
+import java.awt.*;
+
+/**
+ * An immutable copy of everything the Canvas needs to draw one simulation frame.
+ * <p>
+ * Each entry holds the image of an object, its position this frame and its position in the
+ * previous frame, so the renderer can draw any point in between without touching live game
+ * objects. The entries are held in {@link Rows} that the {@link FramePublisher} reuses for later
+ * frames, but only once this frame is neither published nor being painted.
+ */
+final class FrameSnapshot {
+    /**
+     * A frame with nothing in it, shown until the first frame is published.
+     */
+    static final FrameSnapshot EMPTY = new FrameSnapshot(-1, 0L, 0, new Rows(0));
+
+    private final int tick;
+    private final long publishedAt;
+    private final int size;
+    private final Rows rows;
+
+    /**
+     * The arrays holding a snapshot's entries, which may be longer than the snapshot, so that
+     * they can be reused by a later snapshot once this one is no longer published or painted.
+     */
+    static final class Rows {
+        private Image[] images;
+        private int[] xs;
+        private int[] ys;
+        private int[] previousXs;
+        private int[] previousYs;
+
+        /**
+         * Creates rows with room for the given number of entries.
+         *
+         * @param capacity the number of entries
+         */
+        Rows(int capacity) {
+            allocate(capacity);
+        }
+
+        /**
+         * Makes room for at least the given number of entries, discarding the current ones if
+         * the arrays must grow.
+         *
+         * @param size the number of entries needed
+         */
+        void ensureCapacity(int size) {
+            if (images.length < size) {
+                allocate(Math.max(size, images.length * 2));
+            }
+        }
+
+        /**
+         * Sets the entry at the given index.
+         *
+         * @param index the entry
+         * @param image the image of the entry
+         * @param x the x-coordinate of the entry this frame
+         * @param y the y-coordinate of the entry this frame
+         * @param previousX the x-coordinate of the entry last frame
+         * @param previousY the y-coordinate of the entry last frame
+         */
+        void set(int index, Image image, int x, int y, int previousX, int previousY) {
+            images[index] = image;
+            xs[index] = x;
+            ys[index] = y;
+            previousXs[index] = previousX;
+            previousYs[index] = previousY;
+        }
+
+        private void allocate(int capacity) {
+            images = new Image[capacity];
+            xs = new int[capacity];
+            ys = new int[capacity];
+            previousXs = new int[capacity];
+            previousYs = new int[capacity];
+        }
+    }
+
+    /**
+     * Creates a snapshot of the first size entries of the given rows.
+     *
+     * @param tick the simulation tick the frame was taken on
+     * @param publishedAt the System.nanoTime() the frame's movement started at
+     * @param size the number of entries
+     * @param rows the entries
+     * @requires rows holds at least size entries, which are not modified while the snapshot is
+     *           published or being painted
+     */
+    FrameSnapshot(int tick, long publishedAt, int size, Rows rows) {
+        this.tick = tick;
+        this.publishedAt = publishedAt;
+        this.size = size;
+        this.rows = rows;
+    }
+
+    /**
+     * Returns the rows holding this snapshot's entries.
+     *
+     * @return the rows
+     */
+    Rows getRows() {
+        return rows;
+    }
+
+    int getTick() {
+        return tick;
+    }
+
+    long getPublishedAt() {
+        return publishedAt;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Image image(int index) {
+        return rows.images[index];
+    }
+
+    int x(int index) {
+        return rows.xs[index];
+    }
+
+    int y(int index) {
+        return rows.ys[index];
+    }
+
+    int previousX(int index) {
+        return rows.previousXs[index];
+    }
+
+    int previousY(int index) {
+        return rows.previousYs[index];
+    }
+
+    /**
+     * Returns the x-coordinate of an entry the given fraction of the way from last frame to this one.
+     *
+     * @param index the entry
+     * @param alpha how far through the frame to draw, from 0.0 to 1.0
+     * @return the interpolated x-coordinate
+     */
+    double interpolatedX(int index, double alpha) {
+        return rows.previousXs[index] + (rows.xs[index] - rows.previousXs[index]) * alpha;
+    }
+
+    /**
+     * Returns the y-coordinate of an entry the given fraction of the way from last frame to this one.
+     *
+     * @param index the entry
+     * @param alpha how far through the frame to draw, from 0.0 to 1.0
+     * @return the interpolated y-coordinate
+     */
+    double interpolatedY(int index, double alpha) {
+        return rows.previousYs[index] + (rows.ys[index] - rows.previousYs[index]) * alpha;
+    }
+}
@@ -3,7 +3,9 @@ package game.ui.gui;
 import game.achievements.Achievement;
 import game.core.SpaceObject;
 import game.GameModel;
+import game.ui.Assets;
 import game.ui.KeyHandler;
+import game.ui.StatsFrame;
 import game.ui.Tickable;
 import game.ui.UI;
 
@@ -13,33 +15,77 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents a GUI implementation of the UI interface.
+ * <p>
+ * The game runs on a dedicated simulation thread at a fixed timestep, while Swing paints at its
+ * own rate. Each rendered frame is copied into an immutable snapshot and handed to the painting
+ * thread without locking, and the canvas interpolates movement between snapshots. Repaints are
+ * coalesced to at most one per display frame, and only the changed cells are painted. Key presses are
+ * queued for the simulation thread, and log, stat and game over updates are passed to the Swing
+ * event thread, so game objects are only ever touched by the simulation thread.
  */
 public class GUI implements UI {
     private static final int TICK_SPEED = 100;
+    private static final int REPAINT_SPEED = 16; // at most roughly 60 frames per second
     private static final int WINDOW_HEIGHT = 600;
     private static final int WINDOW_WIDTH = 650;
 
-    // GAME_HEIGHT + 1 required for bottom row (row 19) to render correctly
-    private final Canvas canvas = new Canvas(GameModel.GAME_WIDTH, GameModel.GAME_HEIGHT + 1);
+    private final Canvas canvas;
     private final Log log = new Log();
     private final Stats stats = new Stats();
 
-    private final List<Tickable> tickables = new ArrayList<>();
-    private final List<KeyHandler> handlers = new ArrayList<>();
+    private final FramePublisher frames = new FramePublisher();
+    private final SimulationLoop simulation = new SimulationLoop(TICK_SPEED, this::republish);
 
-    private Timer gameTimer;
-    private int tick = 0;
+    private final RenderScheduler renderScheduler;
+    private List<SpaceObject> lastRendered = null; // simulation thread only
+
+    // Stats set since the event thread last applied them, guarded by itself
+    private final Map<String, String> pendingStats = new LinkedHashMap<>();
+    private boolean statsFlushScheduled = false;
+
+    /**
+     * Creates a GUI for a board of the default size.
+     */
+    public GUI() {
+        this(GameModel.GAME_WIDTH, GameModel.GAME_HEIGHT);
+    }
+
+    /**
+     * Creates a GUI for a board of the given size.
+     *
+     * @param boardWidth the number of columns on the board
+     * @param boardHeight the number of rows on the board
+     */
+    public GUI(int boardWidth, int boardHeight) {
+        // boardHeight + 1 required for bottom row to render correctly
+        canvas = new Canvas(boardWidth, boardHeight + 1, frames,
+                TimeUnit.MILLISECONDS.toNanos(TICK_SPEED));
+        renderScheduler = new RenderScheduler(REPAINT_SPEED, canvas::renderFrame);
+    }
 
     /**
      * Starts the GUI.
+     * <p>
+     * Every sprite in the asset bundle is decoded before the window is shown, so the first
+     * frames do not stall on loading images.
      */
     @Override
     public void start() {
+        try {
+            Assets.loadBundle();
+        } catch (IOException e) {
+            // sprites are still loaded one at a time as they are first drawn
+            log("Could not load sprite bundle: " + e.getMessage());
+        }
+
         JFrame frame = new JFrame();
         frame.setTitle("Space Shooter");
         frame.setSize(WINDOW_WIDTH, WINDOW_HEIGHT); // Sets default window size
@@ -70,6 +116,7 @@ public class GUI implements UI {
                 int height = (int) Math.floor(size.getHeight());
                 canvas.setGraphicalDimensions((int) (width * 0.5), height);
                 log.setGraphicalDimensions((int) (width * 0.5), (int) (height * 0.5));
+                renderScheduler.requestFrame();
             }
         });
         frame.setVisible(true);
@@ -81,10 +128,7 @@ public class GUI implements UI {
 
             @Override
             public void keyPressed(KeyEvent e) {
-                for (KeyHandler handler : handlers) {
-                    handler.onPress(e.getKeyChar() + "");
-                }
-                canvas.updateUI();
+                simulation.submit(e.getKeyChar() + "");
             }
 
             @Override
@@ -92,13 +136,7 @@ public class GUI implements UI {
             }
         });
 
-        gameTimer = new Timer(TICK_SPEED, (e) -> {
-            for (Tickable tickable : tickables) {
-                tickable.tick(tick++);
-                canvas.updateUI();
-            }
-        });
-        gameTimer.start();
+        simulation.start();
 
         logWelcome();
     }
@@ -124,11 +162,7 @@ public class GUI implements UI {
      */
     @Override
     public void pause() {
-        if (gameTimer.isRunning()) {
-            gameTimer.stop();
-        } else {
-            gameTimer.start();
-        }
+        simulation.setPaused(!simulation.isPaused());
     }
 
     /**
@@ -136,7 +170,7 @@ public class GUI implements UI {
      */
     @Override
     public void stop() {
-        gameTimer.start();
+        simulation.setPaused(true);
     }
 
     /**
@@ -145,7 +179,7 @@ public class GUI implements UI {
      */
     @Override
     public void onStep(Tickable tickable) {
-        tickables.add(tickable);
+        simulation.addTickable(tickable);
     }
 
     /**
@@ -154,18 +188,33 @@ public class GUI implements UI {
      */
     @Override
     public void onKey(KeyHandler key) {
-        handlers.add(key);
+        simulation.addKeyHandler(key);
     }
 
     /**
      * Renders the provided objects, and refreshes the UI.
+     * <p>
+     * The objects are copied into a snapshot for the canvas to paint, so the list may be reused
+     * as soon as this returns.
      *
      * @param objects the list of SpaceObjects to be rendered.
      */
     @Override
     public void render(List<SpaceObject> objects) {
-        canvas.updateSpaceObjects(objects);
-        canvas.updateUI();
+        lastRendered = objects;
+        frames.publish(objects, simulation.getTick());
+        renderScheduler.requestFrame();
+    }
+
+    /**
+     * Publishes the last rendered objects again, so key presses such as ship moves are shown
+     * without waiting for the next tick.
+     */
+    private void republish() {
+        if (lastRendered != null) {
+            frames.publish(lastRendered, simulation.getTick());
+            renderScheduler.requestFrame();
+        }
     }
 
     /**
@@ -175,23 +224,76 @@ public class GUI implements UI {
      */
     @Override
     public void log(String message) {
-        log.log(message);
-        log.updateUI();
+        SwingUtilities.invokeLater(() -> {
+            log.log(message);
+            log.repaint();
+        });
+    }
+
+    /**
+     * Log the provided messages, refreshing the log panel once for the whole batch.
+     *
+     * @param messages the provided messages
+     */
+    @Override
+    public void logAll(List<String> messages) {
+        List<String> batch = List.copyOf(messages); // the caller reuses the list
+        SwingUtilities.invokeLater(() -> {
+            for (String message : batch) {
+                log.log(message);
+            }
+            log.repaint();
+        });
     }
 
     /**
      * Sets the stats to the provided label and value.
+     * <p>
+     * Stats set in quick succession are applied together, with a single repaint.
      *
      * @param label the provided label
      * @param value the provided value
      */
     @Override
     public void setStat(String label, String value) {
-        if (!stats.isRegistered(label)) {
-            stats.registerStat(label);
+        synchronized (pendingStats) {
+            pendingStats.put(label, value);
+            if (statsFlushScheduled) {
+                return; // will be applied along with the stats already pending
+            }
+            statsFlushScheduled = true;
+        }
+        SwingUtilities.invokeLater(this::flushStats);
+    }
+
+    /**
+     * Sets every changed stat in the provided frame, with a single repaint.
+     *
+     * @param frame the frame of stats, whose unchanged stats are skipped
+     */
+    @Override
+    public void setStats(StatsFrame frame) {
+        if (frame.hasChanges()) {
+            frame.forEachChanged(this::setStat);
+        }
+    }
+
+    /**
+     * Applies the pending stats to the stats panel, repainting it if any value changed.
+     * Runs on the Swing event thread.
+     */
+    private void flushStats() {
+        boolean changed = false;
+        synchronized (pendingStats) {
+            for (Map.Entry<String, String> stat : pendingStats.entrySet()) {
+                changed |= stats.setStat(stat.getKey(), stat.getValue());
+            }
+            pendingStats.clear();
+            statsFlushScheduled = false;
+        }
+        if (changed) {
+            stats.repaint();
         }
-        stats.setStat(label, value);
-        stats.updateUI();
     }
 
     @Override
@@ -218,5 +320,35 @@ public class GUI implements UI {
         progress = progressPercentage > 0.99 ? 100 : progress;
         setStat(achievementName + " Progress", String.format("%.0f%%", progress));
     }
+
+    /**
+     * Displays a Game Over window containing the provided summary.
+     *
+     * @param summary the player's final statistics and achievement progress
+     */
+    @Override
+    public void showGameOver(String summary) {
+        SwingUtilities.invokeLater(() -> showGameOverWindow(summary));
+    }
+
+    private void showGameOverWindow(String summary) {
+        // Create a new window to display game over stats.
+        JFrame gameOverFrame = new JFrame("Game Over - Player Stats");
+        gameOverFrame.setSize(400, 300);
+        gameOverFrame.setLocationRelativeTo(null); // center on screen
+        gameOverFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        // Create a text area to show stats.
+        JTextArea statsArea = new JTextArea(summary);
+        statsArea.setEditable(false);
+        statsArea.setFont(new Font("Monospaced", Font.PLAIN, 14));
+
+        // Add the text area to a scroll pane (optional) and add it to the frame.
+        JScrollPane scrollPane = new JScrollPane(statsArea);
+        gameOverFrame.add(scrollPane);
+
+        // Make the window visible.
+        gameOverFrame.setVisible(true);
+    }
 }
 
@@ -2,12 +2,23 @@ package game.ui.gui;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.ImageObserver;
-import java.util.ArrayList;
-import java.util.List;
 
+/**
+ * A panel showing the most recent log messages, newest at the bottom.
+ * <p>
+ * Messages are kept in a fixed-capacity ring buffer, so once it is full each new message replaces
+ * the oldest. Only the lines that fall within the panel are painted.
+ */
 class Log extends JPanel {
-    private List<String> messages = new ArrayList<>();
+    /**
+     * The number of messages kept; older messages are discarded.
+     */
+    static final int CAPACITY = 500;
+    private static final int LINE_HEIGHT = 20;
+
+    private final String[] messages = new String[CAPACITY];
+    private int first = 0; // ring index of the oldest message
+    private int size = 0;
     private int pixelWidth = 0;
     private int pixelHeight = 0;
 
@@ -21,21 +32,33 @@ class Log extends JPanel {
     }
 
     public void log(String message) {
-        messages.add(message);
+        if (size < CAPACITY) {
+            messages[(first + size) % CAPACITY] = message;
+            size++;
+        } else {
+            messages[first] = message; // overwrite the oldest
+            first = (first + 1) % CAPACITY;
+        }
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        int windowHeight = (messages.size() + 1) * 20;
+        int windowHeight = (size + 1) * LINE_HEIGHT;
         int y = 0;
         if (windowHeight > pixelHeight) {
             y = (pixelHeight - windowHeight);
         }
-        for (String message : messages) {
-            g.setColor(Color.white);
-            g.drawString(message, 10, y);
-            y += 20;
+        // Skip the lines scrolled above the top of the panel
+        int skipped = 0;
+        if (y < 0) {
+            skipped = Math.min(size, -y / LINE_HEIGHT);
+            y += skipped * LINE_HEIGHT;
+        }
+        g.setColor(Color.white);
+        for (int i = skipped; i < size && y < pixelHeight + LINE_HEIGHT; i++) {
+            g.drawString(messages[(first + i) % CAPACITY], 10, y);
+            y += LINE_HEIGHT;
         }
     }
 }
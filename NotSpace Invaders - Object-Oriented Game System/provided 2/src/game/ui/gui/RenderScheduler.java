@@ -0,0 +1,63 @@
+package game.ui.gui;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Coalesces requests to redraw into at most one frame per display interval.
+ * <p>
+ * Any thread may call {@link #requestFrame()} any number of times; the frame callback then runs
+ * once on the Swing event thread, no sooner than one interval after the previous frame. When
+ * nothing requests a frame, the scheduler does no work at all.
+ */
+final class RenderScheduler {
+    private final long frameNanos;
+    private final BooleanSupplier frame;
+    private final AtomicBoolean requested = new AtomicBoolean(false);
+    private final Timer timer;
+    private long lastFrameAt; // event thread only
+
+    /**
+     * Creates a scheduler that runs the given frame callback at most once per interval.
+     *
+     * @param frameMillis the shortest time between frames, in milliseconds
+     * @param frame draws a frame on the Swing event thread, returning true if another frame
+     *              is needed straight away, e.g. because an animation is still running
+     */
+    RenderScheduler(int frameMillis, BooleanSupplier frame) {
+        this.frameNanos = TimeUnit.MILLISECONDS.toNanos(frameMillis);
+        this.frame = frame;
+        this.lastFrameAt = System.nanoTime() - frameNanos;
+        this.timer = new Timer(frameMillis, e -> runFrame());
+        timer.setRepeats(false);
+    }
+
+    /**
+     * Requests that a frame be drawn. Requests made before the frame runs are merged into it.
+     */
+    void requestFrame() {
+        if (requested.compareAndSet(false, true)) {
+            if (SwingUtilities.isEventDispatchThread()) {
+                schedule();
+            } else {
+                SwingUtilities.invokeLater(this::schedule);
+            }
+        }
+    }
+
+    private void schedule() {
+        long wait = lastFrameAt + frameNanos - System.nanoTime();
+        timer.setInitialDelay((int) Math.max(0, TimeUnit.NANOSECONDS.toMillis(wait)));
+        timer.restart();
+    }
+
+    private void runFrame() {
+        lastFrameAt = System.nanoTime();
+        requested.set(false); // requests made while drawing schedule the next frame
+        if (frame.getAsBoolean()) {
+            requestFrame();
+        }
+    }
+}
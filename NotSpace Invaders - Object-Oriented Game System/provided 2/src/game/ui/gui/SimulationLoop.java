@@ -0,0 +1,162 @@
+package game.ui.gui;
+
+import game.ui.KeyHandler;
+import game.ui.Tickable;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the game on its own thread at a fixed timestep, independent of Swing painting.
+ * <p>
+ * Ticks are scheduled against the clock rather than after the previous tick finishes, so a
+ * slow tick is followed by a catch-up tick instead of shifting every later tick. Key presses
+ * may be submitted from any thread; they are queued and handed to the KeyHandlers on the
+ * simulation thread as soon as it wakes, so all game logic runs on one thread.
+ */
+final class SimulationLoop implements Runnable {
+    /**
+     * The most ticks run back to back to catch up before the schedule is reset.
+     */
+    private static final int MAX_CATCH_UP_TICKS = 5;
+
+    private final long periodNanos;
+    private final Runnable afterInput;
+    private final Queue<String> input = new ConcurrentLinkedQueue<>();
+    private final List<Tickable> tickables = new CopyOnWriteArrayList<>();
+    private final List<KeyHandler> handlers = new CopyOnWriteArrayList<>();
+
+    private volatile boolean paused = false;
+    private volatile boolean running = false;
+    private volatile Thread thread;
+    private int tick = 0; // simulation thread only
+
+    /**
+     * Creates a loop that ticks once every given number of milliseconds.
+     *
+     * @param periodMillis the time between ticks, in milliseconds
+     * @param afterInput run on the simulation thread after queued key presses are handled
+     */
+    SimulationLoop(int periodMillis, Runnable afterInput) {
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+        this.afterInput = afterInput;
+    }
+
+    /**
+     * Starts the simulation thread. Has no effect if it is already running.
+     */
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread simulation = new Thread(this, "simulation");
+        simulation.setDaemon(true);
+        thread = simulation;
+        simulation.start();
+    }
+
+    void addTickable(Tickable tickable) {
+        tickables.add(tickable);
+    }
+
+    void addKeyHandler(KeyHandler handler) {
+        handlers.add(handler);
+    }
+
+    /**
+     * Queues a key press to be handled on the simulation thread, and wakes the thread.
+     *
+     * @param key the key pressed
+     */
+    void submit(String key) {
+        input.offer(key);
+        Thread simulation = thread;
+        if (simulation != null) {
+            LockSupport.unpark(simulation);
+        }
+    }
+
+    boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Pauses or resumes ticking. Key presses are still handled while paused.
+     *
+     * @param paused true to stop ticking, false to resume
+     */
+    void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Returns the number of ticks run so far. Only meaningful on the simulation thread.
+     *
+     * @return the current tick
+     */
+    int getTick() {
+        return tick;
+    }
+
+    @Override
+    public void run() {
+        long nextTick = System.nanoTime() + periodNanos;
+        while (running) {
+            if (drainInput()) {
+                guard(afterInput);
+            }
+            long now = System.nanoTime();
+            if (paused) {
+                nextTick = now + periodNanos; // do not catch up on time spent paused
+                LockSupport.parkNanos(this, periodNanos);
+                continue;
+            }
+            if (now < nextTick) {
+                LockSupport.parkNanos(this, nextTick - now); // woken early by key presses
+                continue;
+            }
+            for (Tickable tickable : tickables) {
+                step(tickable);
+            }
+            nextTick += periodNanos;
+            if (System.nanoTime() - nextTick > MAX_CATCH_UP_TICKS * periodNanos) {
+                nextTick = System.nanoTime() + periodNanos; // too far behind, drop the missed ticks
+            }
+        }
+    }
+
+    private boolean drainInput() {
+        boolean handled = false;
+        String key;
+        while ((key = input.poll()) != null) {
+            for (KeyHandler handler : handlers) {
+                String pressed = key;
+                guard(() -> handler.onPress(pressed));
+            }
+            handled = true;
+        }
+        return handled;
+    }
+
+    private void step(Tickable tickable) {
+        int current = tick++;
+        guard(() -> tickable.tick(current));
+    }
+
+    /**
+     * Runs game code, reporting rather than propagating any exception so that one failure does
+     * not stop the simulation, as the Swing event thread behaves.
+     */
+    private static void guard(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+}
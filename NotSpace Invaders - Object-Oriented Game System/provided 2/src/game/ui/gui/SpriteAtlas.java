@@ -0,0 +1,135 @@
+package game.ui.gui;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Packs every sprite into a single image, pre-scaled for the current cell size.
+ * <p>
+ * Sprites are scaled by one common factor, so they keep their sizes relative to each other, and
+ * are only ever shrunk to fit within a cell, never enlarged. The atlas is a compatible image for
+ * the screen, so Java2D can keep it in video memory and drawing a sprite is a plain copy of part
+ * of it. The atlas is rebuilt when the cell size changes or a new sprite is first drawn.
+ * <p>
+ * Only used on the Swing event thread.
+ */
+final class SpriteAtlas {
+    private static final ImageObserver OBSERVER = (img, i, x, y, w, h) -> false;
+    private static final int PADDING = 1; // keeps filtering from bleeding between sprites
+
+    /**
+     * The area of the atlas holding one sprite.
+     */
+    static final class Slot {
+        private final int x;
+        private final int width;
+        private final int height;
+
+        private Slot(int x, int width, int height) {
+            this.x = x;
+            this.width = width;
+            this.height = height;
+        }
+
+        int getWidth() {
+            return width;
+        }
+
+        int getHeight() {
+            return height;
+        }
+    }
+
+    private final Map<Image, Slot> slots = new IdentityHashMap<>();
+    private BufferedImage atlas = null;
+    private int cellWidth = 0;
+    private int cellHeight = 0;
+
+    /**
+     * Sets the cell size sprites must fit within, discarding the atlas if it has changed.
+     *
+     * @param cellWidth the width of a cell in pixels
+     * @param cellHeight the height of a cell in pixels
+     * @return true if the atlas was discarded, false if the size is unchanged
+     */
+    boolean setCellSize(int cellWidth, int cellHeight) {
+        if (cellWidth == this.cellWidth && cellHeight == this.cellHeight) {
+            return false;
+        }
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        atlas = null;
+        slots.clear();
+        return true;
+    }
+
+    /**
+     * Returns the slot holding the given sprite, rebuilding the atlas first if it is new.
+     *
+     * @param image the original sprite image
+     * @param configuration the screen configuration to build the atlas for, or null if unknown
+     * @return the sprite's slot in the atlas
+     */
+    Slot slot(Image image, GraphicsConfiguration configuration) {
+        Slot slot = slots.get(image);
+        if (slot == null) {
+            slots.put(image, null);
+            rebuild(configuration);
+            slot = slots.get(image);
+        }
+        return slot;
+    }
+
+    /**
+     * Draws the sprite in the given slot with its top-left corner at the given position.
+     *
+     * @param g the graphics to draw with
+     * @param slot the sprite's slot
+     * @param x the x pixel to draw at
+     * @param y the y pixel to draw at
+     */
+    void draw(Graphics g, Slot slot, int x, int y) {
+        g.drawImage(atlas, x, y, x + slot.width, y + slot.height,
+                slot.x, 0, slot.x + slot.width, slot.height, OBSERVER);
+    }
+
+    /**
+     * Packs every known sprite into a new atlas in a single row, scaled to fit the cell size.
+     */
+    private void rebuild(GraphicsConfiguration configuration) {
+        int widest = 1;
+        int tallest = 1;
+        for (Image image : slots.keySet()) {
+            widest = Math.max(widest, image.getWidth(OBSERVER));
+            tallest = Math.max(tallest, image.getHeight(OBSERVER));
+        }
+        double scale = Math.min(1.0, Math.min(
+                Math.max(1, cellWidth) / (double) widest, Math.max(1, cellHeight) / (double) tallest));
+
+        int atlasWidth = 0;
+        int atlasHeight = 1;
+        Map<Image, Slot> packed = new IdentityHashMap<>();
+        for (Image image : slots.keySet()) {
+            int width = Math.max(1, (int) Math.round(image.getWidth(OBSERVER) * scale));
+            int height = Math.max(1, (int) Math.round(image.getHeight(OBSERVER) * scale));
+            packed.put(image, new Slot(atlasWidth, width, height));
+            atlasWidth += width + PADDING;
+            atlasHeight = Math.max(atlasHeight, height);
+        }
+
+        atlas = configuration != null
+                ? configuration.createCompatibleImage(atlasWidth, atlasHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(atlasWidth, atlasHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        for (Map.Entry<Image, Slot> entry : packed.entrySet()) {
+            Slot slot = entry.getValue();
+            g.drawImage(entry.getKey(), slot.x, 0, slot.width, slot.height, OBSERVER);
+        }
+        g.dispose();
+        slots.putAll(packed);
+    }
+}
@@ -2,30 +2,25 @@ package game.ui.gui;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.ImageObserver;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 class Stats extends JPanel {
-    private Map<String, String> stats = new HashMap<>();
-    private List<String> labels = new ArrayList<>();
+    // Labels are shown in the order they were first set
+    private final Map<String, String> stats = new LinkedHashMap<>();
 
     public Stats() {
         this.setBackground(Color.black);
     }
-    
-    public void registerStat(String label) {
-        labels.add(label);
-    }
-
-    public boolean isRegistered(String label) {
-        return labels.contains(label);
-    }
 
-    public void setStat(String label, String value) {
-        this.stats.put(label, value);
+    /**
+     * Sets a stat, adding its label after the others if it is new.
+     *
+     * @return true if the displayed value changed, false otherwise
+     */
+    public boolean setStat(String label, String value) {
+        String previous = this.stats.put(label, value);
+        return previous == null ? value != null : !previous.equals(value);
     }
 
     @Override
@@ -33,9 +28,9 @@ class Stats extends JPanel {
         super.paintComponent(g);
         int y = 20;
         g.setColor(Color.white);
-        for (String label : labels) {
-            if (stats.containsKey(label)) {
-                g.drawString(label + ": " + stats.get(label), 10, y);
+        for (Map.Entry<String, String> stat : stats.entrySet()) {
+            if (stat.getValue() != null) {
+                g.drawString(stat.getKey() + ": " + stat.getValue(), 10, y);
             }
             y += 20;
         }
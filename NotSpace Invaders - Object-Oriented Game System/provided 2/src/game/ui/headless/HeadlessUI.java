@@ -0,0 +1,251 @@
+package game.ui.headless;
+
+import game.achievements.Achievement;
+import game.core.SpaceObject;
+import game.ui.KeyHandler;
+import game.ui.Tickable;
+import game.ui.UI;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a UI implementation with no display, which runs ticks as fast as possible.
+ * <p>
+ * Instead of a timer and keyboard, the game is driven by {@link #run(int)}, which feeds
+ * scripted key presses to the registered KeyHandlers and then steps every Tickable.
+ */
+public class HeadlessUI implements UI {
+    private final List<Tickable> tickables = new ArrayList<>();
+    private final List<KeyHandler> handlers = new ArrayList<>();
+    private final Map<String, String> stats = new HashMap<>();
+    private final InputScript script;
+    private final boolean echoLogs;
+
+    private boolean paused = false;
+    private boolean stopped = false;
+    private boolean gameOver = false;
+    private int tick = 0;
+    private long messagesLogged = 0;
+    private int objectsRendered = 0;
+
+    /**
+     * Creates a HeadlessUI driven by the given script, which discards log messages.
+     *
+     * @param script the scripted key presses to feed the game
+     */
+    public HeadlessUI(InputScript script) {
+        this(script, false);
+    }
+
+    /**
+     * Creates a HeadlessUI driven by the given script.
+     *
+     * @param script the scripted key presses to feed the game
+     * @param echoLogs whether logged messages should be printed to standard output
+     */
+    public HeadlessUI(InputScript script, boolean echoLogs) {
+        this.script = script;
+        this.echoLogs = echoLogs;
+    }
+
+    /**
+     * Runs up to the given number of ticks in a tight loop.<br>
+     * <p>
+     * Each tick, the scripted key (if any) is passed to every KeyHandler, then every Tickable is
+     * stepped unless the game is paused. Stops early once the game is over or the UI is stopped.
+     *
+     * @param ticks the maximum number of ticks to run
+     * @return the number of ticks actually run
+     */
+    public int run(int ticks) {
+        int ran = 0;
+        while (ran < ticks && !stopped && !gameOver) {
+            String key = script.keyFor(tick);
+            // Indexed loops, as iterators would be allocated every tick
+            if (key != null) {
+                for (int i = 0; i < handlers.size(); i++) {
+                    handlers.get(i).onPress(key);
+                }
+            }
+            if (!paused) {
+                for (int i = 0; i < tickables.size(); i++) {
+                    tickables.get(i).tick(tick);
+                }
+            }
+            tick++;
+            ran++;
+        }
+        return ran;
+    }
+
+    /**
+     * Passes a key press to every KeyHandler straight away, as if it had been scripted, such as for
+     * a key that arrived from a remote player. Must be called from the thread that calls run.
+     *
+     * @param key the key pressed
+     */
+    public void press(String key) {
+        for (KeyHandler handler : handlers) {
+            handler.onPress(key);
+        }
+    }
+
+    /**
+     * Starts the UI. A headless UI has nothing to display, so this only clears the stopped state.
+     */
+    @Override
+    public void start() {
+        stopped = false;
+    }
+
+    /**
+     * Alternates between paused and unpaused state.
+     */
+    @Override
+    public void pause() {
+        paused = !paused;
+    }
+
+    /**
+     * Stops {@link #run(int)} before its next tick.
+     */
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Stores the provided tickable.
+     * @param tickable the provided tickable
+     */
+    @Override
+    public void onStep(Tickable tickable) {
+        tickables.add(tickable);
+    }
+
+    /**
+     * Stores the provided KeyHandler.
+     * @param key the provided KeyHandler
+     */
+    @Override
+    public void onKey(KeyHandler key) {
+        handlers.add(key);
+    }
+
+    /**
+     * Records how many objects were rendered. Nothing is drawn.
+     *
+     * @param objects the list of SpaceObjects to be rendered.
+     */
+    @Override
+    public void render(List<SpaceObject> objects) {
+        objectsRendered = objects.size();
+    }
+
+    /**
+     * Counts the provided message, printing it if logs are echoed.
+     *
+     * @param message the provided message
+     */
+    @Override
+    public void log(String message) {
+        messagesLogged++;
+        if (echoLogs) {
+            System.out.println(message);
+        }
+    }
+
+    /**
+     * Sets the stats to the provided label and value.
+     *
+     * @param label the provided label
+     * @param value the provided value
+     */
+    @Override
+    public void setStat(String label, String value) {
+        stats.put(label, value);
+    }
+
+    @Override
+    public void logAchievementMastered(String message) {
+        log("Achievement Mastered: " + message);
+    }
+
+    @Override
+    public void logAchievements(List<Achievement> achievements) {
+        for (Achievement ach : achievements) {
+            log(ach.getName() + " (" + ach.getCurrentTier() + ")");
+        }
+    }
+
+    /**
+     * Ignores achievement progress, which is not displayed headlessly and would otherwise
+     * be formatted every tick.
+     *
+     * @param achievementName  the name of the achievement
+     * @param progressPercentage the progress as a decimal value
+     */
+    @Override
+    public void setAchievementProgressStat(String achievementName, double progressPercentage) {
+    }
+
+    /**
+     * Marks the game as over so that {@link #run(int)} returns, and logs the summary.
+     *
+     * @param summary the player's final statistics and achievement progress
+     */
+    @Override
+    public void showGameOver(String summary) {
+        gameOver = true;
+        log(summary);
+    }
+
+    /**
+     * Returns the last value set for the given stat, or null if it was never set.
+     *
+     * @param label the label of the stat
+     * @return the last value of the stat
+     */
+    public String getStat(String label) {
+        return stats.get(label);
+    }
+
+    /**
+     * Returns the tick that will be run next.
+     *
+     * @return the next tick
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns whether the game has ended.
+     *
+     * @return true if the game is over, false otherwise
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Returns the number of messages logged so far.
+     *
+     * @return the number of logged messages
+     */
+    public long getMessagesLogged() {
+        return messagesLogged;
+    }
+
+    /**
+     * Returns the number of objects passed to the most recent render call.
+     *
+     * @return the number of objects last rendered
+     */
+    public int getObjectsRendered() {
+        return objectsRendered;
+    }
+}
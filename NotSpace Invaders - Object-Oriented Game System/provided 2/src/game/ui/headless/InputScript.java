@@ -0,0 +1,52 @@
+package game.ui.headless;
+
+/**
+ * Supplies the scripted key presses fed to a {@link HeadlessUI}.
+ */
+@FunctionalInterface
+public interface InputScript {
+
+    /**
+     * The character used in cyclic scripts to mean "no key pressed this tick".
+     */
+    char NO_KEY = '.';
+
+    /**
+     * Returns the key pressed before the given tick, or null if no key is pressed.
+     *
+     * @param tick the tick about to be run
+     * @return the key pressed, or null for none
+     */
+    String keyFor(int tick);
+
+    /**
+     * Returns a script that never presses a key.
+     *
+     * @return an empty script
+     */
+    static InputScript none() {
+        return tick -> null;
+    }
+
+    /**
+     * Returns a script that presses one key per tick, cycling through the given keys.<br>
+     * <p>
+     * For example, "DDFAAF" moves right twice, fires, moves left twice and fires, repeatedly.
+     * {@link #NO_KEY} skips a tick.
+     *
+     * @param keys the keys to cycle through
+     * @return a cyclic script over the keys
+     * @throws IllegalArgumentException if keys is null or empty
+     */
+    static InputScript cycle(String keys) {
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("keys must be non-null and non-empty");
+        }
+        String[] presses = new String[keys.length()];
+        for (int i = 0; i < presses.length; i++) {
+            char key = keys.charAt(i);
+            presses[i] = key == NO_KEY ? null : String.valueOf(key);
+        }
+        return tick -> presses[Math.floorMod(tick, presses.length)];
+    }
+}
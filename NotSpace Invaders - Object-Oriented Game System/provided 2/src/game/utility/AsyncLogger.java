@@ -0,0 +1,261 @@
+package game.utility;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * A Logger that hands messages to a background thread, which writes them to a LogSink in batches.
+ * <p>
+ * Logging never blocks: messages are placed in a bounded lock-free ring buffer, and if the buffer
+ * is full the message is dropped and counted. The consumer thread drains the buffer in batches of
+ * up to BATCH_SIZE messages, and notes how many were dropped. Messages below the logger's level
+ * are discarded before they are built.
+ * <p>
+ * The consumer thread sleeps while the buffer is empty, and is woken by the next message, so an idle
+ * logger costs nothing. Any number of threads may log at once. Call {@link #close()} to write the
+ * remaining messages and stop the consumer thread; messages logged after that are counted as
+ * dropped.
+ */
+public final class AsyncLogger implements Logger, AutoCloseable {
+    /**
+     * Default number of messages the ring buffer holds.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+    /**
+     * Maximum number of messages written to the sink at once.
+     */
+    public static final int BATCH_SIZE = 64;
+
+    private final LogSink sink;
+    private final LogLevel level;
+    private final Ring ring;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean waiting = false; // the consumer is parked, or about to park
+
+    /**
+     * Creates an AsyncLogger that writes messages of the given level and above to the given sink,
+     * with a ring buffer of DEFAULT_CAPACITY messages.
+     *
+     * @param level the least severe level to log
+     * @param sink where messages are written
+     */
+    public AsyncLogger(LogLevel level, LogSink sink) {
+        this(level, sink, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an AsyncLogger that writes messages of the given level and above to the given sink.
+     *
+     * @param level the least severe level to log
+     * @param sink where messages are written
+     * @param capacity the number of messages the ring buffer holds, rounded up to a power of two
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public AsyncLogger(LogLevel level, LogSink sink, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.level = level;
+        this.sink = sink;
+        this.ring = new Ring(capacity);
+        this.consumer = new Thread(this::drain, "async-logger");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Logs provided text at INFO level.
+     *
+     * @param text logging text
+     */
+    @Override
+    public void log(String text) {
+        if (accepts(LogLevel.INFO)) {
+            enqueue(text);
+        }
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return running && level.isAtLeast(this.level);
+    }
+
+    @Override
+    public void log(LogLevel level, Supplier<String> message) {
+        if (accepts(level)) {
+            enqueue(message.get());
+        }
+    }
+
+    /**
+     * Returns the number of messages dropped because the ring buffer was full or the logger was
+     * closed.
+     *
+     * @return the number of dropped messages
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops accepting messages, waits for the queued messages to be written, then closes the sink.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+            // Messages from threads that were already logging when the logger closed
+            List<String> late = new ArrayList<>();
+            ring.drainTo(late, Integer.MAX_VALUE);
+            if (!late.isEmpty()) {
+                write(late);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            sink.close();
+        } catch (IOException e) {
+            System.err.println("Could not close log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether a message of the given level should be queued, counting it as dropped if it
+     * would have been but the logger is closed.
+     */
+    private boolean accepts(LogLevel level) {
+        if (!level.isAtLeast(this.level)) {
+            return false;
+        }
+        if (!running) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void enqueue(String message) {
+        if (!ring.offer(message)) {
+            dropped.incrementAndGet();
+        }
+        if (waiting) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * The consumer loop: writes batches until closed and the ring buffer is empty.
+     */
+    private void drain() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        long reportedDropped = 0;
+        while (true) {
+            boolean stopping = !running; // read before draining so no late message is missed
+            ring.drainTo(batch, BATCH_SIZE);
+            long droppedNow = dropped.get();
+            if (droppedNow != reportedDropped) {
+                batch.add("(" + (droppedNow - reportedDropped) + " log messages dropped)");
+                reportedDropped = droppedNow;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            } else if (stopping) {
+                return;
+            } else {
+                // Announce the wait before checking again, so a producer that adds a message after
+                // the check sees the flag and unparks this thread
+                waiting = true;
+                if (!ring.hasNext() && dropped.get() == reportedDropped && running) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+            }
+        }
+    }
+
+    private void write(List<String> batch) {
+        try {
+            sink.write(batch);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not write log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A bounded multi-producer, single-consumer ring buffer.
+     * <p>
+     * Each slot has a sequence number telling producers and the consumer whose turn it is, so
+     * producers only contend on claiming a position and never lock.
+     */
+    private static final class Ring {
+        private final String[] messages;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong(); // next position to claim
+        private long head = 0; // next position to read, consumer only
+
+        Ring(int capacity) {
+            int size = Integer.highestOneBit(capacity);
+            if (size < capacity) {
+                size <<= 1;
+            }
+            messages = new String[size];
+            sequences = new AtomicLongArray(size);
+            mask = size - 1;
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i); // slot i is free for position i
+            }
+        }
+
+        boolean offer(String message) {
+            long position = tail.get();
+            while (true) {
+                int slot = (int) (position & mask);
+                long difference = sequences.get(slot) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        messages[slot] = message;
+                        sequences.set(slot, position + 1); // publish to the consumer
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false; // the consumer has not freed this slot yet, so the ring is full
+                } else {
+                    position = tail.get(); // another producer claimed it first
+                }
+            }
+        }
+
+        /**
+         * Returns whether a message is ready to read. Consumer only.
+         */
+        boolean hasNext() {
+            return sequences.get((int) (head & mask)) == head + 1;
+        }
+
+        void drainTo(List<String> batch, int max) {
+            for (int count = 0; count < max; count++) {
+                int slot = (int) (head & mask);
+                if (sequences.get(slot) != head + 1) {
+                    return; // not yet published
+                }
+                batch.add(messages[slot]);
+                messages[slot] = null;
+                sequences.set(slot, head + messages.length); // free for the next lap
+                head++;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package game.utility;
+
+/**
+ * The severity of a logged message, from least to most severe.
+ */
+public enum LogLevel {
+    /**
+     * Detailed messages only of interest while debugging, such as each ship move.
+     */
+    DEBUG,
+    /**
+     * Messages about normal game events, such as levelling up.
+     */
+    INFO,
+    /**
+     * Messages about rejected actions, such as moving off the board.
+     */
+    WARN,
+    /**
+     * Messages about failures.
+     */
+    ERROR;
+
+    /**
+     * Returns whether a message of this level should be logged by a logger set to the given level.
+     *
+     * @param threshold the least severe level being logged
+     * @return true if this level is at least as severe as the threshold, false otherwise
+     */
+    public boolean isAtLeast(LogLevel threshold) {
+        return compareTo(threshold) >= 0;
+    }
+}
@@ -0,0 +1,76 @@
+package game.utility;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A destination that an AsyncLogger writes batches of messages to, such as the UI, a file or
+ * standard output.
+ */
+@FunctionalInterface
+public interface LogSink {
+    /**
+     * Writes a batch of messages, in the order they were logged.<br>
+     * The list is reused after this returns, so must not be kept.
+     *
+     * @param messages the messages to write
+     * @throws IOException if the messages could not be written
+     */
+    void write(List<String> messages) throws IOException;
+
+    /**
+     * Releases any resources held by the sink. Does nothing by default.
+     *
+     * @throws IOException if the resources could not be released
+     */
+    default void close() throws IOException {
+    }
+
+    /**
+     * Returns a sink that prints each message on its own line to standard output.
+     *
+     * @return a standard output sink
+     */
+    static LogSink stdout() {
+        return messages -> {
+            StringBuilder sb = new StringBuilder();
+            for (String message : messages) {
+                sb.append(message).append(System.lineSeparator());
+            }
+            System.out.print(sb);
+            System.out.flush();
+        };
+    }
+
+    /**
+     * Returns a sink that appends each message as a line of the given file, creating it if needed.
+     *
+     * @param file the file to append to
+     * @return a file sink
+     * @throws IOException if the file could not be opened
+     */
+    static LogSink file(Path file) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return new LogSink() {
+            @Override
+            public void write(List<String> messages) throws IOException {
+                for (String message : messages) {
+                    writer.write(message);
+                    writer.newLine();
+                }
+                writer.flush(); // one flush per batch rather than per message
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+}
@@ -1,7 +1,12 @@
 package game.utility;
 
+import java.util.function.Supplier;
+
 /**
  * Functional interface for passing logging information between classes.
+ * <p>
+ * Messages may also be logged with a level and built lazily, so that a message the logger
+ * would discard is never formatted.
  */
 public interface Logger {
     /**
@@ -10,4 +15,28 @@ public interface Logger {
      * @param text logging text
      */
     public void log(String text);
+
+    /**
+     * Returns whether messages of the given level are logged.<br>
+     * By default every level is logged.
+     *
+     * @param level the level to check
+     * @return true if messages of the level are logged, false otherwise
+     */
+    default boolean isEnabled(LogLevel level) {
+        return true;
+    }
+
+    /**
+     * Logs the text supplied by the given supplier, if messages of the given level are logged.<br>
+     * The supplier is only called if the message is logged.
+     *
+     * @param level the level of the message
+     * @param message supplies the logging text
+     */
+    default void log(LogLevel level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            log(message.get());
+        }
+    }
 }
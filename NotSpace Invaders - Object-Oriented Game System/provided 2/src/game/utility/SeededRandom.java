@@ -0,0 +1,93 @@
+package game.utility;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A Random that remembers the seed it was last given, and whose state can be saved and restored.
+ * <p>
+ * Numbers are generated exactly as by {@link Random}, so a SeededRandom and a Random given the
+ * same seed produce the same sequence. Knowing the seed lets a game be recorded and replayed;
+ * knowing the state lets a game be saved part way through and resumed with the same sequence.
+ * <p>
+ * The value cached by {@link #nextGaussian()} is not part of the state.
+ */
+public class SeededRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long seed;
+    private long state; // Set by setSeed from the Random constructor, so must not be initialised here
+
+    /**
+     * Creates a SeededRandom with an unpredictable seed.
+     */
+    public SeededRandom() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a SeededRandom with the given seed.
+     *
+     * @param seed the initial seed
+     */
+    public SeededRandom(long seed) {
+        super(seed);
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the seed, as {@link Random#setSeed(long)} does, and remembers it.
+     *
+     * @param seed the new seed
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        this.seed = seed;
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Returns the seed this SeededRandom was last given.
+     *
+     * @return the last seed
+     */
+    public synchronized long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the current 48-bit state, from which the rest of the sequence follows.
+     *
+     * @return the current state
+     */
+    public synchronized long getState() {
+        return state;
+    }
+
+    /**
+     * Sets the current state to one returned by {@link #getState()}, so that the sequence continues
+     * from where it was then. The remembered seed is unchanged.
+     *
+     * @param state the state to continue from
+     */
+    public synchronized void setState(long state) {
+        this.state = state & MASK;
+    }
+
+    /**
+     * Generates the next bits of the sequence with the same linear congruential step as
+     * {@link Random#next(int)}, keeping the state where it can be read.
+     *
+     * @param bits the number of random bits
+     * @return the next value of the sequence
+     */
+    @Override
+    protected synchronized int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
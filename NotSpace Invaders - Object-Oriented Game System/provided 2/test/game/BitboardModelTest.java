@@ -0,0 +1,181 @@
+import game.BitboardModel;
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.collision.CollisionRules;
+import game.core.Enemy;
+import game.core.PowerUp;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.exceptions.BoundaryExceededException;
+import game.utility.Direction;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class BitboardModelTest {
+
+    private static List<String> describe(List<SpaceObject> objects) {
+        List<String> described = new ArrayList<>();
+        for (SpaceObject object : objects) {
+            described.add(object.getClass().getSimpleName() + "@" + object.getX() + "," + object.getY());
+        }
+        Collections.sort(described);
+        return described;
+    }
+
+    /**
+     * Moves the ship, ignoring moves off the board.
+     */
+    private static void move(Ship ship, Direction direction, int width, int height) {
+        try {
+            ship.move(direction, width, height);
+        } catch (BoundaryExceededException e) {
+            // Stays where it is, as when the player presses against the edge
+        }
+    }
+
+    /**
+     * Chooses the player's move: usually towards the lowest Enemy or PowerUp's column, firing when
+     * under it, and otherwise in a random direction.
+     *
+     * @return the direction to move, or null to fire
+     */
+    private static Direction aim(GameModel model, Random player) {
+        if (player.nextInt(4) == 0) {
+            return Direction.values()[player.nextInt(Direction.values().length)];
+        }
+        SpaceObject target = null;
+        for (SpaceObject object : model.getSpaceObjects()) {
+            if ((object instanceof Enemy || object instanceof PowerUp)
+                    && (target == null || object.getY() > target.getY())) {
+                target = object;
+            }
+        }
+        Ship ship = model.getShip();
+        if (target == null || target.getX() == ship.getX()) {
+            return null;
+        }
+        return target.getX() < ship.getX() ? Direction.LEFT : Direction.RIGHT;
+    }
+
+    /**
+     * Plays the same game on a GameModel with the built-in rules and on a BitboardModel, with a
+     * player that chases Enemies and PowerUps and fires at them, and checks they agree after
+     * every tick.
+     */
+    private static void playBoth(long seed, int width, int height, int ticks) {
+        List<String> modelLog = new ArrayList<>();
+        List<String> bitboardLog = new ArrayList<>();
+        GameModel model = new GameModel(modelLog::add, new PlayerStatsTracker(), width, height,
+                new CollisionRules());
+        BitboardModel bitboard = new BitboardModel(bitboardLog::add, new PlayerStatsTracker(),
+                width, height);
+        model.setRandomSeed(seed);
+        bitboard.setRandomSeed(seed);
+        model.setVerbose(true);
+        bitboard.setVerbose(true);
+        Random player = new Random(seed);
+
+        for (int tick = 0; tick < ticks; tick++) {
+            Direction direction = aim(model, player);
+            if (direction != null) {
+                move(model.getShip(), direction, width, height);
+                move(bitboard.getShip(), direction, width, height);
+            } else {
+                // Sometimes fire twice from one cell, so two Bullets share it
+                int shots = 1 + player.nextInt(2);
+                for (int shot = 0; shot < shots; shot++) {
+                    model.fireBullet();
+                    bitboard.fireBullet();
+                }
+            }
+
+            model.updateGame(tick);
+            model.checkCollisions();
+            model.spawnObjects();
+            model.levelUp();
+            bitboard.updateGame(tick);
+            bitboard.checkCollisions();
+            bitboard.spawnObjects();
+            bitboard.levelUp();
+
+            String at = "Seed " + seed + ", " + width + "x" + height + ", tick " + tick;
+            assertEquals(at, describe(model.getSpaceObjects()), describe(bitboard.getSpaceObjects()));
+            assertEquals(at, model.getSpaceObjects().size(), bitboard.getObjectCount());
+            assertEquals(at, model.getShip().getHealth(), bitboard.getShip().getHealth());
+            assertEquals(at, model.getShip().getScore(), bitboard.getShip().getScore());
+            assertEquals(at, model.getStatsTracker().getShotsHit(),
+                    bitboard.getStatsTracker().getShotsHit());
+            assertEquals(at, model.getLevel(), bitboard.getLevel());
+        }
+        assertEquals(modelLog, bitboardLog);
+    }
+
+    /**
+     * Test that on the standard board, the bitboards move, spawn and collide objects exactly as
+     * the spatial index does.
+     */
+    @Test
+    public void testMatchesGameModelOnStandardBoard() {
+        for (long seed = 1; seed <= 4; seed++) {
+            playBoth(seed, GameModel.GAME_WIDTH, GameModel.GAME_HEIGHT, 3_000);
+        }
+    }
+
+    /**
+     * Test that the bitboards agree with the spatial index on other board shapes, including rows
+     * that cross from one long to the next and rows as wide as a long or wider.
+     */
+    @Test
+    public void testMatchesGameModelOnOtherBoards() {
+        playBoth(5, 16, 16, 2_000);
+        playBoth(6, 3, 5, 2_000);
+        playBoth(7, 7, 30, 2_000);
+        playBoth(8, 64, 4, 2_000);
+        playBoth(9, 128, 2, 2_000);
+    }
+
+    /**
+     * Test that boards with more cells than the bitboards hold are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLargeBoardIsRejected() {
+        new BitboardModel(message -> { }, new PlayerStatsTracker(), 20, 20);
+    }
+
+    /**
+     * Test that a tick allocates nothing once the Bullet layers have grown.
+     */
+    @Test
+    public void testTickDoesNotAllocate() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+        BitboardModel model = new BitboardModel(message -> { }, new PlayerStatsTracker());
+        model.setRandomSeed(1);
+        int tick = 0;
+        // The JVM itself may allocate on the thread once, such as when recompiling
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < 4 && allocated > 0; round++) {
+            long before = bean.getCurrentThreadAllocatedBytes();
+            for (int end = tick + 10_000; tick < end; tick++) {
+                model.fireBullet();
+                model.updateGame(tick);
+                model.checkCollisions();
+                model.spawnObjects();
+                model.levelUp();
+            }
+            allocated = round == 0 ? Long.MAX_VALUE : bean.getCurrentThreadAllocatedBytes() - before;
+        }
+        assertEquals(0, allocated);
+        assertTrue(model.getObjectCount() > 0);
+    }
+}
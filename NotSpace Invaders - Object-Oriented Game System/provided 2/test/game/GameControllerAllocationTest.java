@@ -0,0 +1,81 @@
+import game.GameController;
+import game.GameModel;
+import game.Main;
+import game.achievements.AchievementManager;
+import game.achievements.InMemoryAchievementFile;
+import game.achievements.PlayerStatsTracker;
+import game.metrics.TickMetrics;
+import game.ui.headless.HeadlessUI;
+import game.ui.headless.InputScript;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class GameControllerAllocationTest {
+
+    private static final int WARM_UP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 10_000;
+    private static final int MEASURED_ROUNDS = 3;
+
+    private HeadlessUI ui;
+    private GameController controller;
+
+    @Before
+    public void setUp() {
+        ui = new HeadlessUI(InputScript.cycle("F"));
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker(), 10, 20);
+        model.setRandomSeed(1);
+        AchievementManager achievements = new AchievementManager(new InMemoryAchievementFile());
+        Main.addStandardAchievements(achievements);
+        controller = new GameController(ui, model, achievements);
+        controller.setLogger(message -> { });
+        controller.startGame();
+        assumeTrue("Thread allocation is not measurable on this JVM",
+                controller.getTickMetrics().isAllocationTracked());
+    }
+
+    /**
+     * Test that refreshing achievements allocates nothing once every achievement's progress has
+     * been published. A few rounds are measured, as the JVM itself may allocate on the thread
+     * once, such as when recompiling.
+     */
+    @Test
+    public void testRefreshAchievementsDoesNotAllocate() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int tick = 0; tick < WARM_UP_TICKS; tick++) {
+            controller.refreshAchievements(tick);
+        }
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS && allocated > 0; round++) {
+            long before = bean.getCurrentThreadAllocatedBytes();
+            for (int tick = 0; tick < MEASURED_TICKS; tick++) {
+                controller.refreshAchievements(tick);
+            }
+            allocated = bean.getCurrentThreadAllocatedBytes() - before;
+        }
+        assertEquals(0, allocated);
+    }
+
+    /**
+     * Test that a steady-state tick with fire held allocates nothing, other than the survival time
+     * text rebuilt once a second.
+     */
+    @Test
+    public void testSteadyStateTickDoesNotAllocate() {
+        assertEquals(WARM_UP_TICKS, ui.run(WARM_UP_TICKS));
+        TickMetrics metrics = controller.getTickMetrics();
+        metrics.reset();
+
+        assertEquals(MEASURED_TICKS, ui.run(MEASURED_TICKS));
+        assertFalse(ui.isGameOver());
+        assertTrue(metrics.getTotalAllocatedBytes() + " bytes allocated over " + MEASURED_TICKS
+                + " ticks", metrics.getTotalAllocatedBytes() < MEASURED_TICKS);
+    }
+}
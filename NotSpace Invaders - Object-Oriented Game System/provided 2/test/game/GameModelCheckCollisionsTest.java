@@ -61,4 +61,31 @@ public class GameModelCheckCollisionsTest {
         assertTrue("Asteroid should remain", model.getSpaceObjects().contains(asteroid));
         assertFalse("Bullet should be removed", model.getSpaceObjects().contains(bullet));
     }
+
+    @Test
+    public void testBulletHitsEnemyAfterMovingIntoItsCell() {
+        Enemy enemy = new Enemy(3, 3);
+        Bullet bullet = new Bullet(3, 4);
+        model.addObject(enemy);
+        model.addObject(bullet);
+
+        model.updateGame(1); // Bullet moves up into (3, 3), enemy stays
+        model.checkCollisions();
+
+        assertFalse("Enemy should be removed", model.getSpaceObjects().contains(enemy));
+        assertFalse("Bullet should be removed", model.getSpaceObjects().contains(bullet));
+        assertEquals("Hit should be recorded", 1, model.getStatsTracker().getShotsHit());
+    }
+
+    @Test
+    public void testShipCollidesWithEnemyThatDescendedOntoIt() {
+        Enemy enemy = new Enemy(ship.getX(), ship.getY() - 1);
+        model.addObject(enemy);
+
+        model.updateGame(10); // Enemy descends onto the ship
+        model.checkCollisions();
+
+        assertEquals("Ship should take enemy damage", 100 - GameModel.ENEMY_DAMAGE, ship.getHealth());
+        assertTrue("Enemy should be removed", model.getSpaceObjects().isEmpty());
+    }
 }
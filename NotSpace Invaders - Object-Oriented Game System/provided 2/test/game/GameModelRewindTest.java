@@ -0,0 +1,156 @@
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class GameModelRewindTest {
+
+    private GameModel model;
+    private int[] checksums; // checksums[tick] is the state checksum just before the tick ran
+
+    @Before
+    public void setUp() {
+        model = new GameModel(message -> { }, new PlayerStatsTracker());
+        model.setRandomSeed(13);
+        model.setRewindTicks(100);
+        checksums = new int[1_000];
+    }
+
+    /**
+     * Runs ticks from (inclusive) to (exclusive) as the controller would, firing every few ticks.
+     */
+    private void run(int from, int to) {
+        for (int tick = from; tick < to; tick++) {
+            checksums[tick] = model.checksum();
+            model.updateGame(tick);
+            model.checkCollisions();
+            model.spawnObjects();
+            model.levelUp();
+            if (tick % 3 == 0) {
+                model.fireBullet();
+            }
+        }
+    }
+
+    /**
+     * Test that rewinding restores the state from the start of the tick.
+     */
+    @Test
+    public void testRewindRestoresState() {
+        run(0, 600);
+
+        model.rewind(550);
+
+        assertEquals(checksums[550], model.checksum());
+    }
+
+    /**
+     * Test that a rewound game plays on exactly as it did the first time.
+     */
+    @Test
+    public void testRewoundGameReplaysIdentically() {
+        run(0, 600);
+        int[] first = checksums.clone();
+        int finalChecksum = model.checksum();
+
+        model.rewind(520);
+        run(520, 600);
+
+        for (int tick = 520; tick < 600; tick++) {
+            assertEquals("State differs before tick " + tick, first[tick], checksums[tick]);
+        }
+        assertEquals(finalChecksum, model.checksum());
+    }
+
+    /**
+     * Test that only the last ticks kept can be rewound to, and not the rewound tick again.
+     */
+    @Test
+    public void testOnlyKeptTicksCanBeRewound() {
+        run(0, 300);
+
+        assertFalse(model.canRewind(199));
+        assertTrue(model.canRewind(200));
+        assertTrue(model.canRewind(299));
+
+        model.rewind(250);
+        assertFalse(model.canRewind(250));
+        assertTrue(model.canRewind(249));
+    }
+
+    /**
+     * Test that objects added and removed within the rewound ticks are removed and put back.
+     */
+    @Test
+    public void testRewindUndoesAddsAndRemovals() {
+        GameModel big = new GameModel(message -> { }, new PlayerStatsTracker(), 100, 100);
+        big.setRewindTicks(10);
+        for (int i = 0; i < 50; i++) {
+            big.addObject(new Asteroid(i, 97 + i % 3, 1));
+        }
+        big.updateGame(0); // The 16 asteroids that started at y = 99 fall off the board
+        int before = big.checksum();
+        big.updateGame(1); // Every second remaining asteroid falls off
+        big.addObject(new Asteroid(7, 7));
+        big.updateGame(2);
+
+        big.rewind(1);
+
+        assertEquals(before, big.checksum());
+        assertEquals(34, big.getSpaceObjects().size());
+    }
+
+    /**
+     * Test that a tick that is not kept cannot be rewound to.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRewindToUnkeptTickThrows() {
+        run(0, 10);
+
+        model.rewind(10);
+    }
+
+    /**
+     * Test that recording a tick for rewinding allocates nothing once the log has reached its
+     * working size. Spawning is left out, as objects are not recycled while changes are kept.
+     */
+    @Test
+    public void testRecordingTicksDoesNotAllocate() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+        int tick = 0;
+        for (; tick < 20_000; tick++) {
+            runTick(tick);
+        }
+        // The JVM itself may allocate on the thread once, such as when recompiling
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < 3 && allocated > 0; round++) {
+            allocated = 0;
+            for (int end = tick + 5_000; tick < end; tick++) {
+                long before = bean.getCurrentThreadAllocatedBytes();
+                model.updateGame(tick);
+                allocated += bean.getCurrentThreadAllocatedBytes() - before;
+                model.checkCollisions();
+                model.spawnObjects();
+                model.levelUp();
+            }
+        }
+        assertEquals(0, allocated);
+    }
+
+    private void runTick(int tick) {
+        model.updateGame(tick);
+        model.checkCollisions();
+        model.spawnObjects();
+        model.levelUp();
+    }
+}
@@ -1,11 +1,13 @@
 import game.GameModel;
 import game.achievements.PlayerStatsTracker;
+import game.core.Enemy;
 import game.core.HealthPowerUp;
 import game.core.SpaceObject;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -42,4 +44,55 @@ public class GameModelUpdateGameTest {
 
         assertTrue(model.getSpaceObjects().contains(obj));
     }
+
+    @Test
+    public void testUpdateGameUsesCustomBoardHeight() {
+        GameModel large = new GameModel(System.out::println, new PlayerStatsTracker(), 10_000, 10_000);
+        SpaceObject kept = new HealthPowerUp(9_000, GameModel.GAME_HEIGHT); // beyond default height
+        SpaceObject dropped = new HealthPowerUp(2, 10_000);
+        large.addObject(kept);
+        large.addObject(dropped);
+
+        large.updateGame(1);
+
+        assertTrue(large.getSpaceObjects().contains(kept));
+        assertFalse(large.getSpaceObjects().contains(dropped));
+    }
+
+    /**
+     * Objects with their own move interval move only on multiples of that interval.
+     */
+    @Test
+    public void testUpdateGameUsesPerObjectMoveInterval() {
+        SpaceObject slow = new Enemy(1, 0, 15);
+        SpaceObject fast = new HealthPowerUp(2, 0, 3);
+        model.addObject(slow);
+        model.addObject(fast);
+
+        for (int tick = 1; tick <= 30; tick++) {
+            model.updateGame(tick);
+        }
+
+        assertEquals("Enemy should move on ticks 15 and 30", 2, slow.getY());
+        assertEquals("Power-up should move every 3 ticks", 10, fast.getY());
+    }
+
+    /**
+     * Objects still move on the right ticks when ticks skip ahead or repeat.
+     */
+    @Test
+    public void testUpdateGameMovesOnNonSequentialTicks() {
+        SpaceObject enemy = new Enemy(1, 0);
+        model.addObject(enemy);
+
+        model.updateGame(1);
+        model.updateGame(20); // skips ahead onto a move
+        model.updateGame(21);
+        model.updateGame(20); // repeats a move
+        for (int tick = 21; tick <= 30; tick++) {
+            model.updateGame(tick);
+        }
+
+        assertEquals("Enemy should move on ticks 20, 20 again and 30", 3, enemy.getY());
+    }
 }
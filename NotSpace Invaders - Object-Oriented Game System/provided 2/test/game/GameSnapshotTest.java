@@ -0,0 +1,133 @@
+import game.GameModel;
+import game.GameSnapshot;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.HealthPowerUp;
+import game.core.ShieldPowerUp;
+import game.core.SpaceObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GameSnapshotTest {
+
+    private static byte[] save(GameModel model) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameSnapshot.write(model, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static GameModel restore(byte[] snapshot) throws IOException {
+        return GameSnapshot.read(Channels.newChannel(new ByteArrayInputStream(snapshot)), message -> { });
+    }
+
+    /**
+     * Runs one tick of a game as the controller would, firing a bullet every few ticks.
+     */
+    private static void step(GameModel model, int tick) {
+        model.updateGame(tick);
+        model.checkCollisions();
+        model.spawnObjects();
+        model.levelUp();
+        if (tick % 3 == 0) {
+            model.fireBullet();
+        }
+    }
+
+    /**
+     * Test that a restored game continues exactly as the saved game does.
+     */
+    @Test
+    public void testRestoredGameContinuesIdentically() throws IOException {
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker());
+        model.setRandomSeed(13);
+        for (int tick = 0; tick < 1_500; tick++) {
+            step(model, tick);
+        }
+
+        GameModel restored = restore(save(model));
+        assertEquals(model.checksum(), restored.checksum());
+        assertEquals(model.getLevel(), restored.getLevel());
+        assertEquals(model.getRandomSeed(), restored.getRandomSeed());
+        for (int tick = 1_500; tick < 3_000; tick++) {
+            step(model, tick);
+            step(restored, tick);
+            assertEquals("State differs after tick " + tick, model.checksum(), restored.checksum());
+        }
+    }
+
+    /**
+     * Test that every built-in object type is restored with its type, position and move interval.
+     */
+    @Test
+    public void testObjectsRestored() throws IOException {
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker(), 2_000, 2_000);
+        model.addObject(new Bullet(0, 1_999));
+        model.addObject(new Asteroid(5, 6, 3));
+        model.addObject(new Enemy(1_000, 7, 1));
+        model.addObject(new HealthPowerUp(8, 1_500, 40));
+        model.addObject(new ShieldPowerUp(-1, -2, 2));
+
+        List<SpaceObject> objects = restore(save(model)).getSpaceObjects();
+        assertEquals(5, objects.size());
+        assertSame(Asteroid.class, objects.get(1).getClass());
+        assertEquals(3, ((Asteroid) objects.get(1)).getMoveInterval());
+        assertEquals(1_000, objects.get(2).getX());
+        assertEquals(1_500, objects.get(3).getY());
+        assertSame(ShieldPowerUp.class, objects.get(4).getClass());
+        assertEquals(-2, objects.get(4).getY());
+    }
+
+    /**
+     * Test that a large session restores with every object, in a few bytes per object.
+     */
+    @Test
+    public void testLargeSessionRestored() throws IOException {
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker(), 1_000, 1_000);
+        for (int i = 0; i < 100_000; i++) {
+            model.addObject(new Asteroid(i % 1_000, i / 1_000));
+        }
+
+        byte[] snapshot = save(model);
+        GameModel restored = restore(snapshot);
+        assertEquals(100_000, restored.getSpaceObjects().size());
+        assertEquals(model.checksum(), restored.checksum());
+        assertTrue("Snapshot of " + snapshot.length + " bytes", snapshot.length < 600_000);
+    }
+
+    /**
+     * Test that a damaged snapshot is rejected rather than restored.
+     */
+    @Test(expected = IOException.class)
+    public void testCorruptSnapshotRejected() throws IOException {
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker());
+        model.addObject(new Asteroid(3, 4));
+        byte[] snapshot = save(model);
+        snapshot[snapshot.length - 6]++;
+
+        restore(snapshot);
+    }
+
+    /**
+     * Test that a snapshot cut short is rejected rather than restored.
+     */
+    @Test(expected = IOException.class)
+    public void testTruncatedSnapshotRejected() throws IOException {
+        GameModel model = new GameModel(message -> { }, new PlayerStatsTracker());
+        model.addObject(new Asteroid(3, 4));
+        byte[] snapshot = save(model);
+
+        restore(Arrays.copyOf(snapshot, snapshot.length - 7));
+    }
+}
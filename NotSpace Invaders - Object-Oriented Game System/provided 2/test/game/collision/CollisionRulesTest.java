@@ -0,0 +1,165 @@
+import game.GameModel;
+import game.achievements.PlayerStatsTracker;
+import game.collision.CollisionRules;
+import game.core.Asteroid;
+import game.core.Bullet;
+import game.core.Enemy;
+import game.core.HealthPowerUp;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.ui.ObjectGraphic;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CollisionRulesTest {
+
+    private CollisionRules rules;
+
+    /**
+     * A new kind of object, standing still until it is shot.
+     */
+    private static class Mine implements SpaceObject {
+        private final int x;
+        private final int y;
+
+        Mine(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public ObjectGraphic render() {
+            return null;
+        }
+
+        @Override
+        public void tick(int tick) {
+        }
+    }
+
+    @Before
+    public void setUp() {
+        rules = new CollisionRules();
+    }
+
+    /**
+     * Test that objects take the type ID of their nearest registered class.
+     */
+    @Test
+    public void testTypeOfUsesNearestRegisteredClass() {
+        assertEquals(CollisionRules.BULLET, rules.typeOf(new Bullet(0, 0)));
+        assertEquals(CollisionRules.ENEMY, rules.typeOf(new Enemy(0, 0)));
+        assertEquals("HealthPowerUp should be a PowerUp",
+                CollisionRules.POWER_UP, rules.typeOf(new HealthPowerUp(0, 0)));
+        assertEquals("Unregistered classes should be OTHER",
+                CollisionRules.OTHER, rules.typeOf(new Mine(0, 0)));
+    }
+
+    /**
+     * Test that only the standard pairs have responses.
+     */
+    @Test
+    public void testStandardResponses() {
+        assertNotNull(rules.response(CollisionRules.BULLET, CollisionRules.ENEMY));
+        assertNotNull(rules.response(CollisionRules.BULLET, CollisionRules.ASTEROID));
+        assertNull("Bullets should pass through power-ups",
+                rules.response(CollisionRules.BULLET, CollisionRules.POWER_UP));
+        assertNull("The ship should not collide with bullets",
+                rules.response(CollisionRules.SHIP, CollisionRules.BULLET));
+    }
+
+    /**
+     * Test that a registered type collides by its own rules in a game.
+     */
+    @Test
+    public void testRegisteredTypeCollidesInGame() {
+        int mine = rules.register(Mine.class);
+        rules.on(CollisionRules.SHIP, mine, (ship, other, context) -> {
+            context.getShip().takeDamage(50);
+            context.remove(other);
+        });
+        rules.on(CollisionRules.BULLET, mine, (bullet, other, context) -> {
+            context.remove(bullet);
+            context.remove(other);
+        });
+        GameModel model = new GameModel(text -> { }, new PlayerStatsTracker(),
+                GameModel.GAME_WIDTH, GameModel.GAME_HEIGHT, rules);
+        Ship ship = model.getShip();
+        SpaceObject underShip = new Mine(ship.getX(), ship.getY());
+        SpaceObject shot = new Mine(2, 2);
+        SpaceObject bullet = new Bullet(2, 2);
+        model.addObject(underShip);
+        model.addObject(shot);
+        model.addObject(bullet);
+
+        model.checkCollisions();
+
+        assertEquals("Mine should damage the ship", 50, ship.getHealth());
+        assertTrue(model.getSpaceObjects().isEmpty());
+    }
+
+    /**
+     * Test that a registered type with no responses of its own collides as OTHER does.
+     */
+    @Test
+    public void testRegisteredTypeStartsAsOther() {
+        rules.register(Mine.class);
+        GameModel model = new GameModel(text -> { }, new PlayerStatsTracker(),
+                GameModel.GAME_WIDTH, GameModel.GAME_HEIGHT, rules);
+        Ship ship = model.getShip();
+        SpaceObject underShip = new Mine(ship.getX(), ship.getY());
+        SpaceObject shot = new Mine(2, 2);
+        model.addObject(underShip);
+        model.addObject(shot);
+        model.addObject(new Asteroid(2, 3));
+        model.addObject(new Bullet(2, 2));
+
+        model.checkCollisions();
+
+        assertFalse("Objects reaching the ship should be removed",
+                model.getSpaceObjects().contains(underShip));
+        assertTrue("Bullets should not hit unknown objects", model.getSpaceObjects().contains(shot));
+        assertEquals(100, ship.getHealth());
+    }
+
+    /**
+     * Test that looking up a type does not freeze the rules, and that a type registered after a
+     * lookup is seen by the next one.
+     */
+    @Test
+    public void testLookupBeforeFreezing() {
+        Mine mine = new Mine(0, 0);
+        assertEquals(CollisionRules.OTHER, rules.typeOf(mine));
+        int id = rules.register(Mine.class);
+        assertEquals(id, rules.typeOf(mine));
+
+        rules.freeze();
+        assertEquals(id, rules.typeOf(mine));
+    }
+
+    /**
+     * Test that rules cannot change once a game uses them.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testRulesFrozenInUse() {
+        new GameModel(text -> { }, new PlayerStatsTracker(),
+                GameModel.GAME_WIDTH, GameModel.GAME_HEIGHT, rules);
+        rules.register(Mine.class);
+    }
+}
@@ -0,0 +1,84 @@
+import game.core.Bullet;
+import game.core.ObjectPool;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectPoolTest {
+
+    private ObjectPool<Bullet> pool;
+
+    @Before
+    public void setUp() {
+        pool = new ObjectPool<>(Bullet::new);
+    }
+
+    /**
+     * Test that a released object is reused and reset to the new position.
+     */
+    @Test
+    public void testReleasedObjectIsReusedAtNewPosition() {
+        Bullet first = pool.obtain(1, 2);
+        first.tick(1);
+
+        assertTrue("Pooled object should be released", ObjectPool.release(first));
+        Bullet second = pool.obtain(5, 6);
+
+        assertSame("Released object should be reused", first, second);
+        assertEquals(5, second.getX());
+        assertEquals(6, second.getY());
+    }
+
+    /**
+     * Test that releasing the same object twice only pools it once.
+     */
+    @Test
+    public void testDoubleReleaseIsIgnored() {
+        Bullet bullet = pool.obtain(1, 2);
+
+        ObjectPool.release(bullet);
+
+        assertFalse("Idle object should not be released again", ObjectPool.release(bullet));
+        assertEquals(1, pool.available());
+        assertNotSame("Pool should not hand out the same object twice",
+                pool.obtain(0, 0), pool.obtain(0, 0));
+    }
+
+    /**
+     * Test that objects created outside a pool are never pooled.
+     */
+    @Test
+    public void testUnpooledObjectIsNotReleased() {
+        assertFalse(ObjectPool.release(new Bullet(1, 2)));
+        assertEquals(0, pool.available());
+    }
+
+    /**
+     * Test that a pool keeps released objects up to its capacity, and no more.
+     */
+    @Test
+    public void testPoolKeepsUpToCapacity() {
+        ObjectPool<Bullet> small = new ObjectPool<>(Bullet::new, 100);
+        List<Bullet> bullets = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            bullets.add(small.obtain(0, i));
+        }
+        int released = 0;
+        for (Bullet bullet : bullets) {
+            if (ObjectPool.release(bullet)) {
+                released++;
+            }
+        }
+
+        assertEquals(100, released);
+        assertEquals(100, small.available());
+    }
+}
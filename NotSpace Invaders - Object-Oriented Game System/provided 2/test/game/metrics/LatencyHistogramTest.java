@@ -0,0 +1,59 @@
+import game.metrics.LatencyHistogram;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    /**
+     * Test that small latencies are counted exactly.
+     */
+    @Test
+    public void testSmallValuesAreExact() {
+        for (int nanos = 1; nanos <= 10; nanos++) {
+            histogram.record(nanos);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(10, histogram.getMax());
+        assertEquals(5, histogram.getPercentile(50));
+        assertEquals(5.5, histogram.getMean(), 0.0001);
+    }
+
+    /**
+     * Test that large latencies are reported within the histogram's precision.
+     */
+    @Test
+    public void testLargeValuesAreWithinPrecision() {
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(5_000_000);
+
+        long p50 = histogram.getPercentile(50);
+        assertTrue("p50 should be close to 1000 but was " + p50, p50 >= 1_000 && p50 <= 1_070);
+        assertEquals("p100 should be the maximum", 5_000_000, histogram.getPercentile(100));
+    }
+
+    /**
+     * Test that reset removes every recorded latency.
+     */
+    @Test
+    public void testReset() {
+        histogram.record(42);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+}
@@ -0,0 +1,49 @@
+import game.metrics.TickMetrics;
+import game.metrics.TickPhase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class TickMetricsTest {
+
+    private static void recordTicks(TickMetrics metrics, int ticks) {
+        for (int tick = 0; tick < ticks; tick++) {
+            long start = metrics.beginTick();
+            for (TickPhase phase : TickPhase.values()) {
+                start = metrics.endPhase(phase, start);
+            }
+            metrics.endTick(tick, 0);
+        }
+    }
+
+    /**
+     * Test that ticks on a platform thread have their allocation measured, where the JVM
+     * supports it.
+     */
+    @Test
+    public void testAllocationTrackedOnPlatformThread() {
+        TickMetrics metrics = new TickMetrics();
+        assumeTrue(metrics.isAllocationTracked());
+        recordTicks(metrics, 10);
+
+        assertTrue(metrics.isAllocationTracked());
+        assertTrue(metrics.summary(), metrics.summary().contains("bytes/tick"));
+    }
+
+    /**
+     * Test that ticks on a virtual thread report allocation as untracked, rather than as 0 bytes.
+     */
+    @Test
+    public void testAllocationUntrackedOnVirtualThread() throws InterruptedException {
+        TickMetrics metrics = new TickMetrics();
+        Thread.ofVirtual().start(() -> recordTicks(metrics, 10)).join();
+
+        assertEquals(10, metrics.getTicksRecorded());
+        assertFalse(metrics.isAllocationTracked());
+        assertEquals(0, metrics.getTotalAllocatedBytes());
+        assertFalse(metrics.summary(), metrics.summary().contains("bytes/tick"));
+    }
+}
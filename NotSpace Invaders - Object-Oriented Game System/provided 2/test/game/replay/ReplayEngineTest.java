@@ -0,0 +1,90 @@
+import game.GameController;
+import game.GameModel;
+import game.Main;
+import game.achievements.AchievementManager;
+import game.achievements.InMemoryAchievementFile;
+import game.achievements.PlayerStatsTracker;
+import game.exceptions.ReplayDivergedException;
+import game.replay.InputJournal;
+import game.replay.JournalRecorder;
+import game.replay.ReplayEngine;
+import game.ui.headless.HeadlessUI;
+import game.ui.headless.InputScript;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReplayEngineTest {
+
+    private GameModel recorded;
+
+    /**
+     * Plays a headless game with the given script, recording it, and returns the journal bytes.
+     */
+    private byte[] record(String script, int ticks, int checksumInterval) throws IOException {
+        HeadlessUI ui = new HeadlessUI(InputScript.cycle(script));
+        recorded = new GameModel(ui::log, new PlayerStatsTracker());
+        recorded.setRandomSeed(13);
+        AchievementManager achievements = new AchievementManager(new InMemoryAchievementFile());
+        Main.addStandardAchievements(achievements);
+        GameController controller = new GameController(ui, recorded, achievements);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JournalRecorder recorder = new JournalRecorder(out, recorded, checksumInterval);
+        controller.startGame(recorder, recorder);
+        ui.run(ticks);
+        recorder.close();
+        return out.toByteArray();
+    }
+
+    private static InputJournal read(byte[] journal) throws IOException {
+        return InputJournal.read(new ByteArrayInputStream(journal));
+    }
+
+    /**
+     * Test that a replayed game reaches exactly the recorded state, including across pauses.
+     */
+    @Test
+    public void testReplayMatchesRecordedGame() throws IOException {
+        byte[] journal = record("DDFAAF.P..P.WWFSS", 2_000, 1);
+
+        ReplayEngine engine = new ReplayEngine(read(journal));
+        long ticks = engine.replay();
+
+        GameModel replayed = engine.getController().getModel();
+        assertEquals("Every recorded tick should be replayed", read(journal).getTickCount(), ticks);
+        assertEquals(recorded.checksum(), replayed.checksum());
+        assertEquals(recorded.getShip().getScore(), replayed.getShip().getScore());
+        assertEquals(recorded.getSpaceObjects().size(), replayed.getSpaceObjects().size());
+    }
+
+    /**
+     * Test that a replay of a different game is detected at the first differing checksum.
+     */
+    @Test(expected = ReplayDivergedException.class)
+    public void testReplayDetectsDivergence() throws IOException {
+        byte[] journal = record("DDFAAF", 2_000, 1);
+        ByteBuffer.wrap(journal).putLong(6, 14); // replace the seed after the magic and version
+
+        new ReplayEngine(read(journal)).replay();
+    }
+
+    /**
+     * Test that a journal without checksums costs about a byte or two per key press.
+     */
+    @Test
+    public void testJournalIsCompact() throws IOException {
+        byte[] journal = record("F.........", 10_000, 0);
+
+        InputJournal read = read(journal);
+        assertEquals(13, read.getSeed());
+        assertEquals(GameModel.GAME_WIDTH, read.getWidth());
+        assertTrue("Journal of " + journal.length + " bytes for at most 1,000 key presses",
+                journal.length < 2_100);
+    }
+}
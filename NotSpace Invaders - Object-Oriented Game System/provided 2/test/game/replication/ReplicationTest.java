@@ -0,0 +1,163 @@
+import game.GameController;
+import game.GameModel;
+import game.Main;
+import game.achievements.AchievementManager;
+import game.achievements.InMemoryAchievementFile;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.SpaceObject;
+import game.replication.ReplicationClient;
+import game.replication.ReplicationServer;
+import game.replication.WorldState;
+import game.ui.headless.HeadlessUI;
+import game.ui.headless.InputScript;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReplicationTest {
+
+    private HeadlessUI ui;
+    private GameModel model;
+    private ReplicationServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        ui = new HeadlessUI(InputScript.cycle("DDFAAF"));
+        model = new GameModel(ui::log, new PlayerStatsTracker());
+        model.setRandomSeed(13);
+        AchievementManager achievements = new AchievementManager(new InMemoryAchievementFile());
+        Main.addStandardAchievements(achievements);
+        GameController controller = new GameController(ui, model, achievements);
+        server = new ReplicationServer(model, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        controller.startGame(server, key -> { });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    private ReplicationClient connect() throws IOException, InterruptedException {
+        int before = server.getClientCount();
+        ReplicationClient client = new ReplicationClient(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+        for (int i = 0; i < 500 && server.getClientCount() == before; i++) {
+            Thread.sleep(10);
+        }
+        return client;
+    }
+
+    /**
+     * Polls the client until it has received the state after the given tick.
+     */
+    private static void awaitTick(ReplicationClient client, int tick) throws IOException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (client.getState().getTick() < tick) {
+            assertTrue("No state for tick " + tick, System.currentTimeMillis() < deadline);
+            client.poll(10);
+        }
+    }
+
+    private static List<String> objectsOf(GameModel model) {
+        List<String> objects = new ArrayList<>();
+        for (SpaceObject object : model.getSpaceObjects()) {
+            objects.add(WorldState.typeOf(object) + "@" + object.getX() + "," + object.getY());
+        }
+        Collections.sort(objects);
+        return objects;
+    }
+
+    private static List<String> objectsOf(WorldState state) {
+        List<String> objects = new ArrayList<>();
+        for (int i = 0; i < state.size(); i++) {
+            objects.add(state.getType(i) + "@" + state.getX(i) + "," + state.getY(i));
+        }
+        Collections.sort(objects);
+        return objects;
+    }
+
+    /**
+     * Test that a client over loopback sees exactly the server's state after every tick.
+     */
+    @Test
+    public void testClientFollowsServerState() throws IOException, InterruptedException {
+        try (ReplicationClient client = connect()) {
+            for (int tick = 0; tick < 300 && !ui.isGameOver(); tick++) {
+                ui.run(1);
+                awaitTick(client, ui.getTick() - 1);
+
+                WorldState state = client.getState();
+                assertEquals(model.getShip().getX(), state.getShipX());
+                assertEquals(model.getShip().getY(), state.getShipY());
+                assertEquals(model.getShip().getHealth(), state.getHealth());
+                assertEquals(model.getShip().getScore(), state.getScore());
+                assertEquals(model.getLevel(), state.getLevel());
+                assertEquals(objectsOf(model), objectsOf(state));
+            }
+        }
+    }
+
+    /**
+     * Test that a client joining late is sent the whole state, and catches up, while a client
+     * already connected keeps following.
+     */
+    @Test
+    public void testLateClientCatchesUp() throws IOException, InterruptedException {
+        try (ReplicationClient early = connect()) {
+            ui.run(100);
+            awaitTick(early, ui.getTick() - 1);
+            try (ReplicationClient late = connect()) {
+                for (int tick = 0; tick < 20 && !ui.isGameOver(); tick++) {
+                    ui.run(1);
+                    awaitTick(early, ui.getTick() - 1);
+                    awaitTick(late, ui.getTick() - 1);
+                    assertEquals(objectsOf(model), objectsOf(early.getState()));
+                    assertEquals(objectsOf(model), objectsOf(late.getState()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that with many objects, deltas cost far less than sending every object every tick.
+     */
+    @Test
+    public void testDeltasAreCompact() throws IOException, InterruptedException {
+        GameModel large = new GameModel(message -> { }, new PlayerStatsTracker(), 200, 200);
+        for (int i = 0; i < 2_000; i++) {
+            large.addObject(new Asteroid(i % 200, i / 200, 1 + i % 10));
+        }
+        try (ReplicationServer largeServer = new ReplicationServer(large,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            largeServer.start();
+            try (ReplicationClient client = new ReplicationClient(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), largeServer.getPort()))) {
+                for (int i = 0; i < 500 && largeServer.getClientCount() == 0; i++) {
+                    Thread.sleep(10);
+                }
+                long fullBytes = 0;
+                for (int tick = 0; tick < 100; tick++) {
+                    large.updateGame(tick);
+                    largeServer.tick(tick);
+                    awaitTick(client, tick);
+                    fullBytes += 4L * large.getSpaceObjects().size(); // a byte per field per object
+                }
+                assertEquals(objectsOf(large), objectsOf(client.getState()));
+                assertTrue(client.getBytesReceived() + " bytes received, against " + fullBytes
+                        + " for full states", client.getBytesReceived() * 4 < fullBytes);
+            }
+        }
+    }
+}
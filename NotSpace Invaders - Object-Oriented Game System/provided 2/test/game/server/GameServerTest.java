@@ -0,0 +1,162 @@
+import game.server.GameServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GameServerTest {
+
+    private GameServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 50);
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    /**
+     * A connected player, reading and writing lines.
+     */
+    private final class Player implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final OutputStream out;
+
+        Player() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+            socket.setSoTimeout(5_000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = socket.getOutputStream();
+        }
+
+        void send(String line) throws IOException {
+            out.write((line + "\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        String read() throws IOException {
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private static void awaitSessions(GameServer server, int count) throws InterruptedException {
+        for (int i = 0; i < 500 && server.getSessionCount() != count; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, server.getSessionCount());
+    }
+
+    /**
+     * Test that a player is greeted with their session and can query its status.
+     */
+    @Test
+    public void testGreetingAndStatus() throws IOException {
+        try (Player player = new Player()) {
+            String[] greeting = player.read().split(" ");
+            assertEquals(GameServer.GREETING, greeting[0]);
+            assertEquals(String.valueOf(GameServer.PROTOCOL_VERSION), greeting[1]);
+
+            player.send("P");
+            player.send("STATUS");
+            String[] status = player.read().split(" ");
+            assertEquals("STATUS", status[0]);
+            assertEquals(8, status.length);
+            assertEquals("100", status[3]);
+        }
+    }
+
+    /**
+     * Test that commands reach the player's own game, and not the others.
+     */
+    @Test
+    public void testCommandsReachOwnSession() throws IOException {
+        try (Player mover = new Player(); Player idle = new Player()) {
+            mover.read();
+            idle.read();
+            mover.send("P"); // Pause, so the ship is not hit while the test runs
+            idle.send("P");
+            int moverX = shipX(status(mover));
+            int idleX = shipX(status(idle));
+
+            mover.send("P"); // Moves are ignored while paused
+            for (int i = 0; i < 3; i++) {
+                mover.send("A");
+            }
+            mover.send("P");
+
+            assertEquals(moverX - 3, shipX(status(mover)));
+            assertEquals(idleX, shipX(status(idle)));
+        }
+    }
+
+    private static String[] status(Player player) throws IOException {
+        player.send("STATUS");
+        String[] status = player.read().split(" ");
+        assertEquals("STATUS", status[0]);
+        return status;
+    }
+
+    private static int shipX(String[] status) {
+        return Integer.parseInt(status[6]);
+    }
+
+    /**
+     * Test that many players are each served a session, which ends when they quit.
+     */
+    @Test
+    public void testManyConcurrentSessions() throws IOException, InterruptedException {
+        List<Player> players = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                Player player = new Player();
+                players.add(player);
+                assertTrue(player.read().startsWith(GameServer.GREETING));
+                player.send("P"); // Pause, so no game ends before its player quits
+            }
+            for (Player player : players) {
+                player.send("STATUS");
+            }
+            for (Player player : players) {
+                String status = player.read();
+                assertTrue(status, status.startsWith("STATUS"));
+            }
+            awaitSessions(server, 200);
+
+            for (Player player : players) {
+                player.send("QUIT");
+            }
+            for (Player player : players) {
+                assertNull("The server closes the connection", player.read());
+            }
+            awaitSessions(server, 0);
+        } finally {
+            for (Player player : players) {
+                player.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+import game.GameController;
+import game.GameModel;
+import game.Main;
+import game.achievements.AchievementManager;
+import game.achievements.InMemoryAchievementFile;
+import game.achievements.PlayerStatsTracker;
+import game.core.Asteroid;
+import game.core.SpaceObject;
+import game.replication.WorldState;
+import game.spectator.SpectatorFeed;
+import game.ui.StatsFrame;
+import game.ui.headless.HeadlessUI;
+import game.ui.headless.InputScript;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class SpectatorFeedTest {
+
+    private HeadlessUI ui;
+    private GameModel model;
+    private GameController controller;
+    private SpectatorFeed feed;
+    private final List<Socket> spectators = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        ui = new HeadlessUI(InputScript.cycle("DDFAAF"));
+        model = new GameModel(ui::log, new PlayerStatsTracker());
+        model.setRandomSeed(13);
+        AchievementManager achievements = new AchievementManager(new InMemoryAchievementFile());
+        Main.addStandardAchievements(achievements);
+        controller = new GameController(ui, model, achievements);
+        feed = new SpectatorFeed(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        controller.setFrameObserver(feed);
+        controller.startGame();
+        feed.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Socket spectator : spectators) {
+            spectator.close();
+        }
+        feed.close();
+    }
+
+    private DataInputStream connect() throws IOException, InterruptedException {
+        int before = feed.getSpectatorCount();
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), feed.getPort());
+        spectators.add(socket);
+        for (int i = 0; i < 500 && feed.getSpectatorCount() == before; i++) {
+            Thread.sleep(10);
+        }
+        return new DataInputStream(socket.getInputStream());
+    }
+
+    /**
+     * Reads one whole frame, without its length.
+     */
+    private static byte[] readFrame(DataInputStream in) throws IOException {
+        byte[] frame = new byte[in.readInt()];
+        in.readFully(frame);
+        return frame;
+    }
+
+    private static int frameNumber(byte[] frame) throws IOException {
+        return new DataInputStream(new ByteArrayInputStream(frame)).readInt();
+    }
+
+    /**
+     * Decodes a frame's stats as "label=value" and objects as "type@x,y", after its number.
+     */
+    private static List<String> decode(byte[] frame) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+        in.readInt();
+        List<String> decoded = new ArrayList<>();
+        int stats = in.readUnsignedByte();
+        for (int i = 0; i < stats; i++) {
+            decoded.add(readString(in) + "=" + readString(in));
+        }
+        int objects = in.readInt();
+        for (int i = 0; i < objects; i++) {
+            decoded.add(in.readByte() + "@" + in.readInt() + "," + in.readInt());
+        }
+        assertEquals("Bytes left over after the last object", 0, in.available());
+        return decoded;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<String> expectedFrame() {
+        List<String> expected = new ArrayList<>();
+        expected.add("Score=" + model.getShip().getScore());
+        expected.add("Health=" + model.getShip().getHealth());
+        expected.add("Level=" + model.getLevel());
+        expected.add("Time Survived=" + ui.getStat("Time Survived"));
+        for (SpaceObject object : model.getSpaceObjects()) {
+            expected.add(WorldState.typeOf(object) + "@" + object.getX() + "," + object.getY());
+        }
+        SpaceObject ship = model.getShip();
+        expected.add(WorldState.SHIP + "@" + ship.getX() + "," + ship.getY());
+        return expected;
+    }
+
+    /**
+     * Test that every spectator is sent every frame as drawn, byte for byte the same, and that
+     * each frame is encoded once however many spectators there are.
+     */
+    @Test
+    public void testSpectatorsReceiveEveryFrame() throws IOException, InterruptedException {
+        List<DataInputStream> streams = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            streams.add(connect());
+        }
+        int frames = 0;
+        int firstFrame = -1;
+        for (int tick = 0; tick < 200 && !ui.isGameOver(); tick++) {
+            ui.run(1);
+            frames++;
+            byte[] first = readFrame(streams.get(0));
+            if (firstFrame < 0) {
+                firstFrame = frameNumber(first);
+            }
+            assertEquals(firstFrame + frames - 1, frameNumber(first));
+            assertEquals(expectedFrame(), decode(first));
+            for (int i = 1; i < streams.size(); i++) {
+                assertArrayEquals(first, readFrame(streams.get(i)));
+            }
+        }
+        assertEquals(frames, feed.getFramesEncoded());
+        assertEquals(0, feed.getFramesSkipped());
+    }
+
+    /**
+     * Test that a spectator which stops reading skips frames rather than having them queued, and
+     * is sent the newest frame whole once it reads again.
+     */
+    @Test
+    public void testSlowSpectatorSkipsFrames() throws IOException, InterruptedException {
+        GameModel large = new GameModel(message -> { }, new PlayerStatsTracker(), 200, 200);
+        for (int i = 0; i < 20_000; i++) {
+            large.addObject(new Asteroid(i % 200, i / 200, 1 + i % 10));
+        }
+        StatsFrame stats = new StatsFrame();
+        stats.set("Score", "0");
+        DataInputStream slow = connect();
+
+        // Length, number, stats, object count, then a type and position per object; objects only
+        // leave the board, so no frame is larger than this
+        long frameBytes = 4 + 4 + 1 + 2 + "Score".length() + 2 + 1 + 4
+                + 9L * large.getSpaceObjects().size();
+        int frames = 100;
+        for (int tick = 0; tick < frames; tick++) {
+            large.updateGame(tick);
+            feed.onFrame(large.getSpaceObjects(), stats);
+            Thread.sleep(1);
+        }
+        assertEquals(frames, feed.getFramesEncoded());
+
+        List<Integer> received = new ArrayList<>();
+        while (received.isEmpty() || received.get(received.size() - 1) != frames - 1) {
+            byte[] frame = readFrame(slow);
+            decode(frame);
+            received.add(frameNumber(frame));
+        }
+        assertTrue("Received every frame: " + received, received.size() < frames);
+        assertEquals(frames - received.size(), feed.getFramesSkipped());
+        assertTrue(feed.getBytesSent() + " bytes sent for " + received.size() + " frames",
+                feed.getBytesSent() <= received.size() * frameBytes);
+    }
+
+    /**
+     * Test that stats are sent as UTF-8, whatever characters they hold.
+     */
+    @Test
+    public void testStatsAreSentAsUtf8() throws IOException, InterruptedException {
+        StatsFrame stats = new StatsFrame();
+        stats.set("Score", "0");
+        stats.set("Caf\u00e9 \u2713", "\uD834\uDD1E x");
+        stats.set("Unpaired", "a\uD800b");
+        DataInputStream in = connect();
+
+        feed.onFrame(List.of(), stats);
+        assertEquals(List.of("Score=0", "Caf\u00e9 \u2713=\uD834\uDD1E x", "Unpaired=a?b"),
+                decode(readFrame(in)));
+    }
+
+    /**
+     * Test that once its buffers have grown to fit, the feed encodes frames without allocating,
+     * while a spectator keeps up.
+     */
+    @Test
+    public void testEncodingDoesNotAllocate() throws IOException, InterruptedException {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+        List<SpaceObject> objects = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            objects.add(new Asteroid(i % 10, i / 10, 1));
+        }
+        StatsFrame stats = new StatsFrame();
+        stats.set("Score", "0");
+        DataInputStream in = connect();
+        Thread reader = new Thread(() -> {
+            try {
+                while (true) {
+                    readFrame(in);
+                }
+            } catch (IOException e) {
+                // The spectator was closed
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+
+        int frames = 1_000;
+        long allocated = 0;
+        for (int frame = 0; frame < 2 * frames; frame++) {
+            long before = bean.getCurrentThreadAllocatedBytes();
+            feed.onFrame(objects, stats);
+            if (frame >= frames) {
+                allocated += bean.getCurrentThreadAllocatedBytes() - before;
+            }
+            Thread.sleep(1);
+        }
+        assertTrue(allocated + " bytes allocated over " + frames + " frames", allocated < frames);
+    }
+}
@@ -0,0 +1,40 @@
+import game.ui.AssetBundle;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class AssetBundleTest {
+
+    /**
+     * Test that every asset read from a bundle matches what was written, in order.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        Map<String, byte[]> assets = new LinkedHashMap<>();
+        assets.put("assets/a.png", new byte[] {1, 2, 3});
+        assets.put("assets/b.png", new byte[0]);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AssetBundle.write(out, assets);
+        Map<String, byte[]> read = AssetBundle.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(assets.keySet().stream().toList(), read.keySet().stream().toList());
+        assertArrayEquals(new byte[] {1, 2, 3}, read.get("assets/a.png"));
+        assertEquals(0, read.get("assets/b.png").length);
+    }
+
+    /**
+     * Test that a stream that is not a bundle is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testRejectsNonBundle() throws IOException {
+        AssetBundle.read(new ByteArrayInputStream(new byte[] {'P', 'N', 'G', 0, 0, 0}));
+    }
+}
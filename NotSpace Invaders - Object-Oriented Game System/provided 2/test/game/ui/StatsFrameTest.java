@@ -0,0 +1,83 @@
+import game.ui.StatsFrame;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StatsFrameTest {
+
+    private StatsFrame frame;
+
+    @Before
+    public void setUp() {
+        frame = new StatsFrame();
+    }
+
+    private List<String> changes() {
+        List<String> changes = new ArrayList<>();
+        frame.forEachChanged((label, value) -> changes.add(label + "=" + value));
+        return changes;
+    }
+
+    /**
+     * Test that newly set stats are reported as changed, in the order they were set.
+     */
+    @Test
+    public void testNewStatsAreChanged() {
+        frame.set("Score", "0");
+        frame.set("Health", "100");
+
+        assertTrue(frame.hasChanges());
+        assertEquals(List.of("Score=0", "Health=100"), changes());
+    }
+
+    /**
+     * Test that only stats whose value differs are reported after changes are cleared.
+     */
+    @Test
+    public void testOnlyDifferentValuesAreChanged() {
+        frame.set("Score", "0");
+        frame.set("Health", "100");
+        frame.clearChanges();
+
+        frame.set("Score", "10");
+        frame.set("Health", "100");
+
+        assertEquals(List.of("Score=10"), changes());
+        assertEquals("100", frame.get("Health"));
+    }
+
+    /**
+     * Test that setting the same values again reports no changes.
+     */
+    @Test
+    public void testUnchangedFrameHasNoChanges() {
+        frame.set("Level", "1");
+        frame.clearChanges();
+        frame.set("Level", "1");
+
+        assertFalse(frame.hasChanges());
+        assertTrue(changes().isEmpty());
+    }
+
+    /**
+     * Test that stats can be read by index, in the order their labels were first set.
+     */
+    @Test
+    public void testStatsByIndex() {
+        frame.set("Score", "0");
+        frame.set("Health", "100");
+        frame.set("Score", "10");
+
+        assertEquals(2, frame.size());
+        assertEquals("Score", frame.getLabel(0));
+        assertEquals("10", frame.getValue(0));
+        assertEquals("Health", frame.getLabel(1));
+        assertEquals("100", frame.getValue(1));
+    }
+}
@@ -0,0 +1,104 @@
+import game.utility.AsyncLogger;
+import game.utility.LogLevel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+public class AsyncLoggerTest {
+
+    /**
+     * Test that every message is written, in order, once the logger is closed.
+     */
+    @Test
+    public void testMessagesWrittenInOrder() {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AsyncLogger logger = new AsyncLogger(LogLevel.DEBUG, written::addAll, 256);
+
+        for (int i = 0; i < 200; i++) {
+            logger.log("message " + i);
+        }
+        logger.close();
+
+        assertEquals(200, written.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals("message " + i, written.get(i));
+        }
+    }
+
+    /**
+     * Test that messages below the logger's level are never built.
+     */
+    @Test
+    public void testDisabledMessagesAreNotBuilt() {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AsyncLogger logger = new AsyncLogger(LogLevel.WARN, written::addAll);
+        boolean[] built = {false};
+
+        logger.log(LogLevel.DEBUG, () -> {
+            built[0] = true;
+            return "debug";
+        });
+        logger.log(LogLevel.ERROR, () -> "error");
+        logger.close();
+
+        assertFalse("Disabled message should not be built", built[0]);
+        assertEquals(List.of("error"), written);
+    }
+
+    /**
+     * Test that messages logged after the logger is closed are counted as dropped.
+     */
+    @Test
+    public void testMessagesAfterCloseAreDropped() {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AsyncLogger logger = new AsyncLogger(LogLevel.INFO, written::addAll);
+        logger.log("before");
+        logger.close();
+
+        logger.log("after");
+        logger.log(LogLevel.WARN, () -> "after");
+        logger.log(LogLevel.DEBUG, () -> "below the level");
+
+        assertEquals(List.of("before"), written);
+        assertEquals(2, logger.getDropped());
+    }
+
+    /**
+     * Test that an idle consumer waits without a timeout, and is woken by the next message.
+     */
+    @Test
+    public void testIdleConsumerWaitsForMessages() throws InterruptedException {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        AsyncLogger logger = new AsyncLogger(LogLevel.INFO, written::addAll);
+        try {
+            logger.log("first");
+            Thread consumer = null;
+            for (int i = 0; i < 500 && (consumer == null
+                    || consumer.getState() != Thread.State.WAITING); i++) {
+                Thread.sleep(2);
+                for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                    if (thread.getName().equals("async-logger")) {
+                        consumer = thread;
+                    }
+                }
+            }
+            assertNotNull(consumer);
+            assertEquals(Thread.State.WAITING, consumer.getState());
+            assertEquals(List.of("first"), written);
+
+            logger.log("second");
+            for (int i = 0; i < 500 && written.size() < 2; i++) {
+                Thread.sleep(2);
+            }
+            assertEquals(List.of("first", "second"), written);
+        } finally {
+            logger.close();
+        }
+    }
+}